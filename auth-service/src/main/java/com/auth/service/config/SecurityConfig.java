@@ -1,25 +1,45 @@
 package com.auth.service.config;
 
+import com.abc.service_common.security.IdentitySignature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
+
+@Slf4j
 @Configuration
 @EnableWebFluxSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityWebFilterChain filterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain filterChain(ServerHttpSecurity http,
+                                              @Value("${app.security.gateway-identity-secret:}") String identitySecret,
+                                              @Value("${jwt.secret:}") String jwtSecret) {
+        // /auth/internal/** only answers other services: they sign X-User-* headers with the
+        // SERVICE role using the identity secret. Without a secret these endpoints are closed.
+        IdentitySignature identity = identitySecret.isBlank() ? null : new IdentitySignature(identitySecret, jwtSecret);
+        if (identity == null) {
+            log.warn("app.security.gateway-identity-secret is not set; /auth/internal/** rejects every call");
+        }
         return http
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .cors(cors -> {}) // bật CORS mặc định; muốn tắt thì dùng CorsSpec::disable
                 .securityContextRepository(NoOpServerSecurityContextRepository.getInstance()) // stateless
-                .authorizeExchange(ex -> ex.anyExchange().permitAll()) // <-- permit all
+                .authorizeExchange(ex -> ex
+                        .pathMatchers("/auth/internal/**").access((authentication, context) ->
+                                Mono.just(new AuthorizationDecision(isServiceCall(identity, context.getExchange().getRequest().getHeaders()))))
+                        .anyExchange().permitAll())
                 .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
                 .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
                 .build();
@@ -27,4 +47,12 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() { return new BCryptPasswordEncoder(); }
+
+    private static boolean isServiceCall(IdentitySignature identity, HttpHeaders headers) {
+        String roles = headers.getFirst(IdentitySignature.USER_ROLES);
+        return identity != null
+                && identity.verify(headers.getFirst(IdentitySignature.USER_ID), roles,
+                        headers.getFirst(IdentitySignature.USER_EXPIRES), headers.getFirst(IdentitySignature.USER_SIGNATURE))
+                && Arrays.asList(roles.split(",")).contains(IdentitySignature.SERVICE_ROLE);
+    }
 }
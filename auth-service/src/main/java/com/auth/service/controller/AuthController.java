@@ -34,6 +34,12 @@ public class AuthController {
         return authService.refresh(request);
     }
 
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> logout(@Valid @RequestBody RefreshRequest request) {
+        return authService.logout(request);
+    }
+
     @GetMapping("/verify")
     public Mono<TokenResponse> verify(@RequestParam String token) {
         return authService.verify(token);
@@ -45,5 +51,12 @@ public class AuthController {
         return authService.getUserInfoByToken(token);
     }
 
+    // Called by user-service when a user changes, so this node stops serving its cached copy
+    @PostMapping("/internal/users/{id}/evict")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void evictUser(@PathVariable Long id) {
+        authService.evictUser(id);
+    }
+
     // Removed: User management should be handled by User Service
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.auth.service.controller;
+
+import com.auth.service.service.JwtKeyStore;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+public class JwksController {
+
+    private final JwtKeyStore keyStore;
+
+    public JwksController(JwtKeyStore keyStore) {
+        this.keyStore = keyStore;
+    }
+
+    // Public keys for verifying access tokens; services cache them per kid
+    @GetMapping({"/.well-known/jwks.json", "/auth/.well-known/jwks.json"})
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(keyStore.getJwks());
+    }
+}
@@ -5,7 +5,6 @@ import com.auth.service.exception.*;
 import com.auth.service.service.EmailService;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -13,12 +12,9 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
-import java.security.Key;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Base64;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -29,50 +25,39 @@ import java.util.UUID;
 public class AuthService {
 
     private final WebClient webClient;
-    private final Key key;
+    private final JwtKeyStore keyStore;
+    private final RefreshTokenStore refreshTokenStore;
+    private final UserDtoCache userCache;
     private final long accessMinutes;
-    private final long refreshDays;
     private final String jwtIssuer;
     private final EmailService emailService;
 
     public AuthService(
             WebClient.Builder webClientBuilder,
             @Value("${app.user-service.base-url:http://user-service:8082}") String userServiceBaseUrl,
-            @Value("${jwt.secret}") String jwtSecret,
+            JwtKeyStore keyStore,
+            RefreshTokenStore refreshTokenStore,
+            UserDtoCache userCache,
             @Value("${jwt.access-minutes}") long accessMinutes,
-            @Value("${jwt.refresh-days}") long refreshDays,
             @Value("${jwt.issuer}") String jwtIssuer,
             EmailService emailService
     ) {
         // WebClient
         this.webClient = webClientBuilder.baseUrl(userServiceBaseUrl).build();
-
-        // Kiểm tra secret
-        if (jwtSecret == null || jwtSecret.isBlank()) {
-            throw new IllegalStateException("jwt.secret is missing or empty");
-        }
-
-        // Nếu secret là Base64 -> decode
-        byte[] keyBytes;
-        try {
-            keyBytes = Base64.getDecoder().decode(jwtSecret);
-        } catch (IllegalArgumentException ex) {
-            keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        }
-        if (keyBytes.length < 32) {
-            throw new IllegalStateException("jwt.secret must be at least 32 bytes for HS256");
-        }
-        this.key = Keys.hmacShaKeyFor(keyBytes);
-
+        this.keyStore = keyStore;
+        this.refreshTokenStore = refreshTokenStore;
+        this.userCache = userCache;
         this.accessMinutes = accessMinutes;
-        this.refreshDays = refreshDays;
         this.jwtIssuer = jwtIssuer;
         this.emailService = emailService;
     }
 
     @Transactional
     public Mono<TokenResponse> register(RegisterRequest request) {
-        // 1. Check for duplicate email in User Service
+        // 1. Check for duplicate email in User Service (a cached user already proves it exists)
+        if (userCache.findByEmail(request.getEmail()) != null) {
+            return Mono.error(new DuplicateResourceException("User", "email", request.getEmail()));
+        }
         return webClient.get()
                 .uri("/users/check-email/{email}", request.getEmail())
                 .retrieve()
@@ -130,13 +115,14 @@ public class AuthService {
                     }
 
                     log.info("User registered successfully: {}", userDto.getEmail());
+                    userCache.put(userDto);
 
                     // 3. Send verification email (async, non-blocking)
                     emailService.sendVerificationEmail(userDto.getEmail(), userDto.getVerifyToken());
 
                     // 4. Generate tokens
                     String accessToken = generateAccessToken(userDto);
-                    String refreshToken = generateRefreshToken(userDto);
+                    String refreshToken = refreshTokenStore.issue(userDto.getId());
 
                     return Mono.just(new TokenResponse(accessToken, "Bearer", refreshToken, accessMinutes * 60, userDto.getVerifyToken()));
                 });
@@ -144,68 +130,64 @@ public class AuthService {
 
     @Transactional
     public Mono<TokenResponse> login(LoginRequest request) {
-        // 1. Get user from User Service
-        return webClient.get()
-                .uri("/users/by-email/{email}", request.getEmail())
+        // 1. Verify credentials in User Service (one call, one lookup)
+        return webClient.post()
+                .uri("/users/internal/verify-credentials")
+                .bodyValue(Map.of("email", request.getEmail(), "password", request.getPassword()))
                 .retrieve()
                 .bodyToMono(UserDto.class)
+                .switchIfEmpty(Mono.error(new InvalidCredentialsException("Invalid email or password")))
+                .doOnNext(userCache::put)
                 .flatMap(userDto -> {
-                    if (userDto == null) {
-                        return Mono.error(new InvalidCredentialsException("Invalid email or password"));
+                    // 2. Check status
+                    if (!"ACTIVE".equals(userDto.getStatus())) {
+                        return Mono.error(new BusinessException("User account is not active. Please verify your email.", "ACCOUNT_NOT_ACTIVE"));
                     }
 
-                    // 2. Check password
-                    return webClient.post()
-                            .uri("/users/validate-password")
-                            .bodyValue(Map.of("email", request.getEmail(), "password", request.getPassword()))
-                            .retrieve()
-                            .bodyToMono(Boolean.class)
-                            .flatMap(passwordValid -> {
-                                if (passwordValid == null || !passwordValid) {
-                                    return Mono.error(new InvalidCredentialsException("Invalid email or password"));
-                                }
-
-                                // 3. Check status
-                                if (!"ACTIVE".equals(userDto.getStatus())) {
-                                    return Mono.error(new BusinessException("User account is not active. Please verify your email.", "ACCOUNT_NOT_ACTIVE"));
-                                }
-
-                                log.info("User logged in successfully: {}", userDto.getEmail());
+                    log.info("User logged in successfully: {}", userDto.getEmail());
 
-                                // 4. Generate tokens
-                                String accessToken = generateAccessToken(userDto);
-                                String refreshToken = generateRefreshToken(userDto);
+                    // 3. Generate tokens
+                    String accessToken = generateAccessToken(userDto);
+                    String refreshToken = refreshTokenStore.issue(userDto.getId());
 
-                                return Mono.just(new TokenResponse(accessToken, "Bearer", refreshToken, accessMinutes * 60));
-                            });
+                    return Mono.just(new TokenResponse(accessToken, "Bearer", refreshToken, accessMinutes * 60));
                 });
     }
 
     public Mono<TokenResponse> refresh(RefreshRequest request) {
-        String token = request.getRefreshToken();
-        try {
-            Long userId = Long.valueOf(Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject());
-            
-            // Get user from User Service
-            return webClient.get()
-                    .uri("/users/{id}", userId)
-                    .retrieve()
-                    .bodyToMono(UserDto.class)
-                    .flatMap(userDto -> {
-                        if (userDto == null) {
-                            return Mono.error(new ResourceNotFoundException("User", "id", userId));
-                        }
+        return rotateRefreshToken(request.getRefreshToken())
+                .flatMap(rotation -> getUser(rotation.userId())
+                        .switchIfEmpty(Mono.error(new ResourceNotFoundException("User", "id", rotation.userId())))
+                        .flatMap(userDto -> {
+                            // Same rule as login: a disabled or unverified account gets no new tokens
+                            if (!"ACTIVE".equals(userDto.getStatus())) {
+                                return Mono.error(new BusinessException("User account is not active. Please verify your email.", "ACCOUNT_NOT_ACTIVE"));
+                            }
+                            return Mono.just(new TokenResponse(generateAccessToken(userDto), "Bearer",
+                                    rotation.refreshToken(), accessMinutes * 60));
+                        }));
+    }
+
+    // Ends the session behind the refresh token; the access token lives until it expires
+    public Mono<Void> logout(RefreshRequest request) {
+        return refreshTokenStore.revoke(request.getRefreshToken());
+    }
 
-                        String accessToken = generateAccessToken(userDto);
-                        String refreshToken = generateRefreshToken(userDto);
-                        
-                        return Mono.just(new TokenResponse(accessToken, "Bearer", refreshToken, accessMinutes * 60));
-                    });
+    // Refresh tokens issued before the token store are signed JWTs; they are adopted into the
+    // store on first use. Access tokens (which carry roles) are not accepted here.
+    private Mono<RefreshTokenStore.Rotation> rotateRefreshToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Mono.error(new TokenExpiredException("Refresh token is invalid or expired"));
+        }
+        if (token.chars().filter(c -> c == '.').count() != 2) {
+            return refreshTokenStore.rotate(token);
+        }
+        try {
+            Claims claims = keyStore.parse(token);
+            if (claims.get("roles") != null) {
+                return Mono.error(new TokenExpiredException("Refresh token is invalid or expired"));
+            }
+            return refreshTokenStore.adopt(token, Long.valueOf(claims.getSubject()), claims.getExpiration().getTime());
         } catch (Exception e) {
             return Mono.error(new TokenExpiredException("Refresh token is invalid or expired"));
         }
@@ -225,10 +207,11 @@ public class AuthService {
                     }
                     
                     log.info("User verified successfully: {}", userDto.getEmail());
+                    userCache.put(userDto);
 
                     // 2. Generate tokens
                     String accessToken = generateAccessToken(userDto);
-                    String refreshToken = generateRefreshToken(userDto);
+                    String refreshToken = refreshTokenStore.issue(userDto.getId());
 
                     return Mono.just(new TokenResponse(accessToken, "Bearer", refreshToken, accessMinutes * 60));
                 });
@@ -238,51 +221,43 @@ public class AuthService {
 
     public Mono<UserDto> getUserInfoByToken(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = keyStore.parse(token);
 
             Long userId = Long.valueOf(claims.getSubject());
             
-            return webClient.get()
-                    .uri("/users/internal/user/{id}", userId)
-                    .retrieve()
-                    .bodyToMono(UserDto.class)
-                    .doOnNext(userDto -> log.info("User info retrieved for: {}", userDto.getEmail()))
+            return getUser(userId)
                     .doOnError(error -> log.error("Error retrieving user info: {}", error.getMessage()));
-                    
+
         } catch (Exception e) {
             log.error("Invalid token: {}", e.getMessage());
             return Mono.error(new BusinessException("Invalid token", "INVALID_TOKEN"));
         }
     }
 
+    // Called by user-service after a user's role, status or profile changes
+    public void evictUser(Long userId) {
+        userCache.evict(userId);
+    }
+
     // Helper methods removed - User Service handles all user data
 
+    // Served from the per-node cache; concurrent misses for one user share a single call
+    private Mono<UserDto> getUser(Long userId) {
+        return userCache.get(userId, () -> webClient.get()
+                .uri("/users/internal/user/{id}", userId)
+                .retrieve()
+                .bodyToMono(UserDto.class));
+    }
+
     private String generateAccessToken(UserDto user) {
         Instant now = Instant.now();
-        return Jwts.builder()
+        return keyStore.sign(Jwts.builder()
                 .setSubject(String.valueOf(user.getId()))
                 .claim("email", user.getEmail())
                 .claim("roles", user.getRoleName() != null ? List.of(user.getRoleName()) : List.of("USER"))
                 .setIssuer(jwtIssuer)
                 .setIssuedAt(Date.from(now))
-                .setExpiration(Date.from(now.plus(accessMinutes, ChronoUnit.MINUTES)))
-                .signWith(key)
-                .compact();
-    }
-
-    private String generateRefreshToken(UserDto user) {
-        Instant now = Instant.now();
-        return Jwts.builder()
-                .setSubject(String.valueOf(user.getId()))
-                .setIssuer(jwtIssuer)
-                .setIssuedAt(Date.from(now))
-                .setExpiration(Date.from(now.plus(refreshDays, ChronoUnit.DAYS)))
-                .signWith(key)
-                .compact();
+                .setExpiration(Date.from(now.plus(accessMinutes, ChronoUnit.MINUTES))));
     }
 
     // Helper methods removed - User Service handles all user data
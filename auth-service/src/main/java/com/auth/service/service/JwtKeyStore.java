@@ -0,0 +1,215 @@
+package com.auth.service.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Signing keys for issued tokens. New tokens are signed RS256 with the active private key
+// and carry its kid; the public half of the active key (and of the previous key while a
+// rotation is in progress) is published as a JWK set, so services verify without holding
+// any secret. HS256 tokens signed with jwt.secret are still accepted while
+// jwt.signing.accept-hs256 is on, which covers tokens issued before the switch.
+//
+// Rotation: deploy the new key as private-key/key-id and the old public key as
+// previous-public-key/previous-key-id, then drop the previous key once every token it
+// signed has expired (access-minutes).
+@Slf4j
+@Component
+public class JwtKeyStore {
+    private final String algorithm;
+    private final String activeKid;
+    private final PrivateKey signingKey;
+    private final Map<String, RSAPublicKey> publicKeys = new LinkedHashMap<>();
+    private final Key legacySecret;
+    private final JwtParser parser;
+    private final Map<String, Object> jwks;
+
+    public JwtKeyStore(@Value("${jwt.signing.algorithm:RS256}") String algorithm,
+                       @Value("${jwt.signing.private-key:}") String privateKeyPem,
+                       @Value("${jwt.signing.key-id:}") String keyId,
+                       @Value("${jwt.signing.previous-public-key:}") String previousPublicKeyPem,
+                       @Value("${jwt.signing.previous-key-id:}") String previousKeyId,
+                       @Value("${jwt.signing.accept-hs256:false}") boolean acceptHs256,
+                       @Value("${jwt.secret:}") String jwtSecret) {
+        this.algorithm = algorithm.toUpperCase();
+        if (!"RS256".equals(this.algorithm) && !"HS256".equals(this.algorithm)) {
+            throw new IllegalStateException("jwt.signing.algorithm must be RS256 or HS256");
+        }
+        this.legacySecret = acceptHs256 || "HS256".equals(this.algorithm) ? hmacKey(jwtSecret) : null;
+
+        if ("RS256".equals(this.algorithm) || !privateKeyPem.isBlank()) {
+            KeyPair active = privateKeyPem.isBlank() ? generateKeyPair() : keyPairFromPem(privateKeyPem);
+            RSAPublicKey activePublic = (RSAPublicKey) active.getPublic();
+            this.signingKey = active.getPrivate();
+            this.activeKid = keyId.isBlank() ? thumbprint(activePublic) : keyId;
+            publicKeys.put(activeKid, activePublic);
+        } else {
+            this.signingKey = null;
+            this.activeKid = null;
+        }
+        if (!previousPublicKeyPem.isBlank()) {
+            RSAPublicKey previous = publicKeyFromPem(previousPublicKeyPem);
+            publicKeys.put(previousKeyId.isBlank() ? thumbprint(previous) : previousKeyId, previous);
+        }
+
+        this.parser = Jwts.parserBuilder().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                return verificationKey(header);
+            }
+        }).build();
+        this.jwks = buildJwks();
+        log.info("JWT signing with {} (kid {}), publishing {} public key(s)", this.algorithm, activeKid, publicKeys.size());
+    }
+
+    // Signs with the active key, naming it in the header so verifiers can pick the right one
+    public String sign(JwtBuilder builder) {
+        if ("RS256".equals(algorithm)) {
+            return builder.setHeaderParam("kid", activeKid).signWith(signingKey, SignatureAlgorithm.RS256).compact();
+        }
+        return builder.signWith(legacySecret, SignatureAlgorithm.HS256).compact();
+    }
+
+    // Verifies with whichever key the token's header names
+    public Claims parse(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    // Built once; the key set only changes on redeploy
+    public Map<String, Object> getJwks() {
+        return jwks;
+    }
+
+    private Key verificationKey(JwsHeader<?> header) {
+        String alg = header.getAlgorithm();
+        if ("HS256".equals(alg) && legacySecret != null) {
+            return legacySecret;
+        }
+        if ("RS256".equals(alg) && header.getKeyId() != null) {
+            RSAPublicKey key = publicKeys.get(header.getKeyId());
+            if (key != null) return key;
+        }
+        throw new UnsupportedJwtException("No verification key for alg " + alg + " kid " + header.getKeyId());
+    }
+
+    private Map<String, Object> buildJwks() {
+        List<Map<String, String>> keys = new ArrayList<>();
+        publicKeys.forEach((kid, key) -> keys.add(Map.of(
+                "kty", "RSA",
+                "use", "sig",
+                "alg", "RS256",
+                "kid", kid,
+                "n", base64Url(key.getModulus()),
+                "e", base64Url(key.getPublicExponent()))));
+        return Map.of("keys", List.copyOf(keys));
+    }
+
+    private static KeyPair generateKeyPair() {
+        log.warn("jwt.signing.private-key is not set; using a key generated at startup. "
+                + "Tokens will not survive a restart and multiple instances will not share keys.");
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("RSA key generation is not available", e);
+        }
+    }
+
+    private static KeyPair keyPairFromPem(String pem) {
+        try {
+            KeyFactory factory = KeyFactory.getInstance("RSA");
+            PrivateKey privateKey = factory.generatePrivate(new PKCS8EncodedKeySpec(pemBody(pem)));
+            if (!(privateKey instanceof RSAPrivateCrtKey crt)) {
+                throw new IllegalStateException("jwt.signing.private-key must be an RSA PKCS#8 key");
+            }
+            RSAPublicKey publicKey = (RSAPublicKey) factory.generatePublic(
+                    new RSAPublicKeySpec(crt.getModulus(), crt.getPublicExponent()));
+            return new KeyPair(publicKey, privateKey);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("jwt.signing.private-key is not a valid RSA PKCS#8 key", e);
+        }
+    }
+
+    private static RSAPublicKey publicKeyFromPem(String pem) {
+        try {
+            return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(pemBody(pem)));
+        } catch (GeneralSecurityException | IllegalArgumentException | ClassCastException e) {
+            throw new IllegalStateException("jwt.signing.previous-public-key is not a valid RSA public key", e);
+        }
+    }
+
+    // Accepts a PEM block or bare Base64 DER
+    private static byte[] pemBody(String pem) {
+        String body = pem.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+
+    // RFC 7638 JWK thumbprint, so an unnamed key still gets a stable kid
+    private static String thumbprint(RSAPublicKey key) {
+        String canonical = "{\"e\":\"" + base64Url(key.getPublicExponent()) + "\",\"kty\":\"RSA\",\"n\":\""
+                + base64Url(key.getModulus()) + "\"}";
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // Unsigned big-endian bytes, as JWK requires
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] trimmed = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, trimmed, 0, trimmed.length);
+            bytes = trimmed;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static Key hmacKey(String jwtSecret) {
+        if (jwtSecret == null || jwtSecret.isBlank()) {
+            throw new IllegalStateException("jwt.secret is missing or empty");
+        }
+        byte[] keyBytes;
+        try {
+            keyBytes = Base64.getDecoder().decode(jwtSecret);
+        } catch (IllegalArgumentException ex) {
+            keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
+        }
+        if (keyBytes.length < 32) {
+            throw new IllegalStateException("jwt.secret must be at least 32 bytes for HS256");
+        }
+        return Keys.hmacShaKeyFor(keyBytes);
+    }
+}
@@ -0,0 +1,244 @@
+package com.auth.service.service;
+
+import com.auth.service.exception.TokenExpiredException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Opaque refresh tokens with one-time rotation. Every login starts a family; each refresh
+// marks the presented token used and issues the next one in the same family. Presenting a
+// used token again means it was copied, so the whole family is revoked and the user has to
+// log in again. Revoking a family is a flag on the family, so it is O(1) however many tokens
+// were rotated from it. A family ends refresh-days after the login; rotating never extends it.
+//
+// Postgres is the source of truth, so every instance sees the same sessions. A rotation is one
+// statement that marks the token used only while it is unused, unexpired and its family is not
+// revoked, and inserts the next token in the same statement; no row back means the token was
+// already exchanged (on any instance) or is invalid. Only logins are written behind: new
+// families and their first tokens are batched every flush interval, and rotating or revoking a
+// token still pending on this instance flushes first. A token issued by another instance less
+// than one flush interval ago is not visible yet and is rejected as invalid. Only the SHA-256
+// of a token is kept, in memory and in the database.
+@Slf4j
+@Component
+public class RefreshTokenStore {
+    private static final String INSERT_FAMILY =
+            "INSERT INTO refresh_token_families (id, user_id, revoked, expires_at) VALUES (?, ?, FALSE, ?)"
+                    + " ON CONFLICT (id) DO NOTHING";
+    private static final String INSERT_TOKEN =
+            "INSERT INTO refresh_tokens (token_hash, family_id, user_id, expires_at, used_at) VALUES (?, ?, ?, ?, ?)"
+                    + " ON CONFLICT (token_hash) DO NOTHING";
+    // Concurrent rotations of one token queue on its row lock; the later ones re-check
+    // used_at IS NULL after the first commits and match nothing
+    private static final String ROTATE =
+            "WITH used AS ("
+                    + " UPDATE refresh_tokens t SET used_at = ? FROM refresh_token_families f"
+                    + " WHERE t.token_hash = ? AND t.used_at IS NULL AND t.expires_at > ?"
+                    + " AND f.id = t.family_id AND NOT f.revoked"
+                    + " RETURNING t.family_id, t.user_id, f.expires_at AS family_expires_at)"
+                    + " INSERT INTO refresh_tokens (token_hash, family_id, user_id, expires_at)"
+                    + " SELECT ?, family_id, user_id, family_expires_at FROM used"
+                    + " RETURNING user_id";
+    private static final String SELECT_TOKEN =
+            "SELECT t.family_id, t.user_id, t.expires_at, t.used_at, f.revoked"
+                    + " FROM refresh_tokens t JOIN refresh_token_families f ON f.id = t.family_id WHERE t.token_hash = ?";
+    private static final String REVOKE_FAMILY =
+            "UPDATE refresh_token_families SET revoked = TRUE WHERE id = ?";
+    private static final String REVOKE_BY_TOKEN =
+            "UPDATE refresh_token_families SET revoked = TRUE"
+                    + " WHERE id = (SELECT family_id FROM refresh_tokens WHERE token_hash = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMillis;
+    private final int batchSize;
+    private final SecureRandom random = new SecureRandom();
+
+    // Issued at login and not written yet, keyed by family id and token hash
+    private final Map<String, Family> pendingFamilies = new ConcurrentHashMap<>();
+    private final Map<String, Token> pendingTokens = new ConcurrentHashMap<>();
+
+    public record Rotation(Long userId, String refreshToken) {
+    }
+
+    private record Family(String id, Long userId, long expiresAt) {
+    }
+
+    private record Token(String hash, String familyId, Long userId, long expiresAt) {
+    }
+
+    private record Stored(String familyId, Long userId, long expiresAt, boolean used, boolean revoked) {
+    }
+
+    public RefreshTokenStore(JdbcTemplate jdbcTemplate,
+                             @Value("${jwt.refresh-days}") long refreshDays,
+                             @Value("${app.refresh-tokens.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMillis = Duration.ofDays(refreshDays).toMillis();
+        this.batchSize = batchSize;
+    }
+
+    // Starts a new family, i.e. a new login session
+    public String issue(Long userId) {
+        Family family = new Family(newFamilyId(), userId, System.currentTimeMillis() + ttlMillis);
+        String raw = newSecret();
+        Token token = new Token(hash(raw), family.id(), userId, family.expiresAt());
+        pendingFamilies.put(family.id(), family);
+        pendingTokens.put(token.hash(), token);
+        return raw;
+    }
+
+    // Exchanges a refresh token for the next one in its family
+    public Mono<Rotation> rotate(String refreshToken) {
+        String hash = hash(refreshToken);
+        return Mono.fromCallable(() -> exchange(hash))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // Refresh JWTs issued before this store existed: the first exchange adopts the token into
+    // a new family as already used, so presenting it a second time is caught as reuse
+    public Mono<Rotation> adopt(String legacyToken, Long userId, long expiresAt) {
+        String hash = hash(legacyToken);
+        return Mono.fromCallable(() -> adopt(hash, userId, expiresAt))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // Ends the session the token belongs to; unknown tokens are ignored
+    public Mono<Void> revoke(String refreshToken) {
+        String hash = hash(refreshToken);
+        return Mono.fromRunnable(() -> {
+                    flushIfPending(hash);
+                    jdbcTemplate.update(REVOKE_BY_TOKEN, hash);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    @Scheduled(fixedDelayString = "${app.refresh-tokens.flush-interval-ms:500}")
+    public synchronized void flush() {
+        try {
+            // Families first, so a token row never points at a family that isn't there
+            write(INSERT_FAMILY, pendingFamilies, f -> new Object[]{f.id(), f.userId(), new Timestamp(f.expiresAt())});
+            write(INSERT_TOKEN, pendingTokens, t -> new Object[]{t.hash(), t.familyId(), t.userId(),
+                    new Timestamp(t.expiresAt()), null});
+        } catch (DataAccessException e) {
+            log.error("Failed to write refresh tokens, will retry: {}", e.getMessage());
+        }
+    }
+
+    // Tokens never outlive their family, so expired rows of both can simply go
+    @Scheduled(fixedDelayString = "${app.refresh-tokens.purge-interval-ms:600000}")
+    public void purge() {
+        try {
+            Timestamp cutoff = new Timestamp(System.currentTimeMillis());
+            int removed = jdbcTemplate.update("DELETE FROM refresh_tokens WHERE expires_at <= ?", cutoff);
+            jdbcTemplate.update("DELETE FROM refresh_token_families WHERE expires_at <= ?", cutoff);
+            log.debug("Purged {} expired refresh tokens", removed);
+        } catch (DataAccessException e) {
+            log.warn("Failed to purge expired refresh tokens: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private Rotation exchange(String hash) {
+        flushIfPending(hash);
+        long now = System.currentTimeMillis();
+        String next = newSecret();
+        List<Long> rotated = jdbcTemplate.query(ROTATE, (rs, rowNum) -> rs.getLong("user_id"),
+                new Timestamp(now), hash, new Timestamp(now), hash(next));
+        if (!rotated.isEmpty()) {
+            return new Rotation(rotated.get(0), next);
+        }
+
+        // Nothing rotated: either the token is unknown, expired or revoked, or it was used
+        List<Stored> rows = jdbcTemplate.query(SELECT_TOKEN, (rs, rowNum) -> new Stored(
+                rs.getString("family_id"), rs.getLong("user_id"), rs.getTimestamp("expires_at").getTime(),
+                rs.getTimestamp("used_at") != null, rs.getBoolean("revoked")), hash);
+        Stored stored = rows.isEmpty() ? null : rows.get(0);
+        if (stored == null || stored.revoked() || stored.expiresAt() <= now || !stored.used()) {
+            throw new TokenExpiredException("Refresh token is invalid or expired");
+        }
+        jdbcTemplate.update(REVOKE_FAMILY, stored.familyId());
+        log.warn("Refresh token reuse detected for user {}; session {} revoked", stored.userId(), stored.familyId());
+        throw new TokenExpiredException("Refresh token has already been used; please log in again");
+    }
+
+    private Rotation adopt(String hash, Long userId, long expiresAt) {
+        long now = System.currentTimeMillis();
+        Family family = new Family(newFamilyId(), userId, now + ttlMillis);
+        jdbcTemplate.update(INSERT_FAMILY, family.id(), userId, new Timestamp(family.expiresAt()));
+        int adopted = jdbcTemplate.update(INSERT_TOKEN, hash, family.id(), userId, new Timestamp(expiresAt), new Timestamp(now));
+        if (adopted == 0) {
+            // Adopted before, here or on another instance: this is a second use
+            jdbcTemplate.update("DELETE FROM refresh_token_families WHERE id = ?", family.id());
+            return exchange(hash);
+        }
+        String next = newSecret();
+        jdbcTemplate.update(INSERT_TOKEN, hash(next), family.id(), userId, new Timestamp(family.expiresAt()), null);
+        return new Rotation(userId, next);
+    }
+
+    private void flushIfPending(String hash) {
+        if (pendingTokens.containsKey(hash)) {
+            flush();
+        }
+    }
+
+    private String newFamilyId() {
+        byte[] id = new byte[16];
+        random.nextBytes(id);
+        return HexFormat.of().formatHex(id);
+    }
+
+    private String newSecret() {
+        byte[] secret = new byte[32];
+        random.nextBytes(secret);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+    }
+
+    // Entries leave the pending map only once their batch is written
+    private <T> void write(String sql, Map<String, T> pending, Function<T, Object[]> row) {
+        List<Map.Entry<String, T>> entries = new ArrayList<>(pending.entrySet());
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            List<Map.Entry<String, T>> chunk = entries.subList(from, Math.min(from + batchSize, entries.size()));
+            List<Object[]> rows = new ArrayList<>(chunk.size());
+            for (Map.Entry<String, T> entry : chunk) {
+                rows.add(row.apply(entry.getValue()));
+            }
+            jdbcTemplate.batchUpdate(sql, rows);
+            chunk.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.auth.service.service;
+
+import com.auth.service.dto.UserDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Short-lived per-node copy of the users fetched from user-service, by id with an email
+// index. Concurrent misses for the same id share one in-flight request. user-service calls
+// the evict endpoint when a user's role, status or profile changes; the TTL bounds how stale
+// an entry can get on a node that missed that call. A load that races with an eviction is
+// returned to its callers but not cached.
+@Component
+public class UserDtoCache {
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByEmail = new ConcurrentHashMap<>();
+    private final Map<Long, Mono<UserDto>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private record Entry(UserDto user, long expiresAt) {
+    }
+
+    @Autowired
+    public UserDtoCache(@Value("${app.user-cache.ttl-seconds:30}") long ttlSeconds,
+                        @Value("${app.user-cache.max-entries:10000}") int maxEntries,
+                        ObjectProvider<MeterRegistry> meterRegistry) {
+        this(ttlSeconds, maxEntries);
+        meterRegistry.ifAvailable(this::bindTo);
+    }
+
+    UserDtoCache(long ttlSeconds, int maxEntries) {
+        this.ttlMillis = Duration.ofSeconds(ttlSeconds).toMillis();
+        this.maxEntries = maxEntries;
+    }
+
+    public Mono<UserDto> get(Long id, Supplier<Mono<UserDto>> loader) {
+        return Mono.defer(() -> {
+            UserDto cached = lookup(id);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return Mono.just(cached);
+            }
+            misses.incrementAndGet();
+            Mono<UserDto> shared = inFlight.computeIfAbsent(id, key -> {
+                long generation = evictions.get();
+                return loader.get()
+                        .doOnNext(user -> {
+                            if (evictions.get() == generation) put(user);
+                        })
+                        .cache();
+            });
+            return shared.doFinally(signal -> inFlight.remove(id, shared));
+        });
+    }
+
+    // A cached email is known to exist; absence proves nothing
+    public UserDto findByEmail(String email) {
+        Long id = email == null ? null : idsByEmail.get(email);
+        return id == null ? null : lookup(id);
+    }
+
+    public void put(UserDto user) {
+        if (user == null || user.getId() == null) return;
+        if (entries.size() >= maxEntries) {
+            sweep();
+        }
+        Entry previous = entries.put(user.getId(), new Entry(user, System.currentTimeMillis() + ttlMillis));
+        if (previous != null && previous.user().getEmail() != null && !previous.user().getEmail().equals(user.getEmail())) {
+            idsByEmail.remove(previous.user().getEmail(), user.getId());
+        }
+        if (user.getEmail() != null) {
+            idsByEmail.put(user.getEmail(), user.getId());
+        }
+    }
+
+    public void evict(Long id) {
+        evictions.incrementAndGet();
+        inFlight.remove(id);
+        Entry removed = entries.remove(id);
+        if (removed != null && removed.user().getEmail() != null) {
+            idsByEmail.remove(removed.user().getEmail(), id);
+        }
+    }
+
+    private UserDto lookup(Long id) {
+        Entry entry = entries.get(id);
+        if (entry == null) return null;
+        if (entry.expiresAt() > System.currentTimeMillis()) {
+            return entry.user();
+        }
+        if (entries.remove(id, entry) && entry.user().getEmail() != null) {
+            idsByEmail.remove(entry.user().getEmail(), id);
+        }
+        return null;
+    }
+
+    // Drops expired entries, then an arbitrary tenth of the live ones if still full
+    private void sweep() {
+        if (!sweeping.compareAndSet(false, true)) return;
+        try {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.expiresAt() <= now);
+            int excess = entries.size() < maxEntries ? 0
+                    : entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+            for (Iterator<Long> it = entries.keySet().iterator(); excess > 0 && it.hasNext(); excess--) {
+                it.next();
+                it.remove();
+            }
+            idsByEmail.values().removeIf(id -> !entries.containsKey(id));
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.user_cache.hits", hits, AtomicLong::get).register(registry);
+        FunctionCounter.builder("auth.user_cache.misses", misses, AtomicLong::get).register(registry);
+        FunctionCounter.builder("auth.user_cache.evictions", evictions, AtomicLong::get).register(registry);
+        Gauge.builder("auth.user_cache.size", entries, Map::size).register(registry);
+    }
+}
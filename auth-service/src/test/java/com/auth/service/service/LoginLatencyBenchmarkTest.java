@@ -0,0 +1,126 @@
+package com.auth.service.service;
+
+import com.auth.service.dto.LoginRequest;
+import com.auth.service.dto.UserDto;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// Compares the old two-call login (by-email + validate-password) with the single
+// verify-credentials call against a local user-service stub. Each stub endpoint sleeps
+// for one simulated user lookup; the HTTP hop itself is real loopback traffic.
+// Run with: mvn test -Dtest=LoginLatencyBenchmarkTest -Dbenchmark=true [-Dbenchmark.lookupMs=2]
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LoginLatencyBenchmarkTest {
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 500;
+    private static final long LOOKUP_MS = Long.getLong("benchmark.lookupMs", 2);
+    private static final String USER_JSON = "{\"id\":1,\"roleId\":1,\"roleName\":\"USER\",\"email\":\"bench@example.com\","
+            + "\"fullName\":\"Bench User\",\"status\":\"ACTIVE\",\"eloScore\":0,\"eloRank\":\"NEWBIE\"}";
+
+    private static HttpServer stub;
+    private static String baseUrl;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(Executors.newFixedThreadPool(8));
+        stub.createContext("/users/by-email/", exchange -> respond(exchange, USER_JSON));
+        stub.createContext("/users/validate-password", exchange -> respond(exchange, "true"));
+        stub.createContext("/users/internal/verify-credentials", exchange -> respond(exchange, USER_JSON));
+        stub.start();
+        baseUrl = "http://127.0.0.1:" + stub.getAddress().getPort();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @Test
+    void singleHopLoginVersusTwoCallFlow() {
+        JwtKeyStore keyStore = new JwtKeyStore("RS256", "", "bench", "", "", true,
+                "UCIafMmHwgsJKIgg4xVAL/eOvR3ZXD/ZnYE9AfMaMQg=");
+        // Login only issues refresh tokens in memory; nothing is flushed during the run
+        RefreshTokenStore refreshTokens = new RefreshTokenStore(null, 7, 500);
+        AuthService authService = new AuthService(WebClient.builder(), baseUrl, keyStore, refreshTokens,
+                new UserDtoCache(30, 10000), 30, "bench", null);
+        WebClient webClient = WebClient.builder().baseUrl(baseUrl).build();
+        LoginRequest request = new LoginRequest();
+        request.setEmail("bench@example.com");
+        request.setPassword("secret");
+
+        long[] twoCall = measure(() -> legacyLogin(webClient, request));
+        long[] singleHop = measure(() -> authService.login(request).map(token -> (Object) token));
+
+        report("two-call (by-email + validate-password)", twoCall);
+        report("single-hop (internal/verify-credentials)", singleHop);
+    }
+
+    // The pre-change AuthService.login request sequence
+    private static Mono<Object> legacyLogin(WebClient webClient, LoginRequest request) {
+        return webClient.get()
+                .uri("/users/by-email/{email}", request.getEmail())
+                .retrieve()
+                .bodyToMono(UserDto.class)
+                .flatMap(user -> webClient.post()
+                        .uri("/users/validate-password")
+                        .bodyValue(Map.of("email", request.getEmail(), "password", request.getPassword()))
+                        .retrieve()
+                        .bodyToMono(Boolean.class)
+                        .map(valid -> (Object) user));
+    }
+
+    private static long[] measure(Supplier<Mono<Object>> login) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertNotNull(login.get().block());
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long started = System.nanoTime();
+            assertNotNull(login.get().block());
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static void report(String label, long[] sortedNanos) {
+        double mean = Arrays.stream(sortedNanos).average().orElse(0) / 1_000_000;
+        System.out.printf("%-45s mean %6.2f ms  p50 %6.2f ms  p95 %6.2f ms  p99 %6.2f ms (lookup %d ms)%n",
+                label, mean,
+                sortedNanos[sortedNanos.length / 2] / 1e6,
+                sortedNanos[(int) (sortedNanos.length * 0.95)] / 1e6,
+                sortedNanos[(int) (sortedNanos.length * 0.99)] / 1e6,
+                LOOKUP_MS);
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        try {
+            Thread.sleep(LOOKUP_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.getRequestBody().readAllBytes();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,79 @@
+# Benchmark: per-answer submission vs POST /exams/{examId}/answers:batch
+# Usage: .\benchmark-answer-submit.ps1 [-Questions 50] [-Users 20] [-ExamServiceUrl http://localhost:8086]
+param(
+    [int]$Questions = 50,
+    [int]$Users = 20,
+    [string]$ExamServiceUrl = "http://localhost:8086"
+)
+
+Write-Host "=== Answer Submission Benchmark ===" -ForegroundColor Cyan
+Write-Host "  $Users users x $Questions answers per path" -ForegroundColor Gray
+
+# Setup: an exam without assigned questions accepts any question id
+$createExamBody = @{
+    userId = 1
+    examType = "RECRUITER"
+    title = "Benchmark - Answer Submission"
+    topics = @(1)
+    questionTypes = @(1)
+    questionCount = $Questions
+    duration = 60
+    language = "English"
+} | ConvertTo-Json
+
+try {
+    $examId = (Invoke-RestMethod -Uri "$ExamServiceUrl/exams" -Method Post -Body $createExamBody -ContentType "application/json").id
+    Write-Host "Exam created with ID $examId" -ForegroundColor Green
+} catch {
+    Write-Host "Failed to create exam: $($_.Exception.Message)" -ForegroundColor Red
+    exit 1
+}
+
+function New-AnswerContent([int]$questionId) {
+    return "Answer to question $questionId - " + ("lorem ipsum " * 20)
+}
+
+# Warm up both paths so JIT and connection pools don't skew the first measurement
+Invoke-RestMethod -Uri "$ExamServiceUrl/exams/answers" -Method Post -ContentType "application/json" -Body (@{
+    examId = $examId; questionId = 1; userId = 999999; answerContent = "warm-up"
+} | ConvertTo-Json) | Out-Null
+Invoke-RestMethod -Uri "$ExamServiceUrl/exams/$examId/answers:batch" -Method Post -ContentType "application/json" -Body (@{
+    userId = 999998; answers = @(@{ questionId = 1; answerContent = "warm-up" })
+} | ConvertTo-Json -Depth 4) | Out-Null
+
+# 1. One request per answer
+Write-Host "`n1. Per-answer path (POST /exams/answers)..." -ForegroundColor Yellow
+$single = [System.Diagnostics.Stopwatch]::StartNew()
+for ($u = 1; $u -le $Users; $u++) {
+    for ($q = 1; $q -le $Questions; $q++) {
+        $body = @{
+            examId = $examId
+            questionId = $q
+            userId = 10000 + $u
+            answerContent = New-AnswerContent $q
+        } | ConvertTo-Json
+        Invoke-RestMethod -Uri "$ExamServiceUrl/exams/answers" -Method Post -Body $body -ContentType "application/json" | Out-Null
+    }
+}
+$single.Stop()
+
+# 2. One request per user
+Write-Host "2. Batch path (POST /exams/$examId/answers:batch)..." -ForegroundColor Yellow
+$batch = [System.Diagnostics.Stopwatch]::StartNew()
+for ($u = 1; $u -le $Users; $u++) {
+    $answers = for ($q = 1; $q -le $Questions; $q++) {
+        @{ questionId = $q; answerContent = New-AnswerContent $q }
+    }
+    $body = @{ userId = 20000 + $u; answers = @($answers) } | ConvertTo-Json -Depth 4
+    Invoke-RestMethod -Uri "$ExamServiceUrl/exams/$examId/answers:batch" -Method Post -Body $body -ContentType "application/json" | Out-Null
+}
+$batch.Stop()
+
+$total = $Users * $Questions
+$singleRate = [math]::Round($total / $single.Elapsed.TotalSeconds, 1)
+$batchRate = [math]::Round($total / $batch.Elapsed.TotalSeconds, 1)
+
+Write-Host "`n=== Results ($total answers per path) ===" -ForegroundColor Cyan
+Write-Host ("  Per-answer: {0,8:N0} ms  {1,8} answers/s" -f $single.ElapsedMilliseconds, $singleRate) -ForegroundColor Gray
+Write-Host ("  Batch:      {0,8:N0} ms  {1,8} answers/s" -f $batch.ElapsedMilliseconds, $batchRate) -ForegroundColor Gray
+Write-Host ("  Speed-up:   {0:N1}x" -f ($batchRate / $singleRate)) -ForegroundColor Green
@@ -11,8 +11,9 @@ param(
 $ErrorActionPreference = "Stop"
 $rootDir = Get-Location
 
-# Define services in build order (infrastructure first, then business services)
+# Define services in build order (shared library, infrastructure, then business services)
 $services = @(
+    "service-common",
     "discovery-service",
     "config-service", 
     "gateway-service",
@@ -65,7 +66,8 @@ foreach ($service in $services) {
         if ($Clean) {
             $mvnArgs += "clean"
         }
-        $mvnArgs += "package"
+        # service-common is a library: install it so the services that depend on it resolve it
+        $mvnArgs += if ($service -eq "service-common") { "install" } else { "package" }
         if ($SkipTests) {
             $mvnArgs += "-DskipTests"
         }
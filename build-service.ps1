@@ -43,7 +43,8 @@ try {
     if ($Clean) {
         $mvnArgs += "clean"
     }
-    $mvnArgs += "package"
+    # service-common is a library: install it so the services that depend on it resolve it
+    $mvnArgs += if ($ServiceName -eq "service-common") { "install" } else { "package" }
     if ($SkipTests) {
         $mvnArgs += "-DskipTests"
     }
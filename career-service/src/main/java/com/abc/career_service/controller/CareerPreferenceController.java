@@ -2,6 +2,7 @@ package com.abc.career_service.controller;
 
 import com.abc.career_service.dto.request.CareerPreferenceRequest;
 import com.abc.career_service.dto.response.CareerPreferenceResponse;
+import com.abc.career_service.dto.response.RecommendationResponse;
 import com.abc.career_service.entity.CareerPreference;
 import com.abc.career_service.service.CareerService;
 import lombok.RequiredArgsConstructor;
@@ -40,6 +41,13 @@ public class CareerPreferenceController {
         return careerService.getCareerByUserId(userId, pageable);
     }
 
+    // Precomputed from the user's preferences; limit applies to questions and jobs separately
+    @GetMapping("/{userId:[0-9]+}/recommendations")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public RecommendationResponse getRecommendations(@PathVariable Long userId, @RequestParam(defaultValue = "20") int limit){
+        return careerService.getRecommendations(userId, limit);
+    }
+
     @DeleteMapping("/{careerId}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public void deleteCareer(@PathVariable Long careerId){
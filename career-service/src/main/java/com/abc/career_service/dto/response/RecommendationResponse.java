@@ -0,0 +1,22 @@
+package com.abc.career_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecommendationResponse {
+    private Long userId;
+    // Elo score the question ranking was computed for; null when user-service didn't answer
+    private Integer eloScore;
+    private LocalDateTime computedAt;
+    private List<RecommendedQuestion> questions;
+    private List<RecommendedJob> jobs;
+}
@@ -0,0 +1,20 @@
+package com.abc.career_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecommendedJob {
+    // News id in news-service
+    private Long id;
+    private Long fieldId;
+    private String title;
+    private String companyName;
+    private String location;
+    private double score;
+}
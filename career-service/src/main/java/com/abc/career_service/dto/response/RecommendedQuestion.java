@@ -0,0 +1,18 @@
+package com.abc.career_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecommendedQuestion {
+    private Long id;
+    private Long fieldId;
+    private Long topicId;
+    private Long levelId;
+    private double score;
+}
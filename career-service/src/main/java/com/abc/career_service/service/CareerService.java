@@ -2,6 +2,7 @@ package com.abc.career_service.service;
 
 import com.abc.career_service.dto.request.CareerPreferenceRequest;
 import com.abc.career_service.dto.response.CareerPreferenceResponse;
+import com.abc.career_service.dto.response.RecommendationResponse;
 import com.abc.career_service.entity.CareerPreference;
 import com.abc.career_service.mapper.CareerPreferenceMapper;
 import com.abc.career_service.repository.CareerPreferenceRepository;
@@ -11,26 +12,36 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
+
 @RequiredArgsConstructor
 @Service
 public class CareerService {
 
     private final CareerPreferenceMapper careerPreferenceMapper;
     private final CareerPreferenceRepository careerPreferenceRepository;
+    private final RecommendationEngine recommendationEngine;
 
     public CareerPreferenceResponse createCareer (CareerPreferenceRequest request){
         CareerPreference careerPreference = careerPreferenceMapper.toEntity(request);
         careerPreference.setCreatedAt(LocalDateTime.now());
         careerPreference.setUpdatedAt(LocalDateTime.now());
-        return careerPreferenceMapper.toResponse(careerPreferenceRepository.save(careerPreference));
+        CareerPreference saved = careerPreferenceRepository.save(careerPreference);
+        recommendationEngine.preferencesChanged(saved.getUserId());
+        return careerPreferenceMapper.toResponse(saved);
     }
 
     public CareerPreferenceResponse updateCareer (Long careerId ,CareerPreferenceRequest request){
         CareerPreference careerPreference = careerPreferenceRepository.findById(careerId).orElse(null);
         assert careerPreference != null;
+        Long previousUserId = careerPreference.getUserId();
         careerPreference.setUpdatedAt(LocalDateTime.now());
         careerPreferenceMapper.updateEntityFromRequest(request,careerPreference);
         careerPreferenceRepository.save(careerPreference);
+        recommendationEngine.preferencesChanged(careerPreference.getUserId());
+        if (!Objects.equals(previousUserId, careerPreference.getUserId())) {
+            recommendationEngine.preferencesChanged(previousUserId);
+        }
         return careerPreferenceMapper.toResponse(careerPreference);
     }
 
@@ -47,6 +58,12 @@ public class CareerService {
     }
 
     public void deleteCareer(Long careerId) {
+        Long userId = careerPreferenceRepository.findById(careerId).map(CareerPreference::getUserId).orElse(null);
         careerPreferenceRepository.deleteById(careerId);
+        recommendationEngine.preferencesChanged(userId);
+    }
+
+    public RecommendationResponse getRecommendations(Long userId, int limit) {
+        return recommendationEngine.recommend(userId, limit);
     }
 }
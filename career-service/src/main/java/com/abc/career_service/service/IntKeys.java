@@ -0,0 +1,40 @@
+package com.abc.career_service.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Dense int keys for Long ids (fields, topics), so indexes can be plain arrays indexed by key.
+// Append-only: a key stays valid across catalog reloads and preference changes.
+final class IntKeys {
+    private final Map<Long, Integer> keys = new HashMap<>();
+    private final List<Long> ids = new ArrayList<>();
+
+    // -1 for a null id
+    synchronized int intern(Long id) {
+        if (id == null) return -1;
+        Integer key = keys.get(id);
+        if (key == null) {
+            key = ids.size();
+            keys.put(id, key);
+            ids.add(id);
+        }
+        return key;
+    }
+
+    // -1 for ids never interned
+    synchronized int find(Long id) {
+        if (id == null) return -1;
+        Integer key = keys.get(id);
+        return key == null ? -1 : key;
+    }
+
+    synchronized Long id(int key) {
+        return key < 0 ? null : ids.get(key);
+    }
+
+    synchronized int size() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,242 @@
+package com.abc.career_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// What can be recommended: APPROVED questions from question-service and published recruitment
+// news from news-service, copied into column arrays with inverted indexes from field and topic
+// keys (IntKeys) to document positions. Each field and topic also gets a signature of its
+// documents, so after a reload only users interested in something that changed are recomputed.
+@Slf4j
+@Component
+public class RecommendationCatalog {
+    private static final int QUESTION_BATCH_SIZE = 5000;
+    private static final int JOB_BATCH_SIZE = 100;
+    private static final ParameterizedTypeReference<List<QuestionCandidate>> CANDIDATE_LIST =
+            new ParameterizedTypeReference<>() {
+            };
+
+    final IntKeys fieldKeys = new IntKeys();
+    final IntKeys topicKeys = new IntKeys();
+
+    private final RestClient questionClient;
+    private final RestClient newsClient;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    // Mirrors of the producing services' responses, reduced to what is used here
+    record QuestionCandidate(Long id, Long topicId, Long fieldId, Long levelId) {
+    }
+
+    record Level(Long id, Integer minScore, Integer maxScore) {
+    }
+
+    record LevelPage(List<Level> content) {
+    }
+
+    record NewsItem(Long id, Long fieldId, String title, String companyName, String location,
+                            LocalDateTime publishedAt) {
+    }
+
+    record NewsFeed(List<NewsItem> items, String nextCursor) {
+    }
+
+    record Job(long id, int field, String title, String companyName, String location, long publishedAt) {
+    }
+
+    // Documents are positions in the column arrays; postings are sorted by position.
+    // Field and topic arrays are indexed by key and may be shorter than the key space.
+    record Snapshot(long[] questionIds, int[] questionFields, int[] questionTopics, long[] questionLevels,
+                    int[] questionMinScores, int[] questionMaxScores,
+                    int[][] questionsByField, int[][] questionsByTopic, int[] topicFields,
+                    Job[] jobs, int[][] jobsByField,
+                    long[] fieldSignatures, long[] topicSignatures) {
+        static final Snapshot EMPTY = new Snapshot(new long[0], new int[0], new int[0], new long[0], new int[0], new int[0],
+                new int[0][], new int[0][], new int[0], new Job[0], new int[0][], new long[0], new long[0]);
+
+        static int[] postings(int[][] index, int key) {
+            return key >= 0 && key < index.length && index[key] != null ? index[key] : new int[0];
+        }
+
+        static long signature(long[] signatures, int key) {
+            return key >= 0 && key < signatures.length ? signatures[key] : 0L;
+        }
+    }
+
+    public RecommendationCatalog(@LoadBalanced RestClient.Builder restClientBuilder,
+                                 @Value("${app.question-service.base-url:lb://question-service}") String questionServiceBaseUrl,
+                                 @Value("${app.news-service.base-url:lb://news-service}") String newsServiceBaseUrl) {
+        this.questionClient = restClientBuilder.clone().baseUrl(questionServiceBaseUrl).build();
+        this.newsClient = restClientBuilder.clone().baseUrl(newsServiceBaseUrl).build();
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    // Loads everything again and swaps it in; on failure the current snapshot stays
+    public boolean reload() {
+        long started = System.currentTimeMillis();
+        List<QuestionCandidate> questions;
+        Map<Long, Level> levels = new HashMap<>();
+        List<NewsItem> news;
+        try {
+            questions = loadQuestions();
+            LevelPage page = questionClient.get()
+                    .uri(uri -> uri.path("/questions/levels").queryParam("size", 1000).build())
+                    .retrieve()
+                    .body(LevelPage.class);
+            if (page != null && page.content() != null) {
+                page.content().forEach(level -> levels.put(level.id(), level));
+            }
+            news = loadRecruitments();
+        } catch (RestClientException e) {
+            log.warn("Recommendation catalog reload failed, keeping {} questions and {} jobs: {}",
+                    snapshot.questionIds().length, snapshot.jobs().length, e.getMessage());
+            return false;
+        }
+        snapshot = build(questions, levels, news);
+        log.info("Recommendation catalog loaded {} questions and {} jobs in {} ms",
+                questions.size(), news.size(), System.currentTimeMillis() - started);
+        return true;
+    }
+
+    private List<QuestionCandidate> loadQuestions() {
+        List<QuestionCandidate> all = new ArrayList<>();
+        long afterId = 0L;
+        List<QuestionCandidate> batch;
+        do {
+            final long cursor = afterId;
+            batch = questionClient.get()
+                    .uri(uri -> uri.path("/questions/internal/candidates")
+                            .queryParam("status", "APPROVED")
+                            .queryParam("afterId", cursor)
+                            .queryParam("size", QUESTION_BATCH_SIZE)
+                            .build())
+                    .retrieve()
+                    .body(CANDIDATE_LIST);
+            if (batch == null) break;
+            for (QuestionCandidate candidate : batch) {
+                afterId = candidate.id();
+                all.add(candidate);
+            }
+        } while (batch.size() == QUESTION_BATCH_SIZE);
+        return all;
+    }
+
+    // Newest first, through the feed's cursor so pages don't shift while reading
+    private List<NewsItem> loadRecruitments() {
+        List<NewsItem> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            final String after = cursor;
+            NewsFeed feed = newsClient.get()
+                    .uri(uri -> {
+                        uri.path("/news/published/RECRUITMENT/feed").queryParam("size", JOB_BATCH_SIZE);
+                        if (after != null) uri.queryParam("cursor", after);
+                        return uri.build();
+                    })
+                    .retrieve()
+                    .body(NewsFeed.class);
+            if (feed == null || feed.items() == null) break;
+            all.addAll(feed.items());
+            cursor = feed.nextCursor();
+        } while (cursor != null);
+        return all;
+    }
+
+    private Snapshot build(List<QuestionCandidate> questions, Map<Long, Level> levels, List<NewsItem> news) {
+        int count = questions.size();
+        long[] questionIds = new long[count];
+        int[] questionFields = new int[count];
+        int[] questionTopics = new int[count];
+        long[] questionLevels = new long[count];
+        int[] questionMinScores = new int[count];
+        int[] questionMaxScores = new int[count];
+        for (int i = 0; i < count; i++) {
+            QuestionCandidate question = questions.get(i);
+            questionIds[i] = question.id();
+            questionFields[i] = fieldKeys.intern(question.fieldId());
+            questionTopics[i] = topicKeys.intern(question.topicId());
+            questionLevels[i] = question.levelId() == null ? 0L : question.levelId();
+            Level level = question.levelId() == null ? null : levels.get(question.levelId());
+            questionMinScores[i] = level == null || level.minScore() == null ? Integer.MIN_VALUE : level.minScore();
+            questionMaxScores[i] = level == null || level.maxScore() == null ? Integer.MAX_VALUE : level.maxScore();
+        }
+        Job[] jobs = new Job[news.size()];
+        int[] jobFields = new int[jobs.length];
+        for (int i = 0; i < jobs.length; i++) {
+            NewsItem item = news.get(i);
+            jobFields[i] = fieldKeys.intern(item.fieldId());
+            long publishedAt = item.publishedAt() == null ? 0L
+                    : item.publishedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            jobs[i] = new Job(item.id(), jobFields[i], item.title(), item.companyName(), item.location(), publishedAt);
+        }
+
+        int fields = fieldKeys.size();
+        int topics = topicKeys.size();
+        int[] topicFields = new int[topics];
+        Arrays.fill(topicFields, -1);
+        for (int i = 0; i < count; i++) {
+            if (questionTopics[i] >= 0 && questionFields[i] >= 0) topicFields[questionTopics[i]] = questionFields[i];
+        }
+        int[][] questionsByField = invert(questionFields, fields);
+        int[][] questionsByTopic = invert(questionTopics, topics);
+        int[][] jobsByField = invert(jobFields, fields);
+
+        long[] fieldSignatures = new long[fields];
+        for (int key = 0; key < fields; key++) {
+            long signature = 1;
+            for (int doc : Snapshot.postings(questionsByField, key)) signature = mix(signature, questionIds[doc]);
+            for (int doc : Snapshot.postings(jobsByField, key)) signature = mix(signature, ~jobs[doc].id());
+            fieldSignatures[key] = signature;
+        }
+        long[] topicSignatures = new long[topics];
+        for (int key = 0; key < topics; key++) {
+            long signature = 1;
+            for (int doc : Snapshot.postings(questionsByTopic, key)) {
+                // The level's Elo range moves the question in or out of users' bands
+                signature = mix(mix(signature, questionIds[doc]), ((long) questionMinScores[doc] << 32) ^ questionMaxScores[doc]);
+            }
+            topicSignatures[key] = signature;
+        }
+        return new Snapshot(questionIds, questionFields, questionTopics, questionLevels, questionMinScores, questionMaxScores,
+                questionsByField, questionsByTopic, topicFields, jobs, jobsByField, fieldSignatures, topicSignatures);
+    }
+
+    // key -> sorted positions of the documents carrying it; -1 keys are left out
+    private static int[][] invert(int[] keys, int keyCount) {
+        int[] sizes = new int[keyCount];
+        for (int key : keys) {
+            if (key >= 0) sizes[key]++;
+        }
+        int[][] postings = new int[keyCount][];
+        for (int key = 0; key < keyCount; key++) {
+            postings[key] = new int[sizes[key]];
+        }
+        int[] filled = new int[keyCount];
+        for (int doc = 0; doc < keys.length; doc++) {
+            int key = keys[doc];
+            if (key >= 0) postings[key][filled[key]++] = doc;
+        }
+        return postings;
+    }
+
+    private static long mix(long signature, long value) {
+        long z = signature * 0x9E3779B97F4A7C15L + value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,361 @@
+package com.abc.career_service.service;
+
+import com.abc.career_service.dto.response.RecommendationResponse;
+import com.abc.career_service.dto.response.RecommendedJob;
+import com.abc.career_service.dto.response.RecommendedQuestion;
+import com.abc.career_service.entity.CareerPreference;
+import com.abc.career_service.repository.CareerPreferenceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToDoubleFunction;
+
+// Per-user recommendations, computed ahead of requests so serving one is a copy of its first k
+// items. A user's preferences become sorted field and topic keys; the candidates are the union
+// of the catalog's postings for those keys, scored by how they match (topic over field) and, for
+// questions, how close the level's Elo range is to the user's score, and the best max-items are
+// kept. Users are indexed by the keys they follow, so a preference change recomputes one user
+// and a catalog reload recomputes only the users of fields or topics whose signature changed.
+// Everyone else is recomputed when their Elo score is older than elo-max-age-ms.
+@Slf4j
+@Component
+public class RecommendationEngine {
+    private static final double TOPIC_WEIGHT = 2.0;
+    private static final double FIELD_WEIGHT = 1.0;
+    // A job in a field only reached through a followed topic
+    private static final double RELATED_FIELD_WEIGHT = 0.5;
+    private static final Interests NONE = new Interests(new int[0], new int[0]);
+    // Worst first, so the heap root is the one to evict; the higher position (a newer question) wins ties
+    private static final Comparator<Candidate> WORST_FIRST = Comparator.comparingDouble(Candidate::score)
+            .thenComparingInt(Candidate::doc);
+
+    private final CareerPreferenceRepository careerPreferenceRepository;
+    private final RecommendationCatalog catalog;
+    private final RestClient userClient;
+    private final int maxItems;
+    private final int eloBandWidth;
+    private final long eloMaxAgeMillis;
+    private final double jobHalfLifeMillis;
+    private final Object refreshLock = new Object();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "recommendations");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<Long, Recommendations> recommendations = new ConcurrentHashMap<>();
+    // Guarded by this
+    private final Map<Long, Interests> interests = new HashMap<>();
+    private final Map<Integer, Set<Long>> usersByField = new HashMap<>();
+    private final Map<Integer, Set<Long>> usersByTopic = new HashMap<>();
+
+    // Sorted, distinct keys; replaced, never modified
+    private record Interests(int[] fields, int[] topics) {
+        boolean sameAs(Interests other) {
+            return Arrays.equals(fields, other.fields) && Arrays.equals(topics, other.topics);
+        }
+    }
+
+    private record Recommendations(Integer eloScore, long computedAt,
+                                   List<RecommendedQuestion> questions, List<RecommendedJob> jobs) {
+    }
+
+    private record Candidate(int doc, double score) {
+    }
+
+    record UserElo(Long id, Integer eloScore) {
+    }
+
+    public RecommendationEngine(CareerPreferenceRepository careerPreferenceRepository,
+                                RecommendationCatalog catalog,
+                                @LoadBalanced RestClient.Builder restClientBuilder,
+                                @Value("${app.user-service.base-url:lb://user-service}") String userServiceBaseUrl,
+                                @Value("${app.recommendations.max-items:50}") int maxItems,
+                                @Value("${app.recommendations.elo-band-width:300}") int eloBandWidth,
+                                @Value("${app.recommendations.elo-max-age-ms:1800000}") long eloMaxAgeMillis,
+                                @Value("${app.recommendations.job-half-life-days:14}") long jobHalfLifeDays) {
+        this.careerPreferenceRepository = careerPreferenceRepository;
+        this.catalog = catalog;
+        this.userClient = restClientBuilder.clone().baseUrl(userServiceBaseUrl).build();
+        this.maxItems = maxItems;
+        this.eloBandWidth = Math.max(1, eloBandWidth);
+        this.eloMaxAgeMillis = eloMaxAgeMillis;
+        this.jobHalfLifeMillis = TimeUnit.DAYS.toMillis(jobHalfLifeDays);
+    }
+
+    public RecommendationResponse recommend(Long userId, int limit) {
+        Recommendations current = recommendations.get(userId);
+        if (current == null) {
+            // Not computed yet, or dropped by a concurrent change
+            current = compute(userId);
+        }
+        int size = Math.max(1, Math.min(limit, maxItems));
+        return new RecommendationResponse(userId, current.eloScore(),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(current.computedAt()), ZoneId.systemDefault()),
+                List.copyOf(current.questions().subList(0, Math.min(size, current.questions().size()))),
+                List.copyOf(current.jobs().subList(0, Math.min(size, current.jobs().size()))));
+    }
+
+    // Call after a user's preferences were saved or deleted
+    public void preferencesChanged(Long userId) {
+        if (userId == null) return;
+        if (index(userId, careerPreferenceRepository.findByUserId(userId))) {
+            recommendations.remove(userId);
+            worker.execute(() -> recompute(userId));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        worker.execute(this::refresh);
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.shutdownNow();
+    }
+
+    @Scheduled(initialDelayString = "${app.recommendations.refresh-interval-ms:300000}",
+            fixedDelayString = "${app.recommendations.refresh-interval-ms:300000}")
+    public void refresh() {
+        synchronized (refreshLock) {
+            long started = System.currentTimeMillis();
+            Set<Long> affected = new HashSet<>();
+            RecommendationCatalog.Snapshot before = catalog.snapshot();
+            if (catalog.reload()) {
+                affected.addAll(usersOfChanged(before, catalog.snapshot()));
+            }
+            // Preferences saved through other instances
+            affected.addAll(reloadPreferences());
+            long staleBefore = System.currentTimeMillis() - eloMaxAgeMillis;
+            synchronized (this) {
+                interests.keySet().forEach(userId -> {
+                    Recommendations current = recommendations.get(userId);
+                    if (current == null || current.computedAt() < staleBefore) affected.add(userId);
+                });
+            }
+            affected.forEach(this::recompute);
+            log.debug("Recomputed recommendations for {} users in {} ms", affected.size(), System.currentTimeMillis() - started);
+        }
+    }
+
+    private synchronized Set<Long> usersOfChanged(RecommendationCatalog.Snapshot before, RecommendationCatalog.Snapshot after) {
+        Set<Long> users = new HashSet<>();
+        usersByField.forEach((key, followers) -> {
+            if (RecommendationCatalog.Snapshot.signature(before.fieldSignatures(), key)
+                    != RecommendationCatalog.Snapshot.signature(after.fieldSignatures(), key)) {
+                users.addAll(followers);
+            }
+        });
+        usersByTopic.forEach((key, followers) -> {
+            if (RecommendationCatalog.Snapshot.signature(before.topicSignatures(), key)
+                    != RecommendationCatalog.Snapshot.signature(after.topicSignatures(), key)) {
+                users.addAll(followers);
+            }
+        });
+        return users;
+    }
+
+    private Set<Long> reloadPreferences() {
+        Map<Long, List<CareerPreference>> byUser = new HashMap<>();
+        try {
+            careerPreferenceRepository.findAll()
+                    .forEach(preference -> byUser.computeIfAbsent(preference.getUserId(), id -> new ArrayList<>()).add(preference));
+        } catch (DataAccessException e) {
+            log.warn("Failed to load career preferences: {}", e.getMessage());
+            return Set.of();
+        }
+        byUser.remove(null);
+        Set<Long> changed = new HashSet<>();
+        Set<Long> known;
+        synchronized (this) {
+            known = new HashSet<>(interests.keySet());
+        }
+        known.removeAll(byUser.keySet());
+        known.forEach(userId -> byUser.put(userId, List.of()));
+        byUser.forEach((userId, preferences) -> {
+            if (index(userId, preferences)) changed.add(userId);
+        });
+        return changed;
+    }
+
+    // Replaces the user's interests and their entries in the user indexes; false if unchanged
+    private synchronized boolean index(Long userId, List<CareerPreference> preferences) {
+        Interests next = interestsOf(preferences);
+        Interests previous = interests.getOrDefault(userId, NONE);
+        if (previous.sameAs(next)) return false;
+        for (int field : previous.fields()) unfollow(usersByField, field, userId);
+        for (int topic : previous.topics()) unfollow(usersByTopic, topic, userId);
+        for (int field : next.fields()) usersByField.computeIfAbsent(field, k -> new HashSet<>()).add(userId);
+        for (int topic : next.topics()) usersByTopic.computeIfAbsent(topic, k -> new HashSet<>()).add(userId);
+        if (next == NONE) {
+            interests.remove(userId);
+            recommendations.remove(userId);
+        } else {
+            interests.put(userId, next);
+        }
+        return true;
+    }
+
+    private static void unfollow(Map<Integer, Set<Long>> index, int key, Long userId) {
+        Set<Long> followers = index.get(key);
+        if (followers != null && followers.remove(userId) && followers.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private Interests interestsOf(List<CareerPreference> preferences) {
+        if (preferences.isEmpty()) return NONE;
+        int[] fields = preferences.stream()
+                .mapToInt(preference -> catalog.fieldKeys.intern(preference.getFieldId()))
+                .filter(key -> key >= 0).distinct().sorted().toArray();
+        int[] topics = preferences.stream()
+                .mapToInt(preference -> catalog.topicKeys.intern(preference.getTopicId()))
+                .filter(key -> key >= 0).distinct().sorted().toArray();
+        return fields.length == 0 && topics.length == 0 ? NONE : new Interests(fields, topics);
+    }
+
+    private void recompute(Long userId) {
+        try {
+            compute(userId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to compute recommendations for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private Recommendations compute(Long userId) {
+        Interests wanted;
+        synchronized (this) {
+            wanted = interests.getOrDefault(userId, NONE);
+        }
+        RecommendationCatalog.Snapshot snapshot = catalog.snapshot();
+        long now = System.currentTimeMillis();
+        if (wanted == NONE) {
+            return new Recommendations(null, now, List.of(), List.of());
+        }
+        Integer elo = eloOf(userId);
+        Recommendations result = new Recommendations(elo, now, rankQuestions(snapshot, wanted, elo), rankJobs(snapshot, wanted, now));
+        synchronized (this) {
+            // Preferences or the catalog moved on while computing; whoever moved them recomputes
+            if (interests.get(userId) == wanted && catalog.snapshot() == snapshot) {
+                recommendations.put(userId, result);
+            }
+        }
+        return result;
+    }
+
+    private Integer eloOf(Long userId) {
+        try {
+            UserElo user = userClient.get().uri("/users/internal/user/{id}", userId).retrieve().body(UserElo.class);
+            return user == null ? null : user.eloScore();
+        } catch (RestClientException e) {
+            log.debug("No Elo score for user {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    private List<RecommendedQuestion> rankQuestions(RecommendationCatalog.Snapshot snapshot, Interests wanted, Integer elo) {
+        IntToDoubleFunction score = doc -> {
+            double value = 0;
+            if (Arrays.binarySearch(wanted.topics(), snapshot.questionTopics()[doc]) >= 0) value += TOPIC_WEIGHT;
+            if (Arrays.binarySearch(wanted.fields(), snapshot.questionFields()[doc]) >= 0) value += FIELD_WEIGHT;
+            return value + eloFit(elo, snapshot.questionMinScores()[doc], snapshot.questionMaxScores()[doc]);
+        };
+        List<int[]> postings = new ArrayList<>();
+        for (int topic : wanted.topics()) postings.add(RecommendationCatalog.Snapshot.postings(snapshot.questionsByTopic(), topic));
+        for (int field : wanted.fields()) postings.add(RecommendationCatalog.Snapshot.postings(snapshot.questionsByField(), field));
+        List<RecommendedQuestion> result = new ArrayList<>();
+        for (Candidate candidate : top(postings, snapshot.questionIds().length, score)) {
+            int doc = candidate.doc();
+            long level = snapshot.questionLevels()[doc];
+            result.add(new RecommendedQuestion(snapshot.questionIds()[doc],
+                    catalog.fieldKeys.id(snapshot.questionFields()[doc]),
+                    catalog.topicKeys.id(snapshot.questionTopics()[doc]),
+                    level == 0 ? null : level,
+                    candidate.score()));
+        }
+        return result;
+    }
+
+    private List<RecommendedJob> rankJobs(RecommendationCatalog.Snapshot snapshot, Interests wanted, long now) {
+        // News carry a field but no topic: a followed topic points at its field
+        int[] related = Arrays.stream(wanted.topics())
+                .map(topic -> topic < snapshot.topicFields().length ? snapshot.topicFields()[topic] : -1)
+                .filter(field -> field >= 0 && Arrays.binarySearch(wanted.fields(), field) < 0)
+                .distinct().toArray();
+        RecommendationCatalog.Job[] jobs = snapshot.jobs();
+        IntToDoubleFunction score = doc -> {
+            double match = Arrays.binarySearch(wanted.fields(), jobs[doc].field()) >= 0 ? FIELD_WEIGHT : RELATED_FIELD_WEIGHT;
+            // Halves every half-life, so a new post outranks a stale one in a closer field only for a while
+            double age = Math.max(0, now - jobs[doc].publishedAt());
+            return match + Math.pow(0.5, age / jobHalfLifeMillis);
+        };
+        List<int[]> postings = new ArrayList<>();
+        for (int field : wanted.fields()) postings.add(RecommendationCatalog.Snapshot.postings(snapshot.jobsByField(), field));
+        for (int field : related) postings.add(RecommendationCatalog.Snapshot.postings(snapshot.jobsByField(), field));
+        List<RecommendedJob> result = new ArrayList<>();
+        for (Candidate candidate : top(postings, jobs.length, score)) {
+            RecommendationCatalog.Job job = jobs[candidate.doc()];
+            result.add(new RecommendedJob(job.id(), catalog.fieldKeys.id(job.field()), job.title(), job.companyName(),
+                    job.location(), candidate.score()));
+        }
+        return result;
+    }
+
+    // Best max-items documents of the union of the postings, best first
+    private List<Candidate> top(List<int[]> postings, int documents, IntToDoubleFunction score) {
+        BitSet seen = new BitSet(documents);
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(WORST_FIRST);
+        for (int[] docs : postings) {
+            for (int doc : docs) {
+                if (seen.get(doc)) continue;
+                seen.set(doc);
+                Candidate candidate = new Candidate(doc, score.applyAsDouble(doc));
+                if (heap.size() < maxItems) {
+                    heap.add(candidate);
+                } else if (WORST_FIRST.compare(candidate, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(candidate);
+                }
+            }
+        }
+        List<Candidate> best = new ArrayList<>(heap);
+        best.sort(Collections.reverseOrder(WORST_FIRST));
+        return best;
+    }
+
+    // 1 inside the level's range, falling linearly to 0 one band width away from it
+    private double eloFit(Integer elo, int minScore, int maxScore) {
+        if (elo == null || (minScore == Integer.MIN_VALUE && maxScore == Integer.MAX_VALUE)) return 0;
+        if (elo >= minScore && elo < maxScore) return 1;
+        long distance = elo < minScore ? (long) minScore - elo : (long) elo - maxScore + 1;
+        return Math.max(0, 1 - (double) distance / eloBandWidth);
+    }
+}
@@ -60,6 +60,12 @@ public class ExamController {
         return examService.addQuestionToExam(req);
     }
 
+    @PostMapping("/{examId}/assemble")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('RECRUITER')")
+    public java.util.List<ExamQuestionResponse> assembleExam(@PathVariable Long examId) {
+        return examService.assembleExam(examId);
+    }
+
     @DeleteMapping("/{examId}/questions")
     @PreAuthorize("hasRole('ADMIN') or hasRole('RECRUITER')")
     public void removeQuestionsFromExam(@PathVariable Long examId) {
@@ -78,6 +84,20 @@ public class ExamController {
         return examService.submitAnswer(req);
     }
 
+    @PostMapping("/{examId}/answers:batch")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public java.util.List<UserAnswerResponse> submitAnswers(@PathVariable Long examId,
+                                                            @jakarta.validation.Valid @RequestBody UserAnswerBatchRequest req) {
+        return examService.submitAnswers(examId, req);
+    }
+
+    @PostMapping("/{examId}/submit")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @ResponseStatus(org.springframework.http.HttpStatus.ACCEPTED)
+    public void submitExamForGrading(@PathVariable Long examId, @RequestParam Long userId) {
+        examService.submitExamForGrading(examId, userId);
+    }
+
     @GetMapping("/{examId}/answers/{userId}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public Page<UserAnswerResponse> getUserAnswers(@PathVariable Long examId, @PathVariable Long userId, Pageable pageable) {
@@ -114,6 +134,18 @@ public class ExamController {
         return examService.listResultsByExam(examId, pageable);
     }
 
+    @GetMapping("/{examId}/stats")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('RECRUITER')")
+    public ExamStatsResponse getExamStats(@PathVariable Long examId) {
+        return examService.getExamStats(examId);
+    }
+
+    @GetMapping("/{examId}/stats/percentile")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('RECRUITER')")
+    public PercentileRankResponse getPercentileRank(@PathVariable Long examId, @RequestParam Long userId) {
+        return examService.getPercentileRank(examId, userId);
+    }
+
     @GetMapping("/results/user/{userId}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public Page<ResultResponse> listResultsByUser(@PathVariable Long userId, Pageable pageable) {
@@ -0,0 +1,17 @@
+package com.abc.exam_service.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+// Mirror of question-service's AnswerKeyResponse
+@Data
+public class AnswerKeyDto {
+    private Long id;
+    private Long questionTypeId;
+    private String questionTypeName;
+    private String questionContent;
+    private String referenceAnswer;
+    private String language;
+    private List<String> correctAnswers;
+}
@@ -24,6 +24,9 @@ public class ExamRequest {
     @NotEmpty(message = "At least one question type is required")
     private List<Long> questionTypes;
     
+    // Optional; when empty questions of every level are eligible
+    private List<Long> levels;
+    
     @NotNull(message = "Question count is required")
     @Min(value = 1, message = "Must have at least 1 question")
     @Max(value = 100, message = "Cannot exceed 100 questions")
@@ -15,6 +15,7 @@ public class ExamResponse {
     private String position;
     private List<Long> topics;
     private List<Long> questionTypes;
+    private List<Long> levels;
     private Integer questionCount;
     private Integer duration;
     private LocalDateTime startTime;
@@ -0,0 +1,17 @@
+package com.abc.exam_service.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class ExamStatsResponse {
+    private Long examId;
+    private long count;
+    private Double mean;
+    private Double stdDev;
+    private Double min;
+    private Double max;
+    private Double passRate;
+    private Map<String, Double> percentiles; // "p25", "p50", "p75", "p90", "p95"
+}
@@ -0,0 +1,12 @@
+package com.abc.exam_service.dto;
+
+import lombok.Data;
+
+@Data
+public class PercentileRankResponse {
+    private Long examId;
+    private Long userId;
+    private Double score;
+    private Double percentileRank; // share of results scoring below, ties counted half, 0-100
+    private long count;
+}
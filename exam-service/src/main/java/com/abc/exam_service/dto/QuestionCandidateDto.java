@@ -0,0 +1,14 @@
+package com.abc.exam_service.dto;
+
+import lombok.Data;
+
+// Mirror of question-service's /questions/internal/candidates projection
+@Data
+public class QuestionCandidateDto {
+    private Long id;
+    private Long topicId;
+    private Long fieldId;
+    private Long levelId;
+    private Long questionTypeId;
+    private String language;
+}
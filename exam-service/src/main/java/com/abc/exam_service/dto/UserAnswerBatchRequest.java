@@ -0,0 +1,33 @@
+package com.abc.exam_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class UserAnswerBatchRequest {
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotEmpty(message = "At least one answer is required")
+    @Size(max = 200, message = "Cannot submit more than 200 answers at once")
+    @Valid
+    private List<Item> answers;
+
+    @Data
+    public static class Item {
+        @NotNull(message = "Question ID is required")
+        private Long questionId;
+
+        @NotBlank(message = "Answer content is required")
+        @Size(max = 5000, message = "Answer must not exceed 5000 characters")
+        private String answerContent;
+
+        private Boolean isCorrect;
+    }
+}
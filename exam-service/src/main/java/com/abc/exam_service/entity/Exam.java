@@ -22,6 +22,7 @@ public class Exam {
     private String position;
     private String topics; // JSON array of topic IDs
     private String questionTypes; // JSON array of question type IDs
+    private String levels; // JSON array of level IDs, empty means any level
     private Integer questionCount;
     private Integer duration; // minutes
     private LocalDateTime startTime;
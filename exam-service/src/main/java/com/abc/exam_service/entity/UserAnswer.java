@@ -13,8 +13,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Table(name = "user_answers")
 public class UserAnswer {
+    // Sequence ids (pooled to match hibernate.jdbc.batch_size) let Hibernate batch inserts;
+    // IDENTITY forces an immediate round trip per row.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_answers_seq")
+    @SequenceGenerator(name = "user_answers_seq", sequenceName = "user_answers_seq", allocationSize = 50)
     private Long id;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "exam_id")
@@ -13,10 +13,12 @@ public abstract class Mappers {
 
     @Mapping(target = "topics", expression = "java(convertListToString(req.getTopics()))")
     @Mapping(target = "questionTypes", expression = "java(convertListToString(req.getQuestionTypes()))")
+    @Mapping(target = "levels", expression = "java(convertListToString(req.getLevels()))")
     public abstract Exam toEntity(ExamRequest req);
     
     @Mapping(target = "topics", expression = "java(convertStringToList(entity.getTopics()))")
     @Mapping(target = "questionTypes", expression = "java(convertStringToList(entity.getQuestionTypes()))")
+    @Mapping(target = "levels", expression = "java(convertStringToList(entity.getLevels()))")
     public abstract ExamResponse toResponse(Exam entity);
 
     public abstract ExamQuestion toEntity(ExamQuestionRequest req);
@@ -48,6 +50,10 @@ public abstract class Mappers {
         }
     }
     
+    public java.util.List<Long> idsFromJson(String json) {
+        return convertStringToList(json);
+    }
+
     protected java.util.List<Long> convertStringToList(String json) {
         if (json == null || json.isEmpty()) return java.util.List.of();
         try {
@@ -2,9 +2,24 @@ package com.abc.exam_service.repository;
 
 import com.abc.exam_service.entity.ExamQuestion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ExamQuestionRepository extends JpaRepository<ExamQuestion, Long> {
     void deleteByExamId(Long examId);
+
+    boolean existsByExamId(Long examId);
+
+    @Query("SELECT eq.questionId FROM ExamQuestion eq WHERE eq.exam.id = :examId")
+    List<Long> findQuestionIdsByExamId(@Param("examId") Long examId);
+
+    // Single DELETE statement; the derived deleteByExamId loads and removes rows one by one
+    @Modifying
+    @Query("DELETE FROM ExamQuestion eq WHERE eq.exam.id = :examId")
+    int deleteAllByExamIdInBatch(@Param("examId") Long examId);
 }
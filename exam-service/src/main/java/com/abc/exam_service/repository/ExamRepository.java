@@ -1,13 +1,24 @@
 package com.abc.exam_service.repository;
 
 import com.abc.exam_service.entity.Exam;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface ExamRepository extends JpaRepository<Exam, Long> {
     Page<Exam> findByUserId(Long userId, Pageable pageable);
     Page<Exam> findByExamType(String examType, Pageable pageable);
+
+    // SELECT ... FOR UPDATE; serializes work that must happen once per exam
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Exam e WHERE e.id = :id")
+    Optional<Exam> findByIdForUpdate(@Param("id") Long id);
 }
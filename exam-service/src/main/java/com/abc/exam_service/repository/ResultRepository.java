@@ -14,4 +14,6 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
     Page<Result> findByExamId(@Param("examId") Long examId, Pageable pageable);
     
     Page<Result> findByUserId(Long userId, Pageable pageable);
+
+    boolean existsByExamIdAndUserId(Long examId, Long userId);
 }
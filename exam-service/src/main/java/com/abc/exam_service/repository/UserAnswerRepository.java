@@ -6,7 +6,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface UserAnswerRepository extends JpaRepository<UserAnswer, Long> {
     Page<UserAnswer> findByExamIdAndUserId(Long examId, Long userId, Pageable pageable);
+
+    List<UserAnswer> findAllByExamIdAndUserId(Long examId, Long userId);
 }
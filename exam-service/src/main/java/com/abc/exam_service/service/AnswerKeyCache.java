@@ -0,0 +1,85 @@
+package com.abc.exam_service.service;
+
+import com.abc.exam_service.dto.AnswerKeyDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+// Bounded LRU of grading keys. A closing exam grades the same few dozen questions for every
+// candidate, so after the first submission every lookup is a local hit.
+@Slf4j
+@Component
+public class AnswerKeyCache {
+    private static final int FETCH_BATCH_SIZE = 200;
+    private static final ParameterizedTypeReference<List<AnswerKeyDto>> KEY_LIST =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final RestClient restClient;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<Long, Entry> entries;
+
+    private record Entry(AnswerKeyDto key, long loadedAt) {
+    }
+
+    public AnswerKeyCache(@LoadBalanced RestClient.Builder restClientBuilder,
+                          @Value("${app.question-service.base-url:lb://question-service}") String questionServiceBaseUrl,
+                          @Value("${app.grading.answer-key-cache-size:20000}") int maxEntries,
+                          @Value("${app.grading.answer-key-ttl-seconds:600}") long ttlSeconds) {
+        this.restClient = restClientBuilder.baseUrl(questionServiceBaseUrl).build();
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > AnswerKeyCache.this.maxEntries;
+            }
+        };
+    }
+
+    // Keys for the given questions; ids unknown to question-service are simply absent.
+    public Map<Long, AnswerKeyDto> getAll(Collection<Long> questionIds) {
+        Map<Long, AnswerKeyDto> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            for (Long id : new LinkedHashSet<>(questionIds)) {
+                Entry entry = entries.get(id);
+                if (entry != null && now - entry.loadedAt() <= ttlMillis) {
+                    found.put(id, entry.key());
+                } else {
+                    missing.add(id);
+                }
+            }
+        }
+        // Fetched outside the lock; two graders missing the same key just both load it
+        for (int from = 0; from < missing.size(); from += FETCH_BATCH_SIZE) {
+            List<Long> chunk = missing.subList(from, Math.min(from + FETCH_BATCH_SIZE, missing.size()));
+            List<AnswerKeyDto> loaded = restClient.get()
+                    .uri(uri -> uri.path("/questions/internal/answer-keys").queryParam("ids", chunk.toArray()).build())
+                    .retrieve()
+                    .body(KEY_LIST);
+            if (loaded == null) continue;
+            synchronized (entries) {
+                for (AnswerKeyDto key : loaded) {
+                    entries.put(key.getId(), new Entry(key, now));
+                    found.put(key.getId(), key);
+                }
+            }
+            log.debug("Loaded {} answer keys from question-service", loaded.size());
+        }
+        return found;
+    }
+}
@@ -0,0 +1,9 @@
+package com.abc.exam_service.service;
+
+import com.abc.exam_service.dto.AnswerKeyDto;
+
+// Scores a free-text answer in [0, 1]. Called from grading worker threads, so
+// implementations may block but must be thread-safe.
+public interface EssayScorer {
+    double score(AnswerKeyDto key, String answer);
+}
@@ -0,0 +1,151 @@
+package com.abc.exam_service.service;
+
+import com.abc.exam_service.dto.ExamQuestionResponse;
+import com.abc.exam_service.entity.Exam;
+import com.abc.exam_service.exception.BusinessException;
+import com.abc.exam_service.exception.InvalidRequestException;
+import com.abc.exam_service.mapper.Mappers;
+import com.abc.exam_service.repository.ExamQuestionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExamAssemblyService {
+    private static final String INSERT_EXAM_QUESTION =
+            "INSERT INTO exam_questions (exam_id, question_id, order_number) VALUES (?, ?, ?)";
+
+    private final QuestionPool questionPool;
+    private final ExamQuestionRepository examQuestionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Mappers mappers;
+
+    public List<ExamQuestionResponse> assemble(Exam exam) {
+        return assemble(exam, questionPool.snapshot());
+    }
+
+    // Replaces the exam's questions with a fresh draw: one bulk delete plus one JDBC batch insert.
+    // The pool is passed in so callers can load it before opening a transaction.
+    public List<ExamQuestionResponse> assemble(Exam exam, QuestionPool.Snapshot pool) {
+        List<Long> questionIds = draw(pool,
+                mappers.idsFromJson(exam.getTopics()),
+                mappers.idsFromJson(exam.getQuestionTypes()),
+                mappers.idsFromJson(exam.getLevels()),
+                exam.getQuestionCount() == null ? 0 : exam.getQuestionCount(),
+                ThreadLocalRandom.current());
+
+        List<Object[]> rows = new ArrayList<>(questionIds.size());
+        List<ExamQuestionResponse> responses = new ArrayList<>(questionIds.size());
+        for (int i = 0; i < questionIds.size(); i++) {
+            rows.add(new Object[]{exam.getId(), questionIds.get(i), i + 1});
+            ExamQuestionResponse response = new ExamQuestionResponse();
+            response.setExamId(exam.getId());
+            response.setQuestionId(questionIds.get(i));
+            response.setOrderNumber(i + 1);
+            responses.add(response);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            examQuestionRepository.deleteAllByExamIdInBatch(exam.getId());
+            jdbcTemplate.batchUpdate(INSERT_EXAM_QUESTION, rows);
+        });
+        log.debug("Assembled exam {} with {} questions", exam.getId(), questionIds.size());
+        return responses;
+    }
+
+    // Stratified draw without repeats. Every requested (topic, question type) pair is a stratum
+    // and gets an equal share of the count; strata that run out of candidates hand their
+    // remaining share to the others. Within a stratum questions are sampled uniformly across
+    // the requested levels.
+    List<Long> draw(QuestionPool.Snapshot pool, List<Long> topics, List<Long> questionTypes, List<Long> levels, int count, Random random) {
+        if (topics.isEmpty() || questionTypes.isEmpty()) {
+            throw new InvalidRequestException("Exam must define at least one topic and one question type");
+        }
+        if (count <= 0) {
+            throw new InvalidRequestException("Question count must be positive");
+        }
+
+        List<Stratum> open = new ArrayList<>();
+        List<Stratum> strata = new ArrayList<>();
+        for (Long topic : new HashSet<>(topics)) {
+            for (Long type : new HashSet<>(questionTypes)) {
+                Stratum stratum = new Stratum(pool.stratum(topic, type, levels));
+                strata.add(stratum);
+                if (stratum.capacity > 0) open.add(stratum);
+            }
+        }
+
+        int remaining = count;
+        while (remaining > 0 && !open.isEmpty()) {
+            // Shuffling decides which strata receive the leftover when count doesn't divide evenly
+            Collections.shuffle(open, random);
+            int share = Math.max(1, remaining / open.size());
+            Iterator<Stratum> it = open.iterator();
+            while (it.hasNext() && remaining > 0) {
+                Stratum stratum = it.next();
+                int give = Math.min(share, Math.min(remaining, stratum.capacity - stratum.quota));
+                stratum.quota += give;
+                remaining -= give;
+                if (stratum.quota == stratum.capacity) it.remove();
+            }
+        }
+        if (remaining > 0) {
+            throw new BusinessException(
+                    String.format("Not enough approved questions for this exam: requested %d, available %d",
+                            count, count - remaining),
+                    "INSUFFICIENT_QUESTIONS");
+        }
+
+        List<Long> picked = new ArrayList<>(count);
+        for (Stratum stratum : strata) {
+            stratum.sample(random, picked);
+        }
+        Collections.shuffle(picked, random);
+        return picked;
+    }
+
+    private static final class Stratum {
+        private final List<long[]> chunks;
+        private final int capacity;
+        private int quota;
+
+        private Stratum(List<long[]> chunks) {
+            this.chunks = chunks;
+            this.capacity = chunks.stream().mapToInt(c -> c.length).sum();
+        }
+
+        // Floyd's algorithm: quota distinct indices in O(quota) without copying the chunks
+        private void sample(Random random, List<Long> out) {
+            if (quota == 0) return;
+            Set<Integer> chosen = new HashSet<>(quota * 2);
+            for (int j = capacity - quota; j < capacity; j++) {
+                int t = random.nextInt(j + 1);
+                if (!chosen.add(t)) chosen.add(j);
+            }
+            for (int index : chosen) {
+                out.add(idAt(index));
+            }
+        }
+
+        private long idAt(int index) {
+            for (long[] chunk : chunks) {
+                if (index < chunk.length) return chunk[index];
+                index -= chunk.length;
+            }
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+}
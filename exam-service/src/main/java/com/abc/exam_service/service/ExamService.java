@@ -2,14 +2,22 @@ package com.abc.exam_service.service;
 
 import com.abc.exam_service.dto.*;
 import com.abc.exam_service.entity.*;
+import com.abc.exam_service.exception.InvalidRequestException;
+import com.abc.exam_service.exception.ResourceNotFoundException;
 import com.abc.exam_service.mapper.Mappers;
 import com.abc.exam_service.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -19,7 +27,12 @@ public class ExamService {
     private final ResultRepository resultRepository;
     private final UserAnswerRepository userAnswerRepository;
     private final ExamRegistrationRepository examRegistrationRepository;
+    private final ExamAssemblyService examAssemblyService;
+    private final QuestionPool questionPool;
+    private final GradingPipeline gradingPipeline;
+    private final ExamStatsService examStatsService;
     private final Mappers mappers;
+    private final TransactionTemplate transactionTemplate;
 
     public ExamResponse createExam(ExamRequest req) {
         Exam exam = mappers.toEntity(req);
@@ -36,9 +49,19 @@ public class ExamService {
     }
 
     public ExamResponse startExam(Long examId) {
-        Exam exam = examRepository.findById(examId).orElseThrow();
-        exam.setStatus("ONGOING");
-        return mappers.toResponse(examRepository.save(exam));
+        // The pool's first load calls question-service, so take it before the transaction opens
+        QuestionPool.Snapshot pool = questionPool.snapshot();
+        Exam started = transactionTemplate.execute(status -> {
+            // Row lock: concurrent starts of one exam queue here, and later ones see the drawn questions
+            Exam exam = examRepository.findByIdForUpdate(examId).orElseThrow();
+            // Virtual exams have no hand-picked questions; draw them the first time the exam starts
+            if ("VIRTUAL".equals(exam.getExamType()) && !examQuestionRepository.existsByExamId(examId)) {
+                examAssemblyService.assemble(exam, pool);
+            }
+            exam.setStatus("ONGOING");
+            return examRepository.save(exam);
+        });
+        return mappers.toResponse(started);
     }
 
     public ExamResponse completeExam(Long examId) {
@@ -63,6 +86,11 @@ public class ExamService {
         return mappers.toResponse(examQuestionRepository.save(mappers.toEntity(req)));
     }
 
+    public List<ExamQuestionResponse> assembleExam(Long examId) {
+        Exam exam = examRepository.findById(examId).orElseThrow();
+        return examAssemblyService.assemble(exam);
+    }
+
     public void removeQuestionsFromExam(Long examId) {
         examQuestionRepository.deleteByExamId(examId);
     }
@@ -73,7 +101,9 @@ public class ExamService {
         Exam exam = examRepository.findById(req.getExamId()).orElseThrow();
         result.setExam(exam);
         result.setCompletedAt(LocalDateTime.now());
-        return mappers.toResponse(resultRepository.save(result));
+        Result saved = resultRepository.save(result);
+        examStatsService.record(exam.getId(), saved.getUserId(), saved.getScore(), saved.getPassStatus());
+        return mappers.toResponse(saved);
     }
 
     public UserAnswerResponse submitAnswer(UserAnswerRequest req) {
@@ -85,6 +115,41 @@ public class ExamService {
         return mappers.toResponse(userAnswerRepository.save(answer));
     }
 
+    // Validates the exam once and saves every answer in a single transaction; with sequence ids
+    // and hibernate.jdbc.batch_size the inserts go out as JDBC batches instead of one per row.
+    @Transactional
+    public List<UserAnswerResponse> submitAnswers(Long examId, UserAnswerBatchRequest req) {
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", examId));
+        Set<Long> examQuestionIds = new HashSet<>(examQuestionRepository.findQuestionIdsByExamId(examId));
+        Set<Long> seen = new HashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+        List<UserAnswer> answers = new ArrayList<>(req.getAnswers().size());
+        for (UserAnswerBatchRequest.Item item : req.getAnswers()) {
+            if (!seen.add(item.getQuestionId())) {
+                throw new InvalidRequestException("Duplicate answer for question " + item.getQuestionId());
+            }
+            // Exams without assigned questions accept any question, like the single-answer endpoint
+            if (!examQuestionIds.isEmpty() && !examQuestionIds.contains(item.getQuestionId())) {
+                throw new InvalidRequestException("Question " + item.getQuestionId() + " is not part of exam " + examId);
+            }
+            UserAnswer answer = new UserAnswer();
+            answer.setExam(exam);
+            answer.setQuestionId(item.getQuestionId());
+            answer.setUserId(req.getUserId());
+            answer.setAnswerContent(item.getAnswerContent());
+            answer.setIsCorrect(item.getIsCorrect());
+            answer.setCreatedAt(now);
+            answers.add(answer);
+        }
+        return userAnswerRepository.saveAll(answers).stream().map(mappers::toResponse).toList();
+    }
+
+    // Grading is asynchronous; the Result appears under /exams/results/user/{userId} when done
+    public void submitExamForGrading(Long examId, Long userId) {
+        gradingPipeline.submit(examId, userId);
+    }
+
     public Page<UserAnswerResponse> getUserAnswers(Long examId, Long userId, Pageable pageable) {
         return userAnswerRepository.findByExamIdAndUserId(examId, userId, pageable).map(mappers::toResponse);
     }
@@ -117,6 +182,14 @@ public class ExamService {
         return resultRepository.findByExamId(examId, pageable).map(mappers::toResponse);
     }
 
+    public ExamStatsResponse getExamStats(Long examId) {
+        return examStatsService.getStats(examId);
+    }
+
+    public PercentileRankResponse getPercentileRank(Long examId, Long userId) {
+        return examStatsService.getPercentileRank(examId, userId);
+    }
+
     public Page<ResultResponse> listResultsByUser(Long userId, Pageable pageable) {
         return resultRepository.findByUserId(userId, pageable).map(mappers::toResponse);
     }
@@ -132,6 +205,7 @@ public class ExamService {
         exam.setPosition(req.getPosition());
         exam.setTopics(req.getTopics() != null ? req.getTopics().toString() : null);
         exam.setQuestionTypes(req.getQuestionTypes() != null ? req.getQuestionTypes().toString() : null);
+        exam.setLevels(req.getLevels() != null ? req.getLevels().toString() : null);
         exam.setQuestionCount(req.getQuestionCount());
         exam.setDuration(req.getDuration());
         exam.setLanguage(req.getLanguage());
@@ -140,6 +214,7 @@ public class ExamService {
 
     public void deleteExam(Long id) {
         examRepository.deleteById(id);
+        examStatsService.forget(id);
     }
 
     public ResultResponse getResultById(Long id) {
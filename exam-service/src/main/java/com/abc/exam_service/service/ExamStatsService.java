@@ -0,0 +1,150 @@
+package com.abc.exam_service.service;
+
+import com.abc.exam_service.dto.ExamStatsResponse;
+import com.abc.exam_service.dto.PercentileRankResponse;
+import com.abc.exam_service.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Running per-exam score aggregates, updated on every stored Result so recruiters don't have
+// to page through the results table. Scores are bounded to [0, 100], so instead of an
+// approximate sketch each exam keeps an exact 0.1-point histogram (1001 counters): it merges
+// by addition and answers quantile / rank queries in constant time regardless of how many
+// results the exam has.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExamStatsService {
+    private static final int BINS_PER_POINT = 10;
+    private static final int BINS = 100 * BINS_PER_POINT + 1;
+    private static final double[] REPORTED_PERCENTILES = {25, 50, 75, 90, 95};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, ExamStats> stats = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        Map<Long, ExamStats> loaded = new HashMap<>();
+        // Streams rows instead of loading Result entities; ordered so the latest result per user wins
+        jdbcTemplate.query("SELECT exam_id, user_id, score, pass_status FROM results WHERE score IS NOT NULL ORDER BY id",
+                rs -> {
+                    loaded.computeIfAbsent(rs.getLong("exam_id"), k -> new ExamStats())
+                            .add(rs.getLong("user_id"), rs.getDouble("score"), rs.getBoolean("pass_status"));
+                });
+        stats.clear();
+        stats.putAll(loaded);
+        log.info("Exam stats rebuilt for {} exams in {} ms", loaded.size(), System.currentTimeMillis() - started);
+    }
+
+    public void record(Long examId, Long userId, Double score, Boolean passStatus) {
+        if (examId == null || score == null) return;
+        stats.computeIfAbsent(examId, k -> new ExamStats()).add(userId, score, Boolean.TRUE.equals(passStatus));
+    }
+
+    public void forget(Long examId) {
+        stats.remove(examId);
+    }
+
+    public ExamStatsResponse getStats(Long examId) {
+        ExamStats exam = stats.get(examId);
+        ExamStatsResponse response = new ExamStatsResponse();
+        response.setExamId(examId);
+        if (exam == null) {
+            return response;
+        }
+        synchronized (exam) {
+            response.setCount(exam.count);
+            if (exam.count == 0) return response;
+            response.setMean(round(exam.mean));
+            response.setStdDev(round(Math.sqrt(exam.m2 / exam.count)));
+            response.setMin(exam.min);
+            response.setMax(exam.max);
+            response.setPassRate(round((double) exam.passed / exam.count));
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (double p : REPORTED_PERCENTILES) {
+                percentiles.put("p" + (int) p, exam.quantile(p / 100));
+            }
+            response.setPercentiles(percentiles);
+        }
+        return response;
+    }
+
+    public PercentileRankResponse getPercentileRank(Long examId, Long userId) {
+        ExamStats exam = stats.get(examId);
+        Double score = exam == null ? null : exam.latestByUser.get(userId);
+        if (score == null) {
+            throw new ResourceNotFoundException("Result for user " + userId + " in exam " + examId + " not found");
+        }
+        PercentileRankResponse response = new PercentileRankResponse();
+        response.setExamId(examId);
+        response.setUserId(userId);
+        response.setScore(score);
+        synchronized (exam) {
+            response.setCount(exam.count);
+            response.setPercentileRank(round(exam.rank(score) * 100));
+        }
+        return response;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static int bin(double score) {
+        return (int) Math.round(Math.max(0, Math.min(100, score)) * BINS_PER_POINT);
+    }
+
+    private static final class ExamStats {
+        private final long[] histogram = new long[BINS];
+        private final Map<Long, Double> latestByUser = new ConcurrentHashMap<>();
+        private long count;
+        private long passed;
+        private double mean;
+        private double m2;
+        private double min = Double.MAX_VALUE;
+        private double max = -Double.MAX_VALUE;
+
+        // Welford's update keeps mean/variance numerically stable without storing scores
+        private synchronized void add(Long userId, double score, boolean pass) {
+            count++;
+            double delta = score - mean;
+            mean += delta / count;
+            m2 += delta * (score - mean);
+            if (pass) passed++;
+            min = Math.min(min, score);
+            max = Math.max(max, score);
+            histogram[bin(score)]++;
+            if (userId != null) latestByUser.put(userId, score);
+        }
+
+        private double quantile(double q) {
+            long target = Math.max(1, (long) Math.ceil(q * count));
+            long cumulative = 0;
+            for (int i = 0; i < BINS; i++) {
+                cumulative += histogram[i];
+                if (cumulative >= target) return (double) i / BINS_PER_POINT;
+            }
+            return max;
+        }
+
+        private double rank(double score) {
+            int b = bin(score);
+            long below = 0;
+            for (int i = 0; i < b; i++) {
+                below += histogram[i];
+            }
+            return (below + histogram[b] / 2.0) / count;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.abc.exam_service.service;
+
+import com.abc.exam_service.dto.AnswerKeyDto;
+import com.abc.exam_service.entity.Exam;
+import com.abc.exam_service.entity.Result;
+import com.abc.exam_service.entity.UserAnswer;
+import com.abc.exam_service.exception.BusinessException;
+import com.abc.exam_service.exception.ResourceNotFoundException;
+import com.abc.exam_service.repository.ExamQuestionRepository;
+import com.abc.exam_service.repository.ExamRepository;
+import com.abc.exam_service.repository.ResultRepository;
+import com.abc.exam_service.repository.UserAnswerRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// Grades a user's submitted answers off the request thread:
+//   submit() -> bounded submission queue -> worker scores objective answers in memory against
+//   cached keys and fans essays out to the essay pool -> last essay to finish writes the
+//   graded answers (one JDBC batch) and the Result row.
+// A full submission queue rejects instead of blocking; a full essay queue makes the
+// submission worker score the essay itself, which throttles intake without touching
+// request threads.
+@Slf4j
+@Component
+public class GradingPipeline {
+    private static final String UPDATE_ANSWER =
+            "UPDATE user_answers SET is_correct = ?, similarity_score = ? WHERE id = ?";
+
+    private final ExamRepository examRepository;
+    private final ExamQuestionRepository examQuestionRepository;
+    private final UserAnswerRepository userAnswerRepository;
+    private final ResultRepository resultRepository;
+    private final AnswerKeyCache answerKeyCache;
+    private final EssayScorer essayScorer;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExamStatsService examStatsService;
+    private final Set<String> objectiveTypes;
+    private final double passScore;
+    private final double essayPassThreshold;
+
+    private final ThreadPoolExecutor submissions;
+    private final ThreadPoolExecutor essays;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public GradingPipeline(ExamRepository examRepository,
+                           ExamQuestionRepository examQuestionRepository,
+                           UserAnswerRepository userAnswerRepository,
+                           ResultRepository resultRepository,
+                           AnswerKeyCache answerKeyCache,
+                           EssayScorer essayScorer,
+                           JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           ExamStatsService examStatsService,
+                           @Value("${app.grading.objective-types:Multiple Choice,True/False,Fill in the Blank}") List<String> objectiveTypes,
+                           @Value("${app.grading.pass-score:50}") double passScore,
+                           @Value("${app.grading.essay-pass-threshold:0.5}") double essayPassThreshold,
+                           @Value("${app.grading.workers:4}") int workers,
+                           @Value("${app.grading.queue-capacity:10000}") int queueCapacity,
+                           @Value("${app.grading.essay-concurrency:16}") int essayConcurrency,
+                           @Value("${app.grading.essay-queue-capacity:1000}") int essayQueueCapacity) {
+        this.examRepository = examRepository;
+        this.examQuestionRepository = examQuestionRepository;
+        this.userAnswerRepository = userAnswerRepository;
+        this.resultRepository = resultRepository;
+        this.answerKeyCache = answerKeyCache;
+        this.essayScorer = essayScorer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.examStatsService = examStatsService;
+        this.objectiveTypes = objectiveTypes.stream().map(GradingPipeline::normalize).collect(Collectors.toSet());
+        this.passScore = passScore;
+        this.essayPassThreshold = essayPassThreshold;
+        this.submissions = executor("grading", workers, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+        this.essays = executor("grading-essay", essayConcurrency, essayQueueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public void submit(Long examId, Long userId) {
+        if (!examRepository.existsById(examId)) {
+            throw new ResourceNotFoundException("Exam", "id", examId);
+        }
+        if (resultRepository.existsByExamIdAndUserId(examId, userId)) {
+            throw new BusinessException("A result already exists for this exam and user", "ALREADY_GRADED");
+        }
+        String key = examId + ":" + userId;
+        if (!inFlight.add(key)) {
+            throw new BusinessException("This submission is already being graded", "GRADING_IN_PROGRESS");
+        }
+        try {
+            submissions.execute(() -> grade(examId, userId, key));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key);
+            throw new BusinessException("Grading queue is full, please retry shortly", "GRADING_QUEUE_FULL");
+        }
+    }
+
+    public int pendingSubmissions() {
+        return submissions.getQueue().size() + submissions.getActiveCount();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        submissions.shutdown();
+        submissions.awaitTermination(30, TimeUnit.SECONDS);
+        essays.shutdown();
+        essays.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void grade(Long examId, Long userId, String key) {
+        try {
+            // Resubmitted questions count once, using the latest answer
+            Map<Long, UserAnswer> latest = new HashMap<>();
+            for (UserAnswer answer : userAnswerRepository.findAllByExamIdAndUserId(examId, userId)) {
+                latest.merge(answer.getQuestionId(), answer, (a, b) -> a.getId() > b.getId() ? a : b);
+            }
+            Collection<UserAnswer> answers = latest.values();
+            Map<Long, AnswerKeyDto> keys = answerKeyCache.getAll(latest.keySet());
+
+            List<CompletableFuture<Void>> pending = new ArrayList<>();
+            for (UserAnswer answer : answers) {
+                AnswerKeyDto answerKey = keys.get(answer.getQuestionId());
+                if (answerKey == null) {
+                    applyScore(answer, 0.0, false);
+                } else if (isObjective(answerKey)) {
+                    boolean correct = matchesKey(answerKey, answer.getAnswerContent());
+                    applyScore(answer, correct ? 1.0 : 0.0, correct);
+                } else {
+                    pending.add(CompletableFuture.runAsync(() -> scoreEssay(answer, answerKey), essays));
+                }
+            }
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                    .whenComplete((ignored, error) -> {
+                        try {
+                            finish(examId, userId, answers, pending.size());
+                        } catch (RuntimeException e) {
+                            log.error("Failed to store grading result for exam {} user {}", examId, userId, e);
+                        } finally {
+                            inFlight.remove(key);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            inFlight.remove(key);
+            log.error("Grading failed for exam {} user {}", examId, userId, e);
+        }
+    }
+
+    private void scoreEssay(UserAnswer answer, AnswerKeyDto key) {
+        double score;
+        try {
+            score = essayScorer.score(key, answer.getAnswerContent());
+        } catch (RuntimeException e) {
+            log.warn("Essay scoring failed for answer {}: {}", answer.getId(), e.getMessage());
+            score = 0.0;
+        }
+        applyScore(answer, score, score >= essayPassThreshold);
+    }
+
+    private void finish(Long examId, Long userId, Collection<UserAnswer> answers, int essayCount) {
+        Exam exam = examRepository.findById(examId).orElseThrow();
+        int examQuestions = examQuestionRepository.findQuestionIdsByExamId(examId).size();
+        int expected = examQuestions > 0 ? examQuestions : (exam.getQuestionCount() == null ? 0 : exam.getQuestionCount());
+        // Unanswered questions count as zero
+        int total = Math.max(expected, answers.size());
+        double earned = answers.stream().mapToDouble(UserAnswer::getSimilarityScore).sum();
+        long objectiveCorrect = answers.stream().filter(UserAnswer::getIsCorrect).count();
+        double score = total == 0 ? 0.0 : Math.round(10000.0 * earned / total) / 100.0;
+
+        List<Object[]> rows = answers.stream()
+                .map(a -> new Object[]{a.getIsCorrect(), a.getSimilarityScore(), a.getId()})
+                .toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPDATE_ANSWER, rows);
+            Result result = new Result();
+            result.setExam(exam);
+            result.setUserId(userId);
+            result.setScore(score);
+            result.setPassStatus(score >= passScore);
+            result.setFeedback(String.format("Auto-graded %d of %d questions (%d essay); %d answers correct",
+                    answers.size(), total, essayCount, objectiveCorrect));
+            result.setCompletedAt(LocalDateTime.now());
+            resultRepository.save(result);
+        });
+        examStatsService.record(examId, userId, score, score >= passScore);
+        log.debug("Graded exam {} for user {}: {}", examId, userId, score);
+    }
+
+    private static void applyScore(UserAnswer answer, double score, boolean correct) {
+        answer.setSimilarityScore(score);
+        answer.setIsCorrect(correct);
+    }
+
+    // Objective questions are graded by exact (normalized) match; one without any key
+    // falls through to the essay scorer rather than failing everyone.
+    private boolean isObjective(AnswerKeyDto key) {
+        return key.getQuestionTypeName() != null
+                && objectiveTypes.contains(normalize(key.getQuestionTypeName()))
+                && ((key.getCorrectAnswers() != null && !key.getCorrectAnswers().isEmpty()) || key.getReferenceAnswer() != null);
+    }
+
+    private static boolean matchesKey(AnswerKeyDto key, String answer) {
+        String given = normalize(answer);
+        if (given.isEmpty()) return false;
+        if (key.getCorrectAnswers() != null) {
+            for (String correct : key.getCorrectAnswers()) {
+                if (given.equals(normalize(correct))) return true;
+            }
+        }
+        return given.equals(normalize(key.getReferenceAnswer()));
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static ThreadPoolExecutor executor(String name, int threads, int capacity, RejectedExecutionHandler onFull) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                onFull);
+    }
+}
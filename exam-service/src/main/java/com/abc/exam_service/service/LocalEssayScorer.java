@@ -0,0 +1,64 @@
+package com.abc.exam_service.service;
+
+import com.abc.exam_service.dto.AnswerKeyDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// In-process stand-in for nlp-service's /grading/essay: cosine similarity between the answer
+// and the closest reference (the question's reference answer or any answer marked correct).
+@Component
+@ConditionalOnProperty(name = "app.grading.essay-scorer", havingValue = "local", matchIfMissing = true)
+public class LocalEssayScorer implements EssayScorer {
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    @Override
+    public double score(AnswerKeyDto key, String answer) {
+        Map<String, Integer> answerTerms = termFrequencies(answer);
+        if (answerTerms.isEmpty()) return 0.0;
+        List<String> references = new ArrayList<>();
+        if (key.getReferenceAnswer() != null) references.add(key.getReferenceAnswer());
+        if (key.getCorrectAnswers() != null) references.addAll(key.getCorrectAnswers());
+
+        double best = 0.0;
+        for (String reference : references) {
+            best = Math.max(best, cosine(answerTerms, termFrequencies(reference)));
+        }
+        return best;
+    }
+
+    private static double cosine(Map<String, Integer> a, Map<String, Integer> b) {
+        if (b.isEmpty()) return 0.0;
+        double dot = 0, normA = 0, normB = 0;
+        for (Map.Entry<String, Integer> e : a.entrySet()) {
+            normA += (double) e.getValue() * e.getValue();
+            Integer other = b.get(e.getKey());
+            if (other != null) dot += (double) e.getValue() * other;
+        }
+        for (int v : b.values()) {
+            normB += (double) v * v;
+        }
+        return dot / Math.sqrt(normA * normB);
+    }
+
+    // Diacritics are folded so Vietnamese answers typed without accents still match
+    private static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> terms = new HashMap<>();
+        if (text == null || text.isBlank()) return terms;
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .replace('\u0111', 'd')
+                .replace('\u0110', 'D')
+                .toLowerCase(Locale.ROOT);
+        for (String token : folded.split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() > 1) terms.merge(token, 1, Integer::sum);
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,58 @@
+package com.abc.exam_service.service;
+
+import com.abc.exam_service.dto.AnswerKeyDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Map;
+
+// Delegates to nlp-service's POST /grading/essay; falls back to the local scorer when the
+// call fails so a slow or unavailable nlp-service can't stall a grading burst.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.grading.essay-scorer", havingValue = "nlp")
+public class NlpEssayScorer implements EssayScorer {
+    private static final int MAX_SCORE = 100;
+
+    private final RestClient restClient;
+    private final LocalEssayScorer fallback = new LocalEssayScorer();
+
+    public NlpEssayScorer(RestClient.Builder restClientBuilder,
+                          @Value("${app.nlp-service.base-url:http://nlp-service:8088}") String nlpServiceBaseUrl,
+                          @Value("${app.nlp-service.token:exam-service}") String token) {
+        this.restClient = restClientBuilder
+                .baseUrl(nlpServiceBaseUrl)
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .build();
+    }
+
+    @Override
+    public double score(AnswerKeyDto key, String answer) {
+        try {
+            GradingResponse response = restClient.post()
+                    .uri("/grading/essay")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of(
+                            "question", key.getQuestionContent() == null ? "" : key.getQuestionContent(),
+                            "answer", answer,
+                            "max_score", MAX_SCORE))
+                    .retrieve()
+                    .body(GradingResponse.class);
+            if (response != null && response.percentage() != null) {
+                return Math.max(0.0, Math.min(1.0, response.percentage() / 100.0));
+            }
+        } catch (RestClientException e) {
+            log.warn("nlp-service grading failed for question {}, using local scorer: {}", key.getId(), e.getMessage());
+        }
+        return fallback.score(key, answer);
+    }
+
+    private record GradingResponse(Double score, Double percentage) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.abc.exam_service.service;
+
+import com.abc.exam_service.dto.QuestionCandidateDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Local copy of the APPROVED question ids, grouped topic -> question type -> level, so exam
+// assembly never has to ask question-service (or the DB) per question.
+@Slf4j
+@Component
+public class QuestionPool {
+    private static final int SYNC_BATCH_SIZE = 5000;
+    private static final ParameterizedTypeReference<List<QuestionCandidateDto>> CANDIDATE_LIST =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final RestClient restClient;
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), 0, 0L);
+
+    public QuestionPool(@LoadBalanced RestClient.Builder restClientBuilder,
+                        @Value("${app.question-service.base-url:lb://question-service}") String questionServiceBaseUrl) {
+        this.restClient = restClientBuilder.baseUrl(questionServiceBaseUrl).build();
+    }
+
+    public record Snapshot(Map<Long, Map<Long, Map<Long, long[]>>> byTopicTypeLevel, int size, long loadedAt) {
+
+        // Candidate id arrays for one (topic, type) stratum, restricted to the given levels
+        // (all levels when the list is empty). The arrays are shared and must not be modified.
+        public List<long[]> stratum(Long topicId, Long questionTypeId, List<Long> levels) {
+            Map<Long, long[]> byLevel = byTopicTypeLevel.getOrDefault(topicId, Map.of()).getOrDefault(questionTypeId, Map.of());
+            if (levels == null || levels.isEmpty()) {
+                return List.copyOf(byLevel.values());
+            }
+            return levels.stream().distinct().map(byLevel::get).filter(ids -> ids != null && ids.length > 0).toList();
+        }
+    }
+
+    public Snapshot snapshot() {
+        if (snapshot.loadedAt() == 0L) {
+            // First use before the scheduled sync finished: load once, concurrent callers wait
+            synchronized (this) {
+                if (snapshot.loadedAt() == 0L) {
+                    refresh();
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${app.question-pool.refresh-interval-ms:300000}")
+    public synchronized void refresh() {
+        long started = System.currentTimeMillis();
+        Map<Long, Map<Long, Map<Long, List<Long>>>> grouped = new HashMap<>();
+        int total = 0;
+        try {
+            long afterId = 0L;
+            List<QuestionCandidateDto> batch;
+            do {
+                final long cursor = afterId;
+                batch = restClient.get()
+                        .uri(uri -> uri.path("/questions/internal/candidates")
+                                .queryParam("status", "APPROVED")
+                                .queryParam("afterId", cursor)
+                                .queryParam("size", SYNC_BATCH_SIZE)
+                                .build())
+                        .retrieve()
+                        .body(CANDIDATE_LIST);
+                if (batch == null) break;
+                for (QuestionCandidateDto c : batch) {
+                    afterId = c.getId();
+                    if (c.getTopicId() == null || c.getQuestionTypeId() == null) continue;
+                    long level = c.getLevelId() == null ? 0L : c.getLevelId();
+                    grouped.computeIfAbsent(c.getTopicId(), k -> new HashMap<>())
+                            .computeIfAbsent(c.getQuestionTypeId(), k -> new HashMap<>())
+                            .computeIfAbsent(level, k -> new ArrayList<>())
+                            .add(c.getId());
+                    total++;
+                }
+            } while (batch.size() == SYNC_BATCH_SIZE);
+        } catch (RestClientException e) {
+            log.warn("Question pool refresh failed, keeping {} cached candidates: {}", snapshot.size(), e.getMessage());
+            return;
+        }
+
+        Map<Long, Map<Long, Map<Long, long[]>>> frozen = new HashMap<>();
+        grouped.forEach((topic, byType) -> byType.forEach((type, byLevel) -> byLevel.forEach((level, ids) ->
+                frozen.computeIfAbsent(topic, k -> new HashMap<>())
+                        .computeIfAbsent(type, k -> new HashMap<>())
+                        .put(level, ids.stream().mapToLong(Long::longValue).toArray()))));
+        snapshot = new Snapshot(frozen, total, System.currentTimeMillis());
+        log.info("Question pool refreshed with {} approved candidates in {} ms", total, System.currentTimeMillis() - started);
+    }
+}
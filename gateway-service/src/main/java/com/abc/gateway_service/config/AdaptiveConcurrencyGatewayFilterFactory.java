@@ -0,0 +1,150 @@
+package com.abc.gateway_service.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Load shedding at the gateway ("AdaptiveConcurrency=<group>,<priority>"): each group,
+// normally one backend service, gets a GradientConcurrencyLimiter whose limit tracks that
+// service's latency. Requests over the limit are answered at once with 503 and Retry-After
+// instead of queueing until they time out, so the requests that are let through keep a
+// bounded latency. NORMAL routes may only fill normal-share of the limit; the rest is
+// reserved for HIGH routes such as exam answer and result submission.
+@Component
+public class AdaptiveConcurrencyGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AdaptiveConcurrencyGatewayFilterFactory.Config> {
+
+    public enum Priority {
+        HIGH, NORMAL
+    }
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double normalShare;
+    private final String retryAfterSeconds;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Group> groups = new ConcurrentHashMap<>();
+
+    public static class Config {
+        // Routes naming the same group share one limit; defaults to the route id
+        private String group;
+        private Priority priority = Priority.NORMAL;
+
+        public String getGroup() {
+            return group;
+        }
+
+        public Config setGroup(String group) {
+            this.group = group;
+            return this;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        public Config setPriority(Priority priority) {
+            this.priority = priority;
+            return this;
+        }
+    }
+
+    private record Group(GradientConcurrencyLimiter limiter, LongAdder accepted, LongAdder shed) {
+    }
+
+    public AdaptiveConcurrencyGatewayFilterFactory(@Value("${app.concurrency.initial-limit:50}") int initialLimit,
+                                                   @Value("${app.concurrency.min-limit:5}") int minLimit,
+                                                   @Value("${app.concurrency.max-limit:500}") int maxLimit,
+                                                   @Value("${app.concurrency.smoothing:0.2}") double smoothing,
+                                                   @Value("${app.concurrency.normal-share:0.75}") double normalShare,
+                                                   @Value("${app.concurrency.retry-after:1s}") Duration retryAfter,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        super(Config.class);
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.normalShare = normalShare;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+        this.meterRegistry = meterRegistry.getIfAvailable();
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("group", "priority");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        double share = config.getPriority() == Priority.HIGH ? 1.0 : normalShare;
+        return (exchange, chain) -> {
+            String name = config.getGroup();
+            if (name == null) {
+                Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+                name = route != null ? route.getId() : "default";
+            }
+            Group group = groups.computeIfAbsent(name, this::newGroup);
+            GradientConcurrencyLimiter limiter = group.limiter();
+            if (!limiter.tryAcquire(share)) {
+                group.shed().increment();
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+                return response.setComplete();
+            }
+            group.accepted().increment();
+            long started = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (signal == SignalType.CANCEL) {
+                    limiter.onIgnored();
+                } else if (signal == SignalType.ON_ERROR || isOverloaded(status)) {
+                    limiter.onDropped();
+                } else {
+                    limiter.onSuccess(System.nanoTime() - started);
+                }
+            });
+        };
+    }
+
+    // Application errors (500) say nothing about capacity; gateway errors and timeouts do
+    private static boolean isOverloaded(HttpStatusCode status) {
+        return status != null && (status.value() == 502 || status.value() == 503 || status.value() == 504);
+    }
+
+    private Group newGroup(String name) {
+        Group group = new Group(new GradientConcurrencyLimiter(initialLimit, minLimit, maxLimit, smoothing),
+                new LongAdder(), new LongAdder());
+        if (meterRegistry != null) {
+            Gauge.builder("gateway.concurrency.limit", group.limiter(), GradientConcurrencyLimiter::getLimit)
+                    .tag("group", name).register(meterRegistry);
+            Gauge.builder("gateway.concurrency.inflight", group.limiter(), GradientConcurrencyLimiter::getInflight)
+                    .tag("group", name).register(meterRegistry);
+            FunctionCounter.builder("gateway.concurrency.requests", group.accepted(), LongAdder::sum)
+                    .tag("group", name).tag("outcome", "accepted").register(meterRegistry);
+            FunctionCounter.builder("gateway.concurrency.requests", group.shed(), LongAdder::sum)
+                    .tag("group", name).tag("outcome", "shed").register(meterRegistry);
+        }
+        return group;
+    }
+}
@@ -0,0 +1,186 @@
+package com.abc.gateway_service.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+// Terminal filter for the dashboard route: one client request fans out to the services behind
+// a user's dashboard concurrently and returns their bodies as one JSON document. Each call has
+// its own timeout; a call that fails or times out only leaves its section null and adds an
+// entry under "errors", so a slow service degrades the dashboard instead of failing it. The
+// caller's bearer token and signed identity headers are forwarded, so every service applies
+// its own authorization exactly as for a direct call. If the user section itself is refused
+// (401/403/404) that status is returned for the whole document.
+@Component
+public class DashboardGatewayFilterFactory extends AbstractGatewayFilterFactory<DashboardGatewayFilterFactory.Config> {
+    private static final Logger log = LoggerFactory.getLogger(DashboardGatewayFilterFactory.class);
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final EdgeJwtVerifier verifier;
+    private final Map<String, String> baseUrls;
+
+    public static class Config {
+        private Duration timeout = Duration.ofSeconds(2);
+        // Page size for the list sections
+        private int size = 5;
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public Config setTimeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public Config setSize(int size) {
+            this.size = size;
+            return this;
+        }
+    }
+
+    private record Section(String name, JsonNode body, int status, String error) {
+    }
+
+    private record Dashboard(HttpStatus status, Map<String, Object> document) {
+    }
+
+    // Services are addressed by discovery id (lb://...) through the load-balanced builder
+    public DashboardGatewayFilterFactory(@LoadBalanced WebClient.Builder webClientBuilder,
+                                         ObjectMapper objectMapper,
+                                         EdgeJwtVerifier verifier,
+                                         @Value("${app.dashboard.user-service-url:lb://user-service}") String userServiceUrl,
+                                         @Value("${app.dashboard.exam-service-url:lb://exam-service}") String examServiceUrl,
+                                         @Value("${app.dashboard.career-service-url:lb://career-service}") String careerServiceUrl,
+                                         @Value("${app.dashboard.news-service-url:lb://news-service}") String newsServiceUrl) {
+        super(Config.class);
+        this.webClient = webClientBuilder.build();
+        this.objectMapper = objectMapper;
+        this.verifier = verifier;
+        this.baseUrls = Map.of("user", userServiceUrl, "exam", examServiceUrl,
+                "career", careerServiceUrl, "news", newsServiceUrl);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            String auth = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            EdgeJwtVerifier.Identity identity = auth != null && auth.startsWith("Bearer ")
+                    ? verifier.verify(auth.substring(7))
+                    : null;
+            // /dashboard/me is the caller's own dashboard; /dashboard/users/{userId} anyone's the services allow
+            String userId = ServerWebExchangeUtils.getUriTemplateVariables(exchange).get("userId");
+            if (userId == null && identity != null) {
+                userId = identity.userId();
+            }
+            if (userId == null || userId.isEmpty() || userId.length() > 18 || !userId.chars().allMatch(Character::isDigit)) {
+                return error(exchange.getResponse(), userId == null ? HttpStatus.UNAUTHORIZED : HttpStatus.BAD_REQUEST);
+            }
+            int size = config.getSize();
+            List<Mono<Section>> calls = List.of(
+                    fetch("user", "user", "/users/" + userId, auth, identity, config),
+                    fetch("examResults", "exam", "/exams/results/user/" + userId + "?size=" + size, auth, identity, config),
+                    fetch("examRegistrations", "exam", "/exams/registrations/user/" + userId + "?size=" + size, auth, identity, config),
+                    fetch("careerPreferences", "career", "/career/preferences/" + userId + "?size=" + size, auth, identity, config),
+                    fetch("news", "news", "/news?size=" + size, auth, identity, config));
+            String id = userId;
+            return Mono.zip(calls, results -> merge(id, results))
+                    .flatMap(dashboard -> write(exchange.getResponse(), dashboard));
+        };
+    }
+
+    private Mono<Section> fetch(String name, String service, String path, String auth,
+                                EdgeJwtVerifier.Identity identity, Config config) {
+        return webClient.get()
+                .uri(baseUrls.get(service) + path)
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    if (auth != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, auth);
+                        headers.set("X-User-Authorization", auth);
+                    }
+                    if (identity != null) identity.applyTo(headers);
+                })
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(config.getTimeout())
+                .map(body -> new Section(name, body, 200, null))
+                .defaultIfEmpty(new Section(name, null, 200, null))
+                .onErrorResume(e -> {
+                    if (e instanceof WebClientResponseException response) {
+                        return Mono.just(new Section(name, null, response.getStatusCode().value(), response.getStatusText()));
+                    }
+                    if (e instanceof TimeoutException) {
+                        return Mono.just(new Section(name, null, HttpStatus.GATEWAY_TIMEOUT.value(), "timed out"));
+                    }
+                    log.debug("Dashboard call {} failed: {}", path, e.getMessage());
+                    return Mono.just(new Section(name, null, HttpStatus.BAD_GATEWAY.value(), "unavailable"));
+                });
+    }
+
+    private Dashboard merge(String userId, Object[] results) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        Map<String, Object> errors = new LinkedHashMap<>();
+        document.put("userId", Long.valueOf(userId));
+        for (Object result : results) {
+            Section section = (Section) result;
+            document.put(section.name(), section.body());
+            if (section.error() != null) {
+                errors.put(section.name(), Map.of("status", section.status(), "message", section.error()));
+            }
+        }
+        document.put("partial", !errors.isEmpty());
+        document.put("errors", errors);
+        // results keep the order of the calls, so the user section is first
+        int userStatus = ((Section) results[0]).status();
+        HttpStatus status = switch (userStatus) {
+            case 401, 403, 404 -> HttpStatus.valueOf(userStatus);
+            default -> errors.size() == results.length ? HttpStatus.BAD_GATEWAY : HttpStatus.OK;
+        };
+        return new Dashboard(status, document);
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, Dashboard dashboard) {
+        response.setStatusCode(dashboard.status());
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setCacheControl("no-store");
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(dashboard.document());
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+    }
+
+    private static Mono<Void> error(ServerHttpResponse response, HttpStatus status) {
+        response.setStatusCode(status);
+        return response.setComplete();
+    }
+}
@@ -0,0 +1,132 @@
+package com.abc.gateway_service.config;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Verification keys for edge JWT checks. RS256 keys come from auth-service's JWK set and are
+// cached per kid in an immutable map swapped on refresh. The gateway never blocks an event
+// loop on a fetch: an unknown kid starts a background refetch (at most once per
+// min-refresh-interval) and that token is passed through unverified, so the service behind
+// the gateway verifies it itself. HS256 is accepted only while jwt.accept-hs256 is on.
+@Component
+public class EdgeJwksKeyLocator extends LocatorAdapter<Key> {
+    private static final Logger log = LoggerFactory.getLogger(EdgeJwksKeyLocator.class);
+
+    private final WebClient webClient;
+    private final String jwksUri;
+    private final Key legacySecret;
+    private final long minRefreshIntervalMillis;
+    private final AtomicBoolean fetching = new AtomicBoolean();
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastFetchAt;
+
+    public EdgeJwksKeyLocator(WebClient.Builder webClientBuilder,
+                              @Value("${jwt.jwks-uri:http://auth-service:8081/.well-known/jwks.json}") String jwksUri,
+                              @Value("${jwt.jwks-min-refresh-interval-ms:30000}") long minRefreshIntervalMillis,
+                              @Value("${jwt.accept-hs256:false}") boolean acceptHs256,
+                              @Value("${jwt.secret:}") String jwtSecret) {
+        this.webClient = webClientBuilder.build();
+        this.jwksUri = jwksUri;
+        this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+        this.legacySecret = acceptHs256 ? hmacKey(jwtSecret) : null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prefetch() {
+        refresh();
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String alg = header.getAlgorithm();
+        if ("HS256".equals(alg)) {
+            if (legacySecret != null) return legacySecret;
+            throw new UnsupportedJwtException("HS256 tokens are no longer accepted");
+        }
+        String kid = header.getKeyId();
+        PublicKey key = kid == null ? null : keys.get(kid);
+        if (key == null) {
+            refresh();
+            throw new UnsupportedJwtException("Unknown signing key " + kid);
+        }
+        return key;
+    }
+
+    private void refresh() {
+        long now = System.currentTimeMillis();
+        if (now - lastFetchAt < minRefreshIntervalMillis || !fetching.compareAndSet(false, true)) return;
+        lastFetchAt = now;
+        webClient.get().uri(jwksUri)
+                .retrieve()
+                .bodyToMono(Map.class)
+                .timeout(Duration.ofSeconds(5))
+                .doFinally(signal -> fetching.set(false))
+                .subscribe(this::load, e -> log.warn("Failed to fetch JWK set from {}: {}", jwksUri, e.getMessage()));
+    }
+
+    private void load(Map<?, ?> body) {
+        if (!(body.get("keys") instanceof List<?> list)) {
+            log.warn("JWK set from {} has no keys", jwksUri);
+            return;
+        }
+        Map<String, PublicKey> loaded = new HashMap<>();
+        for (Object entry : list) {
+            if (entry instanceof Map<?, ?> jwk && "RSA".equals(jwk.get("kty")) && jwk.get("kid") != null
+                    && !"enc".equals(jwk.get("use"))) {
+                try {
+                    loaded.put(String.valueOf(jwk.get("kid")), rsaKey(String.valueOf(jwk.get("n")), String.valueOf(jwk.get("e"))));
+                } catch (GeneralSecurityException | IllegalArgumentException e) {
+                    log.warn("Skipping unreadable JWK {}: {}", jwk.get("kid"), e.getMessage());
+                }
+            }
+        }
+        keys = Map.copyOf(loaded);
+        log.info("Loaded {} signing key(s) from {}", loaded.size(), jwksUri);
+    }
+
+    private static PublicKey rsaKey(String n, String e) throws GeneralSecurityException {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                new BigInteger(1, decoder.decode(n)), new BigInteger(1, decoder.decode(e))));
+    }
+
+    private static Key hmacKey(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("jwt.secret is missing or empty");
+        }
+        byte[] keyBytes;
+        try {
+            keyBytes = Base64.getDecoder().decode(secret);
+        } catch (IllegalArgumentException ex) {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        if (keyBytes.length < 32) {
+            throw new IllegalStateException("jwt.secret must be at least 32 bytes for HS256");
+        }
+        return Keys.hmacShaKeyFor(keyBytes);
+    }
+}
@@ -0,0 +1,132 @@
+package com.abc.gateway_service.config;
+
+import com.abc.service_common.security.IdentitySignature;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Verifies bearer tokens once at the edge, with keys from EdgeJwksKeyLocator. A verified
+// token is cached under its SHA-256 digest until its own exp, so repeat requests with the
+// same token cost one hash and a map lookup. The result is forwarded as X-User-Id /
+// X-User-Roles / X-User-Expires plus an HMAC over those values, which downstream services
+// can check instead of re-verifying the JWT. Signing is service-common's IdentitySignature,
+// the same code the services verify with.
+@Component
+public class EdgeJwtVerifier {
+    private static final Logger log = LoggerFactory.getLogger(EdgeJwtVerifier.class);
+
+    public static final String USER_ID = IdentitySignature.USER_ID;
+    public static final String USER_ROLES = IdentitySignature.USER_ROLES;
+    public static final String USER_EXPIRES = IdentitySignature.USER_EXPIRES;
+    public static final String USER_SIGNATURE = IdentitySignature.USER_SIGNATURE;
+    public static final List<String> IDENTITY_HEADERS = List.of(USER_ID, USER_ROLES, USER_EXPIRES, USER_SIGNATURE);
+
+    // Tokens without an exp claim are still accepted, but their signed headers only live this long
+    private static final long DEFAULT_TTL_SECONDS = 60;
+
+    private final JwtParser parser;
+    // Its own secret: services trusting the headers must not accept ones minted with the JWT secret
+    private final IdentitySignature identitySignature;
+    private final int maxEntries;
+    private final Map<String, Identity> cache = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    public record Identity(String userId, String roles, long expiresAt, String signature) {
+        public void applyTo(HttpHeaders headers) {
+            headers.set(USER_ID, userId);
+            headers.set(USER_ROLES, roles);
+            headers.set(USER_EXPIRES, Long.toString(expiresAt));
+            headers.set(USER_SIGNATURE, signature);
+        }
+    }
+
+    public EdgeJwtVerifier(EdgeJwksKeyLocator keyLocator,
+                           @Value("${app.edge-auth.identity-secret:}") String identitySecret,
+                           @Value("${jwt.secret:}") String jwtSecret,
+                           @Value("${app.edge-auth.cache-max-entries:100000}") int maxEntries) {
+        this.parser = Jwts.parser().keyLocator(keyLocator).build();
+        this.identitySignature = new IdentitySignature(identitySecret, jwtSecret, "app.edge-auth.identity-secret");
+        this.maxEntries = maxEntries;
+    }
+
+    // Null when the token is malformed, badly signed or expired
+    public Identity verify(String token) {
+        long now = Instant.now().getEpochSecond();
+        String digest = digest(token);
+        Identity cached = cache.get(digest);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                return cached;
+            }
+            cache.remove(digest, cached);
+        }
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Edge JWT verification failed: {}", e.getMessage());
+            return null;
+        }
+        if (claims.getSubject() == null) {
+            return null;
+        }
+        List<?> roles = claims.get("roles", List.class);
+        String roleList = roles == null ? "" : String.join(",", roles.stream().map(String::valueOf).toList());
+        long expiresAt = claims.getExpiration() != null
+                ? claims.getExpiration().toInstant().getEpochSecond()
+                : now + DEFAULT_TTL_SECONDS;
+        Identity identity = new Identity(claims.getSubject(), roleList, expiresAt,
+                identitySignature.sign(claims.getSubject(), roleList, expiresAt));
+        if (cache.size() >= maxEntries) {
+            evict(now);
+        }
+        cache.put(digest, identity);
+        return identity;
+    }
+
+    public int cacheSize() {
+        return cache.size();
+    }
+
+    // Drops expired entries; if the cache is still full of live tokens it is simply cleared,
+    // which only costs one re-verification per active token.
+    private void evict(long now) {
+        if (!sweeping.compareAndSet(false, true)) return;
+        try {
+            for (Iterator<Identity> it = cache.values().iterator(); it.hasNext(); ) {
+                if (it.next().expiresAt() <= now) it.remove();
+            }
+            if (cache.size() >= maxEntries) {
+                cache.clear();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
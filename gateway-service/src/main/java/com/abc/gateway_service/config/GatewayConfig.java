@@ -1,13 +1,20 @@
 package com.abc.gateway_service.config;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Scope;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
@@ -16,22 +23,37 @@ import java.util.List;
 @Configuration
 public class GatewayConfig {
 
+    // Identity headers are only ever set by the gateway; drop anything a client sent on every
+    // route, including routes that don't run AddUserInfoToHeader.
+    @Bean
+    public GlobalFilter stripIdentityHeaders() {
+        return new StripIdentityHeadersFilter();
+    }
+
     // Equivalent of AddUserInfoToHeader filter name used in config-repo
     @Bean(name = "AddUserInfoToHeader")
-    public AbstractGatewayFilterFactory<Object> addUserInfoToHeader() {
+    public AbstractGatewayFilterFactory<Object> addUserInfoToHeader(EdgeJwtVerifier verifier) {
         return new AbstractGatewayFilterFactory<>() {
             @Override
             public GatewayFilter apply(Object config) {
                 return (exchange, chain) -> {
-                    // Forward Authorization header as-is; in future decode JWT and add claims
                     HttpHeaders headers = exchange.getRequest().getHeaders();
                     String auth = headers.getFirst(HttpHeaders.AUTHORIZATION);
+                    // Invalid tokens pass through without identity headers, so downstream
+                    // services treat the request as anonymous exactly as before
+                    EdgeJwtVerifier.Identity identity = auth != null && auth.startsWith("Bearer ")
+                            ? verifier.verify(auth.substring(7))
+                            : null;
                     ServerWebExchange mutated = exchange.mutate()
-                            .request(builder -> {
+                            .request(builder -> builder.headers(h -> {
+                                EdgeJwtVerifier.IDENTITY_HEADERS.forEach(h::remove);
                                 if (auth != null) {
-                                    builder.header("X-User-Authorization", auth);
+                                    h.set("X-User-Authorization", auth);
+                                }
+                                if (identity != null) {
+                                    identity.applyTo(h);
                                 }
-                            })
+                            }))
                             .build();
                     return chain.filter(mutated);
                 };
@@ -44,11 +66,69 @@ public class GatewayConfig {
         };
     }
 
+    private static final class StripIdentityHeadersFilter implements GlobalFilter, Ordered {
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            HttpHeaders headers = exchange.getRequest().getHeaders();
+            if (EdgeJwtVerifier.IDENTITY_HEADERS.stream().noneMatch(headers::containsKey)) {
+                return chain.filter(exchange);
+            }
+            return chain.filter(exchange.mutate()
+                    .request(builder -> builder.headers(h -> EdgeJwtVerifier.IDENTITY_HEADERS.forEach(h::remove)))
+                    .build());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    // Declaring a WebClient.Builder makes Boot's back off, so the plain one (direct URLs, e.g.
+    // gossip to peer addresses) is declared here too, customized the way Boot would
+    @Bean
+    @Primary
+    @Scope("prototype")
+    public WebClient.Builder webClientBuilder(ObjectProvider<WebClientCustomizer> customizers) {
+        return customized(customizers);
+    }
+
+    // Resolves lb://service-id through discovery, for the gateway's own calls to the services
+    @Bean
+    @LoadBalanced
+    @Scope("prototype")
+    public WebClient.Builder loadBalancedWebClientBuilder(ObjectProvider<WebClientCustomizer> customizers) {
+        return customized(customizers);
+    }
+
+    private static WebClient.Builder customized(ObjectProvider<WebClientCustomizer> customizers) {
+        WebClient.Builder builder = WebClient.builder();
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder;
+    }
+
     // Key resolver bean name to match "@remoteAddrKeyResolver" in config-repo
     @Bean(name = "remoteAddrKeyResolver")
-    public org.springframework.cloud.gateway.filter.ratelimit.KeyResolver remoteAddrKeyResolver() {
-        return exchange -> Mono.just(exchange.getRequest().getRemoteAddress() != null
+    public KeyResolver remoteAddrKeyResolver() {
+        return exchange -> Mono.just(remoteAddress(exchange));
+    }
+
+    // Rate limits per user (JWT sub) for authenticated requests, per client address otherwise;
+    // "@userKeyResolver" in config-repo. Verification is served from EdgeJwtVerifier's cache.
+    @Bean(name = "userKeyResolver")
+    public KeyResolver userKeyResolver(EdgeJwtVerifier verifier) {
+        return exchange -> {
+            String auth = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            EdgeJwtVerifier.Identity identity = auth != null && auth.startsWith("Bearer ")
+                    ? verifier.verify(auth.substring(7))
+                    : null;
+            return Mono.just(identity != null ? "user:" + identity.userId() : "ip:" + remoteAddress(exchange));
+        };
+    }
+
+    private static String remoteAddress(ServerWebExchange exchange) {
+        return exchange.getRequest().getRemoteAddress() != null
                 ? exchange.getRequest().getRemoteAddress().getAddress().getHostAddress()
-                : "unknown");
+                : "unknown";
     }
 }
@@ -0,0 +1,125 @@
+package com.abc.gateway_service.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+// Concurrency limit that follows the backend's latency, in the style of the gradient limiters
+// in Netflix's concurrency-limits. Response times are averaged per window, and a fast and a
+// slow moving average of those window averages are kept, so the baseline spans minutes
+// whatever the request rate. While the fast one stays within tolerance of the slow one the
+// limit grows by about sqrt(limit) per window, and once requests start queueing in the backend
+// (fast average rising) the limit shrinks in proportion, down to half per window. Failed or
+// timed-out calls cut the limit multiplicatively. Admission is a CAS on the in-flight count.
+public class GradientConcurrencyLimiter {
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    // Roughly the last 10 and the last 600 windows: a few seconds against a few minutes
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_ALPHA = 2.0 / (600 + 1);
+    // Latency may grow this much over the long-term average before the limit backs off
+    private static final double TOLERANCE = 1.5;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final LongSupplier clock;
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private volatile int limit;
+    // Guarded by this
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+    private long windowStart;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInflight;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing) {
+        this(initialLimit, minLimit, maxLimit, smoothing, System::nanoTime);
+    }
+
+    GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, LongSupplier clock) {
+        this.clock = clock;
+        this.windowStart = clock.getAsLong();
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    // share < 1 keeps part of the limit free for higher-priority callers
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess(long rttNanos) {
+        int inflightAtRelease = inflight.getAndDecrement();
+        sample(rttNanos, inflightAtRelease);
+    }
+
+    public void onDropped() {
+        inflight.decrementAndGet();
+        synchronized (this) {
+            setLimit(estimatedLimit * DROP_BACKOFF);
+        }
+    }
+
+    // Cancelled by the client: says nothing about the backend
+    public void onIgnored() {
+        inflight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private synchronized void sample(long rttNanos, int inflightAtRelease) {
+        if (rttNanos <= 0) return;
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInflight = Math.max(windowMaxInflight, inflightAtRelease);
+        long now = clock.getAsLong();
+        if (windowSamples < MIN_WINDOW_SAMPLES || now - windowStart < WINDOW_NANOS) return;
+
+        double rtt = (double) windowRttSum / windowSamples;
+        int maxInflight = windowMaxInflight;
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInflight = 0;
+
+        shortRtt = shortRtt == 0 ? rtt : shortRtt + (rtt - shortRtt) * SHORT_ALPHA;
+        longRtt = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) * LONG_ALPHA;
+        // Load has dropped well below what the slow average remembers; let it catch up
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        // Too little traffic to say anything about the limit
+        if (maxInflight < estimatedLimit / 2) return;
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        setLimit(estimatedLimit * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    private void setLimit(double value) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, value));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,242 @@
+package com.abc.gateway_service.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-process token buckets for RequestRateLimiter, so a decision is a map lookup and a short
+// synchronized refill-and-take on one bucket instead of a Redis round trip. Buckets are per
+// route and per KeyResolver key; each route has its own ConcurrentHashMap, whose striping
+// keeps unrelated keys from contending. Per-route limits are the local-rate-limiter.* args of
+// the route's RequestRateLimiter filter (config-repo); routes without them use the defaults.
+//
+// Limits are per gateway instance. With app.rate-limit.cluster.enabled, RateLimitGossip
+// periodically sends each instance's local consumption to its peers, which take the same
+// number of tokens from their own buckets, so a key's cluster-wide rate converges on the
+// configured one within a gossip interval or so.
+@Primary
+@Component
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    private final Config defaultConfig;
+    private final boolean clustered;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteBuckets> routes = new ConcurrentHashMap<>();
+    // Buckets with local consumption not yet gossiped; each bucket is queued at most once
+    private final Queue<Bucket> unshared = new ConcurrentLinkedQueue<>();
+
+    public static class Config {
+        // Tokens added per second
+        private int replenishRate = 10;
+        private int burstCapacity = 20;
+        private int requestedTokens = 1;
+        private boolean includeHeaders = true;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Config setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Config setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+
+        public boolean isIncludeHeaders() {
+            return includeHeaders;
+        }
+
+        public Config setIncludeHeaders(boolean includeHeaders) {
+            this.includeHeaders = includeHeaders;
+            return this;
+        }
+    }
+
+    // Consumption reported by one instance for one route, keyed by resolver key
+    public record Consumption(String routeId, Map<String, Double> tokensByKey) {
+    }
+
+    public LocalRateLimiter(ConfigurationService configurationService,
+                            @Value("${app.rate-limit.default-replenish-rate:10}") int defaultReplenishRate,
+                            @Value("${app.rate-limit.default-burst-capacity:20}") int defaultBurstCapacity,
+                            @Value("${app.rate-limit.cluster.enabled:false}") boolean clustered,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.defaultConfig = new Config().setReplenishRate(defaultReplenishRate).setBurstCapacity(defaultBurstCapacity);
+        this.clustered = clustered;
+        this.meterRegistry = meterRegistry.getIfAvailable();
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        RouteBuckets route = routes.get(routeId);
+        if (route == null) {
+            route = routes.computeIfAbsent(routeId, this::newRoute);
+        }
+        Bucket bucket = route.buckets.get(id);
+        if (bucket == null) {
+            bucket = route.buckets.computeIfAbsent(id, key -> new Bucket(routeId, key, config.burstCapacity));
+        }
+        long remaining = bucket.tryTake(config, System.nanoTime());
+        boolean allowed = remaining >= 0;
+        (allowed ? route.allowed : route.rejected).increment();
+        if (!config.includeHeaders) {
+            return Mono.just(new Response(allowed, Map.of()));
+        }
+        return Mono.just(new Response(allowed, Map.of(
+                REMAINING_HEADER, Long.toString(Math.max(remaining, 0)),
+                REPLENISH_RATE_HEADER, Integer.toString(config.replenishRate),
+                BURST_CAPACITY_HEADER, Integer.toString(config.burstCapacity))));
+    }
+
+    // Local consumption since the last call, grouped by route; used by RateLimitGossip
+    public List<Consumption> drainUnshared() {
+        Map<String, Map<String, Double>> byRoute = new HashMap<>();
+        Bucket bucket;
+        while ((bucket = unshared.poll()) != null) {
+            double taken = bucket.drainUnshared();
+            if (taken > 0) {
+                byRoute.computeIfAbsent(bucket.routeId, r -> new HashMap<>()).merge(bucket.key, taken, Double::sum);
+            }
+        }
+        List<Consumption> consumption = new ArrayList<>(byRoute.size());
+        byRoute.forEach((routeId, tokens) -> consumption.add(new Consumption(routeId, tokens)));
+        return consumption;
+    }
+
+    // Applies consumption gossiped by another instance
+    public void applyRemote(Consumption consumption) {
+        Config config = getConfig().getOrDefault(consumption.routeId(), defaultConfig);
+        RouteBuckets route = routes.computeIfAbsent(consumption.routeId(), this::newRoute);
+        long now = System.nanoTime();
+        consumption.tokensByKey().forEach((key, tokens) -> {
+            if (tokens == null || !(tokens > 0)) return;
+            route.buckets.computeIfAbsent(key, k -> new Bucket(consumption.routeId(), k, config.burstCapacity))
+                    .takeRemote(config, tokens, now);
+        });
+    }
+
+    // A bucket that has had time to refill completely is the same as no bucket
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        routes.forEach((routeId, route) -> {
+            Config config = getConfig().getOrDefault(routeId, defaultConfig);
+            long idleNanos = TimeUnit.MILLISECONDS.toNanos(
+                    1000L * config.burstCapacity / Math.max(1, config.replenishRate) + 1000);
+            route.buckets.values().removeIf(bucket -> bucket.idleSince(now, idleNanos));
+        });
+    }
+
+    private RouteBuckets newRoute(String routeId) {
+        RouteBuckets route = new RouteBuckets();
+        if (meterRegistry != null) {
+            FunctionCounter.builder("gateway.rate_limit.requests", route.allowed, LongAdder::sum)
+                    .tag("route", routeId).tag("outcome", "allowed").register(meterRegistry);
+            FunctionCounter.builder("gateway.rate_limit.requests", route.rejected, LongAdder::sum)
+                    .tag("route", routeId).tag("outcome", "rejected").register(meterRegistry);
+            Gauge.builder("gateway.rate_limit.buckets", route.buckets, Map::size)
+                    .tag("route", routeId).register(meterRegistry);
+        }
+        return route;
+    }
+
+    private static final class RouteBuckets {
+        final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+        final LongAdder allowed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+    }
+
+    private final class Bucket {
+        final String routeId;
+        final String key;
+        private double tokens;
+        private long refilledAt;
+        private double unsharedTokens;
+
+        Bucket(String routeId, String key, int burstCapacity) {
+            this.routeId = routeId;
+            this.key = key;
+            this.tokens = burstCapacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        // Tokens left after taking, or -1 when there weren't enough
+        synchronized long tryTake(Config config, long now) {
+            refill(config, now);
+            if (tokens < config.requestedTokens) {
+                return -1;
+            }
+            tokens -= config.requestedTokens;
+            if (clustered) {
+                if (unsharedTokens == 0) unshared.add(this);
+                unsharedTokens += config.requestedTokens;
+            }
+            return (long) tokens;
+        }
+
+        // Another instance's requests count against this bucket too, but never push it below empty
+        synchronized void takeRemote(Config config, double taken, long now) {
+            refill(config, now);
+            tokens = Math.max(0, tokens - taken);
+        }
+
+        synchronized double drainUnshared() {
+            double taken = unsharedTokens;
+            unsharedTokens = 0;
+            return taken;
+        }
+
+        synchronized boolean idleSince(long now, long idleNanos) {
+            return unsharedTokens == 0 && now - refilledAt >= idleNanos;
+        }
+
+        private void refill(Config config, long now) {
+            long elapsed = now - refilledAt;
+            if (elapsed > 0) {
+                tokens = Math.min(config.burstCapacity, tokens + elapsed * config.replenishRate / 1e9);
+                refilledAt = now;
+            }
+        }
+    }
+}
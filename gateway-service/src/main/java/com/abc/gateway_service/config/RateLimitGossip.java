@@ -0,0 +1,174 @@
+package com.abc.gateway_service.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// Approximate cluster-wide rate limiting: every gossip interval each gateway posts the tokens
+// it took locally since the last round to its peers, and applies what the peers post to its
+// own buckets. Peers are app.rate-limit.cluster.peers plus, when discovery is available, the
+// registered instances of this service; a node ignores its own messages. Messages are signed
+// with an HMAC of the body and dropped when stale, so clients can't drain other keys' buckets
+// through the endpoint. Delivery is best effort; a lost round only makes limits looser.
+@Configuration
+@ConditionalOnProperty(name = "app.rate-limit.cluster.enabled", havingValue = "true")
+public class RateLimitGossip {
+    private static final Logger log = LoggerFactory.getLogger(RateLimitGossip.class);
+
+    public static final String GOSSIP_PATH = "/internal/rate-limit/gossip";
+    public static final String SIGNATURE_HEADER = "X-Gossip-Signature";
+
+    private final LocalRateLimiter rateLimiter;
+    private final ObjectProvider<DiscoveryClient> discoveryClient;
+    private final ObjectMapper objectMapper;
+    private final WebClient webClient;
+    private final SecretKeySpec key;
+    private final String serviceId;
+    private final List<String> staticPeers;
+    private final long maxAgeMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public record Message(String node, long sentAt, List<LocalRateLimiter.Consumption> consumption) {
+    }
+
+    public RateLimitGossip(LocalRateLimiter rateLimiter,
+                           ObjectProvider<DiscoveryClient> discoveryClient,
+                           ObjectMapper objectMapper,
+                           WebClient.Builder webClientBuilder,
+                           @Value("${app.rate-limit.cluster.secret:${app.edge-auth.identity-secret:}}") String secret,
+                           @Value("${spring.application.name}") String serviceId,
+                           @Value("${app.rate-limit.cluster.peers:}") List<String> staticPeers,
+                           @Value("${app.rate-limit.cluster.gossip-interval-ms:1000}") long gossipIntervalMillis) {
+        this.rateLimiter = rateLimiter;
+        this.discoveryClient = discoveryClient;
+        this.objectMapper = objectMapper;
+        this.webClient = webClientBuilder.build();
+        this.key = new SecretKeySpec(keyBytes(secret), "HmacSHA256");
+        this.serviceId = serviceId;
+        this.staticPeers = staticPeers.stream().filter(peer -> !peer.isBlank()).toList();
+        this.maxAgeMillis = Math.max(5000, gossipIntervalMillis * 5);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> rateLimitGossipRoute() {
+        return RouterFunctions.route()
+                .POST(GOSSIP_PATH, this::receive)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.cluster.gossip-interval-ms:1000}")
+    public void send() {
+        List<LocalRateLimiter.Consumption> consumption = rateLimiter.drainUnshared();
+        if (consumption.isEmpty()) return;
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new Message(nodeId, System.currentTimeMillis(), consumption));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to encode rate limit gossip: {}", e.getMessage());
+            return;
+        }
+        String signature = sign(body);
+        for (String peer : peers()) {
+            webClient.post()
+                    .uri(peer + GOSSIP_PATH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(SIGNATURE_HEADER, signature)
+                    .bodyValue(body)
+                    .retrieve()
+                    .toBodilessEntity()
+                    .timeout(Duration.ofSeconds(2))
+                    .subscribe(response -> { }, e -> log.debug("Rate limit gossip to {} failed: {}", peer, e.getMessage()));
+        }
+    }
+
+    private Mono<ServerResponse> receive(ServerRequest request) {
+        String signature = request.headers().firstHeader(SIGNATURE_HEADER);
+        return request.bodyToMono(byte[].class)
+                .flatMap(body -> {
+                    if (signature == null || !MessageDigest.isEqual(
+                            sign(body).getBytes(StandardCharsets.US_ASCII), signature.getBytes(StandardCharsets.US_ASCII))) {
+                        return ServerResponse.status(HttpStatus.FORBIDDEN).build();
+                    }
+                    Message message;
+                    try {
+                        message = objectMapper.readValue(body, Message.class);
+                    } catch (IOException e) {
+                        return ServerResponse.badRequest().build();
+                    }
+                    if (!nodeId.equals(message.node())
+                            && System.currentTimeMillis() - message.sentAt() <= maxAgeMillis
+                            && message.consumption() != null) {
+                        message.consumption().forEach(rateLimiter::applyRemote);
+                    }
+                    return ServerResponse.accepted().build();
+                });
+    }
+
+    private Set<String> peers() {
+        Set<String> peers = new LinkedHashSet<>(staticPeers);
+        DiscoveryClient discovery = discoveryClient.getIfAvailable();
+        if (discovery != null) {
+            try {
+                discovery.getInstances(serviceId).forEach(instance -> peers.add(instance.getUri().toString()));
+            } catch (RuntimeException e) {
+                log.debug("Failed to list {} instances: {}", serviceId, e.getMessage());
+            }
+        }
+        return peers;
+    }
+
+    private String sign(byte[] body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static byte[] keyBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("app.rate-limit.cluster.secret is missing or empty");
+        }
+        byte[] keyBytes;
+        try {
+            keyBytes = Base64.getDecoder().decode(secret);
+        } catch (IllegalArgumentException ex) {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        if (keyBytes.length < 32) {
+            throw new IllegalStateException("app.rate-limit.cluster.secret must be at least 32 bytes");
+        }
+        return keyBytes;
+    }
+}
@@ -0,0 +1,292 @@
+package com.abc.gateway_service.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Caches whole 200 responses of public GET routes at the gateway ("ResponseCache" filter with
+// a per-route ttl arg). Entries are keyed by path, query, Accept and Accept-Encoding and held
+// in a byte-bounded Caffeine cache, whose W-TinyLFU admission keeps one-off URLs from pushing
+// out the hot ones. A fresh entry is served without touching the backend. A stale entry whose
+// ETag came from the backend is revalidated with If-None-Match, so an unchanged resource costs
+// a 304 instead of a body; other callers get the stale copy meanwhile. Concurrent misses for a
+// key share one upstream request. Clients' own If-None-Match is answered here.
+//
+// Only apply this to routes whose responses don't depend on the caller: the Authorization
+// header is not part of the key.
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    // Response headers worth replaying; CORS and hop-by-hop headers are the gateway's own business
+    private static final List<String> STORED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.CONTENT_ENCODING, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL);
+
+    private final Cache<String, CachedResponse> cache;
+    private final int maxEntryBytes;
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder revalidated = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+
+    public static class Config {
+        private Duration ttl = Duration.ofMinutes(1);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public Config setTtl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+    }
+
+    // etagFromUpstream: only then can the backend answer a conditional request for it
+    private record CachedResponse(HttpHeaders headers, byte[] body, String etag, boolean etagFromUpstream,
+                                  long storedAt, long expiresAt) {
+        boolean isFresh(long now) {
+            return now < expiresAt;
+        }
+
+        CachedResponse revalidated(long now, Duration ttl) {
+            return new CachedResponse(headers, body, etag, etagFromUpstream, now, now + ttl.toMillis());
+        }
+    }
+
+    public ResponseCacheGatewayFilterFactory(@Value("${app.response-cache.max-bytes:67108864}") long maxBytes,
+                                             @Value("${app.response-cache.max-entry-bytes:1048576}") int maxEntryBytes,
+                                             @Value("${app.response-cache.max-stale:1h}") Duration maxStale,
+                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        super(Config.class);
+        this.maxEntryBytes = maxEntryBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length)
+                .expireAfterWrite(maxStale)
+                .build();
+        meterRegistry.ifAvailable(this::bindTo);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl");
+    }
+
+    // Ordered ahead of NettyWriteResponseFilter so the upstream body is written through the
+    // capturing response below
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+            String key = key(exchange);
+            String clientEtag = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+            long now = System.currentTimeMillis();
+            CachedResponse cached = cache.getIfPresent(key);
+            if (cached != null && cached.isFresh(now)) {
+                hits.increment();
+                return write(exchange.getResponse(), cached, clientEtag, "HIT");
+            }
+
+            Sinks.One<CachedResponse> sink = Sinks.one();
+            Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+            if (leader != null) {
+                if (cached != null) {
+                    stale.increment();
+                    return write(exchange.getResponse(), cached, clientEtag, "STALE");
+                }
+                // Wait for the leader; if it produced nothing cacheable, go upstream ourselves
+                collapsed.increment();
+                return leader.asMono()
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(result -> result.isPresent()
+                                ? write(exchange.getResponse(), result.get(), clientEtag, "HIT")
+                                : chain.filter(exchange));
+            }
+
+            misses.increment();
+            boolean revalidate = cached != null && cached.etagFromUpstream();
+            ServerWebExchange upstream = exchange.mutate()
+                    .request(builder -> builder.headers(headers -> {
+                        // The cache wants a full body to store, or a 304 for the copy it holds
+                        headers.remove(HttpHeaders.IF_NONE_MATCH);
+                        headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                        if (revalidate) headers.set(HttpHeaders.IF_NONE_MATCH, cached.etag());
+                    }))
+                    .response(new CapturingResponse(exchange.getResponse(), key, revalidate ? cached : null,
+                            clientEtag, config.getTtl(), sink))
+                    .build();
+            return chain.filter(upstream)
+                    .doFinally(signal -> {
+                        inFlight.remove(key, sink);
+                        sink.tryEmitEmpty();
+                    });
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+        private final String key;
+        private final CachedResponse revalidating;
+        private final String clientEtag;
+        private final Duration ttl;
+        private final Sinks.One<CachedResponse> sink;
+
+        CapturingResponse(ServerHttpResponse delegate, String key, CachedResponse revalidating,
+                          String clientEtag, Duration ttl, Sinks.One<CachedResponse> sink) {
+            super(delegate);
+            this.key = key;
+            this.revalidating = revalidating;
+            this.clientEtag = clientEtag;
+            this.ttl = ttl;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            long now = System.currentTimeMillis();
+            if (revalidating != null && status != null && status.value() == HttpStatus.NOT_MODIFIED.value()) {
+                revalidated.increment();
+                CachedResponse refreshed = revalidating.revalidated(now, ttl);
+                cache.put(key, refreshed);
+                sink.tryEmitValue(refreshed);
+                return Flux.from(body).doOnNext(DataBufferUtils::release)
+                        .then(Mono.defer(() -> write(getDelegate(), refreshed, clientEtag, "REVALIDATED")));
+            }
+            if (status == null || status.value() != HttpStatus.OK.value() || !isStorable(getHeaders())) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body)
+                    .map(buffer -> {
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        DataBufferUtils.release(buffer);
+                        return bytes;
+                    })
+                    .defaultIfEmpty(new byte[0])
+                    .flatMap(bytes -> {
+                        CachedResponse stored = store(getHeaders(), bytes, now);
+                        // Bodies over max-entry-bytes are still answered from the copy, just not kept
+                        if (bytes.length <= maxEntryBytes) {
+                            cache.put(key, stored);
+                            sink.tryEmitValue(stored);
+                        }
+                        return write(getDelegate(), stored, clientEtag, "MISS");
+                    });
+        }
+
+        private CachedResponse store(HttpHeaders upstreamHeaders, byte[] body, long now) {
+            HttpHeaders headers = new HttpHeaders();
+            for (String name : STORED_HEADERS) {
+                List<String> values = upstreamHeaders.get(name);
+                if (values != null) headers.put(name, List.copyOf(values));
+            }
+            String etag = upstreamHeaders.getETag();
+            boolean fromUpstream = etag != null;
+            if (!fromUpstream) {
+                etag = contentEtag(body);
+                headers.setETag(etag);
+            }
+            return new CachedResponse(HttpHeaders.readOnlyHttpHeaders(headers), body, etag, fromUpstream,
+                    now, now + ttl.toMillis());
+        }
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, CachedResponse cached, String clientEtag, String cacheStatus) {
+        HttpHeaders headers = response.getHeaders();
+        STORED_HEADERS.forEach(headers::remove);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        headers.putAll(cached.headers());
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+        headers.set(HttpHeaders.AGE, Long.toString(Math.max(0, (System.currentTimeMillis() - cached.storedAt()) / 1000)));
+        if (clientEtag != null && matches(clientEtag, cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean isStorable(HttpHeaders headers) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) return false;
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        String strong = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || (value.startsWith("W/") ? value.substring(2) : value).equals(strong)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        String query = exchange.getRequest().getURI().getRawQuery();
+        return exchange.getRequest().getURI().getRawPath()
+                + (query == null ? "" : "?" + query)
+                + "|" + String.join(",", headers.getOrEmpty(HttpHeaders.ACCEPT))
+                + "|" + String.join(",", headers.getOrEmpty(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    private static String contentEtag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 8) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void bindTo(MeterRegistry registry) {
+        Map.of("hit", hits, "miss", misses, "stale", stale, "revalidated", revalidated, "collapsed", collapsed)
+                .forEach((result, counter) -> FunctionCounter.builder("gateway.response_cache.requests", counter, LongAdder::sum)
+                        .tag("result", result).register(registry));
+        Gauge.builder("gateway.response_cache.bytes", cache,
+                        c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .register(registry);
+    }
+}
@@ -3,7 +3,8 @@ package com.abc.gateway_service;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// The identity secret has no default; the gateway refuses to start without one
+@SpringBootTest(properties = "app.edge-auth.identity-secret=bSh6/2bvLX94NBud+1DgmPp2pFkeX/EqKyuNINM00Tw=")
 class GatewayServiceApplicationTests {
 
 	@Test
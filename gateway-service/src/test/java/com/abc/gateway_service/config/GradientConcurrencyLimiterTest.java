@@ -0,0 +1,51 @@
+package com.abc.gateway_service.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GradientConcurrencyLimiterTest {
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    void normalShareLeavesRoomForHighPriority() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(4, 1, 100, 0.2);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire(0.75));
+        }
+        assertFalse(limiter.tryAcquire(0.75));
+        assertTrue(limiter.tryAcquire(1.0));
+        assertFalse(limiter.tryAcquire(1.0));
+    }
+
+    @Test
+    void limitFollowsLatency() {
+        AtomicLong clock = new AtomicLong();
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 5, 200, 0.2, clock::get);
+        // Saturated at steady latency: the limit grows
+        drive(limiter, clock, 200, 10 * MILLIS);
+        int grown = limiter.getLimit();
+        assertTrue(grown > 20, "limit " + grown);
+
+        // The backend starts queueing: latency rises well past tolerance and the limit backs off
+        drive(limiter, clock, 20, 60 * MILLIS);
+        assertTrue(limiter.getLimit() < grown / 2, "limit " + limiter.getLimit() + " after " + grown);
+    }
+
+    // Each round fills the limit and completes every request one window later
+    private static void drive(GradientConcurrencyLimiter limiter, AtomicLong clock, int rounds, long rttNanos) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire(1.0)) {
+                acquired++;
+            }
+            clock.addAndGet(300 * MILLIS);
+            for (int i = 0; i < acquired; i++) {
+                limiter.onSuccess(rttNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.abc.gateway_service.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalRateLimiterTest {
+    private static final int ITERATIONS = 2_000_000;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private LocalRateLimiter limiter(boolean clustered) {
+        return new LocalRateLimiter(null, 1, 5, clustered,
+                new StaticListableBeanFactory(Map.of("registry", registry)).getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    void rejectsOnceBurstIsSpentAndCountsOutcomes() {
+        LocalRateLimiter limiter = limiter(false);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.isAllowed("users", "user:1").block().isAllowed());
+        }
+        assertFalse(limiter.isAllowed("users", "user:1").block().isAllowed());
+        // Other keys have their own bucket
+        assertTrue(limiter.isAllowed("users", "user:2").block().isAllowed());
+
+        assertEquals(6, registry.get("gateway.rate_limit.requests").tag("outcome", "allowed").functionCounter().count());
+        assertEquals(1, registry.get("gateway.rate_limit.requests").tag("outcome", "rejected").functionCounter().count());
+    }
+
+    @Test
+    void gossipedConsumptionDrainsPeerBuckets() {
+        LocalRateLimiter sender = limiter(true);
+        LocalRateLimiter receiver = limiter(true);
+        for (int i = 0; i < 4; i++) {
+            sender.isAllowed("users", "user:1").block();
+        }
+        List<LocalRateLimiter.Consumption> consumption = sender.drainUnshared();
+        assertEquals(List.of(new LocalRateLimiter.Consumption("users", Map.of("user:1", 4.0))), consumption);
+        assertTrue(sender.drainUnshared().isEmpty());
+
+        consumption.forEach(receiver::applyRemote);
+        assertTrue(receiver.isAllowed("users", "user:1").block().isAllowed());
+        assertFalse(receiver.isAllowed("users", "user:1").block().isAllowed());
+    }
+
+    // Run with: mvn test -Dtest=LocalRateLimiterTest -Dbenchmark=true
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void decisionCost() {
+        LocalRateLimiter limiter = limiter(false);
+        String[] keys = new String[1024];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+        for (int i = 0; i < ITERATIONS; i++) {
+            limiter.isAllowed("users", keys[i & 1023]);
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            limiter.isAllowed("users", keys[i & 1023]);
+        }
+        double nanosPerDecision = (double) (System.nanoTime() - started) / ITERATIONS;
+        System.out.printf("LocalRateLimiter: %.0f ns per decision%n", nanosPerDecision);
+    }
+}
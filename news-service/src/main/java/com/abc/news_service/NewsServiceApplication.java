@@ -2,7 +2,10 @@ package com.abc.news_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
 @SpringBootApplication
+@EnableScheduling
 public class NewsServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(NewsServiceApplication.class, args);
@@ -0,0 +1,66 @@
+package com.abc.news_service.config;
+
+import com.abc.service_common.security.GatewayIdentityVerifier;
+import com.abc.service_common.security.VerifiedTokenCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Authenticates from the gateway's signed X-User-* headers when trusted, else from the bearer
+// token. Requests without either stay anonymous; GETs are public and the rest is guarded by
+// SecurityConfig and @PreAuthorize.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final GatewayIdentityVerifier gatewayIdentityVerifier;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestURI = request.getRequestURI();
+        if (requestURI.startsWith("/actuator/") ||
+            requestURI.startsWith("/v3/api-docs") ||
+            requestURI.startsWith("/swagger-ui")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        var gatewayAuthentication = gatewayIdentityVerifier.authenticate(request);
+        if (gatewayAuthentication != null) {
+            SecurityContextHolder.getContext().setAuthentication(gatewayAuthentication);
+            log.debug("JWT Filter - Authentication set from gateway headers for user: {}", gatewayAuthentication.getName());
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String header = request.getHeader("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Authentication authentication = verifiedTokenCache.authenticate(header.substring(7));
+        if (authentication != null) {
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            log.debug("JWT Filter - Authentication set for user: {} with roles: {}",
+                    authentication.getName(), authentication.getAuthorities());
+        } else {
+            log.debug("JWT validation failed for {} {}", request.getMethod(), requestURI);
+            SecurityContextHolder.clearContext();
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,21 @@
+package com.abc.news_service.config;
+
+import com.abc.service_common.votes.VoteCounters;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class VoteConfig {
+
+    // Batched vote counters over the votes ledger; flushed every app.votes.flush-interval-ms
+    @Bean
+    public VoteCounters voteCounters(JdbcTemplate jdbcTemplate,
+                                     @Value("${app.votes.batch-size:500}") int batchSize,
+                                     @Value("${app.votes.capacity:100000}") int capacity,
+                                     @Value("${app.votes.expected-votes:1000000}") long expectedVotes,
+                                     @Value("${app.votes.false-positive-rate:0.001}") double falsePositiveRate) {
+        return new VoteCounters(jdbcTemplate, batchSize, capacity, expectedVotes, falsePositiveRate);
+    }
+}
@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -57,8 +58,8 @@ public class NewsController {
 
     @PostMapping("/{newsId}/vote")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public NewsResponse voteNews(@PathVariable Long newsId, @RequestParam String voteType) {
-        return newsService.voteNews(newsId, voteType);
+    public VoteResponse voteNews(@PathVariable Long newsId, @RequestParam String voteType, Authentication authentication) {
+        return newsService.voteNews(newsId, Long.valueOf(authentication.getName()), voteType);
     }
 
     @GetMapping
@@ -93,6 +94,20 @@ public class NewsController {
         return newsService.listPublishedNews(newsType, pageable);
     }
 
+    @GetMapping("/published/{newsType}/feed")
+    public NewsFeedResponse getPublishedFeed(@PathVariable String newsType,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "20") int size) {
+        return newsService.getPublishedFeed(newsType, cursor, size);
+    }
+
+    @GetMapping("/trending")
+    public java.util.List<TrendingNewsResponse> listTrending(@RequestParam(defaultValue = "NEWS") String newsType,
+                                                             @RequestParam(required = false) Long fieldId,
+                                                             @RequestParam(defaultValue = "20") int limit) {
+        return newsService.listTrending(newsType, fieldId, limit);
+    }
+
     @GetMapping("/moderation/pending")
     @PreAuthorize("hasRole('ADMIN')")
     public Page<NewsResponse> listPendingModeration(Pageable pageable) {
@@ -125,7 +140,27 @@ class RecruitmentController {
 
     @GetMapping("/company/{companyName}")
     public Page<NewsResponse> listRecruitmentsByCompany(@PathVariable String companyName, Pageable pageable) {
-        // This would need a custom query in repository
-        return newsService.listPublishedNews("RECRUITMENT", pageable);
+        return newsService.listRecruitmentsByCompany(companyName, pageable);
+    }
+
+    // Repeat a parameter to select several values of one facet: ?location=Hà Nội&location=HCM
+    @GetMapping("/search")
+    public RecruitmentSearchResponse searchRecruitments(@RequestParam(required = false) java.util.List<String> location,
+                                                        @RequestParam(required = false) java.util.List<String> position,
+                                                        @RequestParam(required = false) java.util.List<String> company,
+                                                        @RequestParam(required = false) java.util.List<String> workingHours,
+                                                        @RequestParam(required = false) java.util.List<String> salary,
+                                                        @RequestParam(required = false) java.util.List<String> experience,
+                                                        @RequestParam(defaultValue = "true") boolean open,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "20") int size) {
+        java.util.Map<String, java.util.List<String>> selected = new java.util.HashMap<>();
+        if (location != null) selected.put("location", location);
+        if (position != null) selected.put("position", position);
+        if (company != null) selected.put("company", company);
+        if (workingHours != null) selected.put("workingHours", workingHours);
+        if (salary != null) selected.put("salary", salary);
+        if (experience != null) selected.put("experience", experience);
+        return newsService.searchRecruitments(selected, open, page, size);
     }
 }
@@ -0,0 +1,15 @@
+package com.abc.news_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCount {
+    // Pass back as the facet's query parameter to select it
+    private String value;
+    private String label;
+    private int count;
+}
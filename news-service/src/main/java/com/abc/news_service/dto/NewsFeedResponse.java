@@ -0,0 +1,16 @@
+package com.abc.news_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NewsFeedResponse {
+    private List<NewsResponse> items;
+    // Pass back as ?cursor= for the next page; null on the last page
+    private String nextCursor;
+}
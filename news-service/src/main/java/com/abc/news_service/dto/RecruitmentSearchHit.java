@@ -0,0 +1,21 @@
+package com.abc.news_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecruitmentSearchHit {
+    private NewsResponse news;
+    // Parsed from the free-text fields; null when they couldn't be read
+    private Double salaryMinMillions;
+    private Double salaryMaxMillions;
+    private Integer experienceYears;
+    private LocalDate deadline;
+}
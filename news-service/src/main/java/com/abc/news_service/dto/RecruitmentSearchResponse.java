@@ -0,0 +1,20 @@
+package com.abc.news_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecruitmentSearchResponse {
+    private List<RecruitmentSearchHit> content;
+    private long totalElements;
+    private int page;
+    private int size;
+    // Per facet, each value's count under the other facets' filters
+    private Map<String, List<FacetCount>> facets;
+}
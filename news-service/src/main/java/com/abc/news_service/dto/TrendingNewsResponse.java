@@ -0,0 +1,14 @@
+package com.abc.news_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingNewsResponse {
+    // Decayed vote activity as of the request; only comparable within one response
+    private double score;
+    private NewsResponse news;
+}
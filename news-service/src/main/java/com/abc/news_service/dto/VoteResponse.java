@@ -0,0 +1,15 @@
+package com.abc.news_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteResponse {
+    private Long id;
+    private String voteType;
+    // False when this user had already cast this vote
+    private boolean counted;
+}
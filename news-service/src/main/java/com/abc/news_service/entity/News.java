@@ -28,7 +28,10 @@ public class News {
     private LocalDateTime publishedAt;
     private LocalDateTime expiredAt;
     private Long approvedBy;
+    // Written only by VoteCounters' "SET col = col + ?" flush; entity saves must not overwrite them
+    @Column(updatable = false)
     private Integer usefulVote;
+    @Column(updatable = false)
     private Integer interestVote; // For recruitment news
     private String companyName;
     private String location;
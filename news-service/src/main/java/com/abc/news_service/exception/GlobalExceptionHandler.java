@@ -1,5 +1,6 @@
 package com.abc.news_service.exception;
 
+import com.abc.service_common.votes.VoteCounters;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -161,6 +162,23 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(VoteCounters.VotesBackloggedException.class)
+    public ResponseEntity<ErrorResponse> handleVotesBackloggedException(
+            VoteCounters.VotesBackloggedException ex,
+            HttpServletRequest request) {
+        ErrorResponse error = ErrorResponse.builder()
+                .type("https://errors.abc.com/VOTES_UNAVAILABLE")
+                .title("Votes Unavailable")
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .detail(ex.getMessage())
+                .instance(request.getRequestURI())
+                .errorCode("VOTES_UNAVAILABLE")
+                .traceId(UUID.randomUUID().toString())
+                .timestamp(Instant.now())
+                .build();
+        return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(
             RuntimeException ex,
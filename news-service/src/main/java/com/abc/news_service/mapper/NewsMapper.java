@@ -8,4 +8,5 @@ import org.mapstruct.Mapper;
 public interface NewsMapper {
     News toEntity(NewsRequest req);
     NewsResponse toResponse(News entity);
+    NewsResponse copy(NewsResponse source);
 }
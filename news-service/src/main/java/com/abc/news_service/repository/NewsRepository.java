@@ -2,8 +2,16 @@ package com.abc.news_service.repository;
 
 import com.abc.news_service.entity.News;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface NewsRepository extends JpaRepository<News, Long> {
     Page<News> findByNewsType(String newsType, Pageable pageable);
@@ -11,4 +19,13 @@ public interface NewsRepository extends JpaRepository<News, Long> {
     Page<News> findByStatus(String status, Pageable pageable);
     Page<News> findByFieldId(Long fieldId, Pageable pageable);
     Page<News> findByNewsTypeAndStatus(String newsType, String status, Pageable pageable);
+
+    List<News> findByStatusIn(Collection<String> statuses);
+
+    // Single UPDATE for a batch of due items; rows re-approved with a later expiry are left alone
+    @Transactional
+    @Modifying
+    @Query("UPDATE News n SET n.status = 'EXPIRED' WHERE n.id IN :ids " +
+            "AND n.status IN ('APPROVED', 'PUBLISHED') AND n.expiredAt <= :now")
+    int expireAll(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 }
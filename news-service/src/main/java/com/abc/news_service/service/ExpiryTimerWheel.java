@@ -0,0 +1,153 @@
+package com.abc.news_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+// Hashed timer wheel for expiry deadlines, after Netty's HashedWheelTimer. Scheduling and
+// cancelling are O(1); one thread advances a slot per tick and hands every id that fell due
+// in that tick to the handler as a single batch. Deadlines are epoch millis and fire within
+// one tick after they pass, never before. Rescheduling an id replaces its earlier deadline.
+@Slf4j
+public class ExpiryTimerWheel {
+    private static final int WHEEL_SIZE = 512;
+
+    private final long tickMillis;
+    private final LongSupplier clock;
+    private final Consumer<List<Long>> handler;
+    private final long startMillis;
+    // Slots are only touched by the thread advancing the wheel; new deadlines go through `added`
+    private final ArrayDeque<Timeout>[] wheel;
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Map<Long, Timeout> byId = new ConcurrentHashMap<>();
+    private long tick;
+    private volatile Thread worker;
+
+    private static final class Timeout {
+        final Long id;
+        final long deadline;
+        long remainingRounds;
+        volatile boolean cancelled;
+
+        Timeout(Long id, long deadline) {
+            this.id = id;
+            this.deadline = deadline;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public ExpiryTimerWheel(long tickMillis, LongSupplier clock, Consumer<List<Long>> handler) {
+        this.tickMillis = tickMillis;
+        this.clock = clock;
+        this.handler = handler;
+        this.startMillis = clock.getAsLong();
+        this.wheel = new ArrayDeque[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+    }
+
+    public void schedule(Long id, long deadlineMillis) {
+        Timeout timeout = new Timeout(id, deadlineMillis);
+        Timeout previous = byId.put(id, timeout);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        added.add(timeout);
+    }
+
+    public void cancel(Long id) {
+        Timeout previous = byId.remove(id);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public synchronized void start(String threadName) {
+        if (worker != null) return;
+        Thread thread = new Thread(this::run, threadName);
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        while (worker == Thread.currentThread()) {
+            long sleep = startMillis + (currentTick() + 1) * tickMillis - clock.getAsLong();
+            if (sleep > 0) {
+                try {
+                    Thread.sleep(sleep);
+                } catch (InterruptedException e) {
+                    continue;
+                }
+            }
+            try {
+                advanceTo(clock.getAsLong());
+            } catch (RuntimeException e) {
+                log.error("Expiry handler failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private synchronized long currentTick() {
+        return tick;
+    }
+
+    // Processes every tick that has fully elapsed by `now`
+    synchronized void advanceTo(long now) {
+        long lastElapsed = (now - startMillis) / tickMillis - 1;
+        while (tick <= lastElapsed) {
+            transferAdded();
+            List<Long> due = new ArrayList<>();
+            Iterator<Timeout> it = wheel[(int) (tick & (WHEEL_SIZE - 1))].iterator();
+            while (it.hasNext()) {
+                Timeout timeout = it.next();
+                if (timeout.cancelled) {
+                    it.remove();
+                } else if (timeout.remainingRounds <= 0) {
+                    it.remove();
+                    byId.remove(timeout.id, timeout);
+                    due.add(timeout.id);
+                } else {
+                    timeout.remainingRounds--;
+                }
+            }
+            tick++;
+            if (!due.isEmpty()) {
+                handler.accept(due);
+            }
+        }
+    }
+
+    private void transferAdded() {
+        Timeout timeout;
+        while ((timeout = added.poll()) != null) {
+            if (timeout.cancelled) continue;
+            // Already overdue deadlines land in the current slot
+            long deadlineTick = Math.max((timeout.deadline - startMillis) / tickMillis, tick);
+            timeout.remainingRounds = (deadlineTick - tick) / WHEEL_SIZE;
+            wheel[(int) (deadlineTick & (WHEEL_SIZE - 1))].add(timeout);
+        }
+    }
+}
@@ -2,20 +2,35 @@ package com.abc.news_service.service;
 
 import com.abc.news_service.dto.*;
 import com.abc.news_service.entity.News;
+import com.abc.news_service.exception.InvalidRequestException;
 import com.abc.news_service.mapper.NewsMapper;
 import com.abc.news_service.repository.NewsRepository;
+import com.abc.service_common.votes.VoteCounters;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class NewsService {
+    private static final Map<String, VoteCounters.Target> VOTE_TARGETS = Map.of(
+            "USEFUL", new VoteCounters.Target("news.USEFUL", "USEFUL", "news", "useful_vote"),
+            "INTEREST", new VoteCounters.Target("news.INTEREST", "INTEREST", "news", "interest_vote"));
+
     private final NewsRepository newsRepository;
     private final NewsMapper newsMapper;
+    private final PublishedNewsFeed publishedNewsFeed;
+    private final VoteCounters voteCounters;
+    private final TrendingNews trendingNews;
+    private final RecruitmentSearchIndex recruitmentSearchIndex;
 
     public NewsResponse createNews(NewsRequest req) {
         News news = newsMapper.toEntity(req);
@@ -35,14 +50,18 @@ public class NewsService {
         if ("NEWS".equals(news.getNewsType())) {
             news.setExpiredAt(LocalDateTime.now().plusHours(48));
         }
-        return newsMapper.toResponse(newsRepository.save(news));
+        News saved = newsRepository.save(news);
+        publishedNewsFeed.onSaved(saved);
+        return newsMapper.toResponse(saved);
     }
 
     public NewsResponse rejectNews(Long newsId, Long adminId) {
         News news = newsRepository.findById(newsId).orElseThrow();
         news.setStatus("REJECTED");
         news.setApprovedBy(adminId);
-        return newsMapper.toResponse(newsRepository.save(news));
+        News saved = newsRepository.save(news);
+        publishedNewsFeed.onSaved(saved);
+        return newsMapper.toResponse(saved);
     }
 
     public NewsResponse publishNews(Long newsId) {
@@ -51,17 +70,18 @@ public class NewsService {
             throw new RuntimeException("Only approved news can be published");
         }
         news.setStatus("PUBLISHED");
-        return newsMapper.toResponse(newsRepository.save(news));
+        News saved = newsRepository.save(news);
+        publishedNewsFeed.onSaved(saved);
+        return newsMapper.toResponse(saved);
     }
 
-    public NewsResponse voteNews(Long newsId, String voteType) {
-        News news = newsRepository.findById(newsId).orElseThrow();
-        if ("USEFUL".equals(voteType)) {
-            news.setUsefulVote((news.getUsefulVote() != null ? news.getUsefulVote() : 0) + 1);
-        } else if ("INTEREST".equals(voteType)) {
-            news.setInterestVote((news.getInterestVote() != null ? news.getInterestVote() : 0) + 1);
+    // Counted in memory and written with the next batch, so a vote costs no database round trip
+    public VoteResponse voteNews(Long newsId, Long userId, String voteType) {
+        VoteCounters.Target target = VOTE_TARGETS.get(voteType);
+        if (target == null) {
+            throw new InvalidRequestException("voteType must be USEFUL or INTEREST");
         }
-        return newsMapper.toResponse(newsRepository.save(news));
+        return new VoteResponse(newsId, voteType, voteCounters.record(target, newsId, userId));
     }
 
     public Page<NewsResponse> getAllNews(Pageable pageable) {
@@ -85,9 +105,44 @@ public class NewsService {
     }
 
     public Page<NewsResponse> listPublishedNews(String newsType, Pageable pageable) {
+        if (publishedNewsFeed.serves(pageable)) {
+            return publishedNewsFeed.page(newsType, pageable);
+        }
         return newsRepository.findByNewsTypeAndStatus(newsType, "PUBLISHED", pageable).map(newsMapper::toResponse);
     }
 
+    public NewsFeedResponse getPublishedFeed(String newsType, String cursor, int size) {
+        return publishedNewsFeed.slice(newsType, cursor, size);
+    }
+
+    public List<TrendingNewsResponse> listTrending(String newsType, Long fieldId, int limit) {
+        return trendingNews.top(newsType, fieldId, limit).stream()
+                .map(scored -> {
+                    NewsResponse news = publishedNewsFeed.get(scored.id());
+                    return news == null ? null : new TrendingNewsResponse(scored.score(), news);
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public RecruitmentSearchResponse searchRecruitments(Map<String, List<String>> selected, boolean openOnly, int page, int size) {
+        RecruitmentSearchResponse response = recruitmentSearchIndex.search(selected, openOnly, page, size);
+        // The index keeps items as they were indexed; show current vote counts
+        response.getContent().forEach(hit -> {
+            NewsResponse current = publishedNewsFeed.get(hit.getNews().getId());
+            if (current != null) hit.setNews(current);
+        });
+        return response;
+    }
+
+    public Page<NewsResponse> listRecruitmentsByCompany(String companyName, Pageable pageable) {
+        RecruitmentSearchResponse response = searchRecruitments(
+                Map.of(RecruitmentSearchIndex.COMPANY, List.of(companyName)), false,
+                pageable.getPageNumber(), pageable.getPageSize());
+        List<NewsResponse> content = response.getContent().stream().map(RecruitmentSearchHit::getNews).toList();
+        return new PageImpl<>(content, PageRequest.of(response.getPage(), response.getSize()), response.getTotalElements());
+    }
+
     public Page<NewsResponse> listPendingModeration(Pageable pageable) {
         return newsRepository.findByStatus("PENDING", pageable).map(newsMapper::toResponse);
     }
@@ -118,5 +173,6 @@ public class NewsService {
 
     public void deleteNews(Long id) {
         newsRepository.deleteById(id);
+        publishedNewsFeed.onDeleted(id);
     }
 }
@@ -0,0 +1,329 @@
+package com.abc.news_service.service;
+
+import com.abc.news_service.dto.NewsFeedResponse;
+import com.abc.news_service.dto.NewsResponse;
+import com.abc.news_service.entity.News;
+import com.abc.news_service.exception.InvalidRequestException;
+import com.abc.news_service.mapper.NewsMapper;
+import com.abc.news_service.repository.NewsRepository;
+import com.abc.service_common.votes.VoteCounters;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Published news kept in memory per newsType, newest first, so the public feed never queries
+// the database. Each feed is a copy-on-write array: readers page it without locking, and the
+// rare writes (approve, publish, reject, delete, expiry, vote flushes) replace it. Items leave
+// the feed when their expiredAt passes, via a timer wheel that also marks them EXPIRED in one
+// batched UPDATE. A periodic resync picks up changes made through other instances.
+// Secondary indexes (trending, recruitment search) follow the feed through Listener.
+@Slf4j
+@Component
+public class PublishedNewsFeed {
+    private static final Set<String> LIVE_STATUSES = Set.of("APPROVED", "PUBLISHED");
+    private static final NewsResponse[] EMPTY = new NewsResponse[0];
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int EXPIRE_BATCH = 500;
+    // Newest first; the id breaks ties so every item has a unique position for cursors
+    private static final Comparator<NewsResponse> ORDER = (a, b) ->
+            compare(nanos(a.getPublishedAt()), a.getId(), nanos(b.getPublishedAt()), b.getId());
+
+    private final NewsRepository newsRepository;
+    private final NewsMapper newsMapper;
+    private final ExpiryTimerWheel expiries;
+    private final List<Listener> listeners;
+    private final long retryMillis;
+
+    private final Map<String, NewsResponse[]> feeds = new ConcurrentHashMap<>();
+    // Written under this lock, read without it
+    private final Map<Long, NewsResponse> itemsById = new ConcurrentHashMap<>();
+    // Guarded by this
+    private long mutations;
+    private volatile boolean ready;
+
+    // Called under the feed lock, so calls arrive in feed order
+    public interface Listener {
+        void track(NewsResponse item);
+
+        void untrack(Collection<Long> ids);
+
+        // The feed was rebuilt: these are now all of its items
+        void retainOnly(Collection<NewsResponse> items);
+    }
+
+    public PublishedNewsFeed(NewsRepository newsRepository,
+                             NewsMapper newsMapper,
+                             VoteCounters voteCounters,
+                             List<Listener> listeners,
+                             @Value("${app.news-feed.expiry-tick-ms:100}") long tickMillis,
+                             @Value("${app.news-feed.expiry-retry-ms:5000}") long retryMillis) {
+        this.newsRepository = newsRepository;
+        this.newsMapper = newsMapper;
+        this.retryMillis = retryMillis;
+        this.listeners = listeners;
+        this.expiries = new ExpiryTimerWheel(tickMillis, System::currentTimeMillis, this::expire);
+        voteCounters.addListener(this::votesFlushed);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        rebuild();
+        expiries.start("news-expiry");
+    }
+
+    @PreDestroy
+    public void stop() {
+        expiries.stop();
+    }
+
+    @Scheduled(initialDelayString = "${app.news-feed.resync-interval-ms:60000}",
+            fixedDelayString = "${app.news-feed.resync-interval-ms:60000}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            long seen;
+            synchronized (this) {
+                seen = mutations;
+            }
+            List<News> live;
+            try {
+                live = newsRepository.findByStatusIn(LIVE_STATUSES);
+            } catch (DataAccessException e) {
+                log.warn("Failed to load published news feed: {}", e.getMessage());
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            Map<String, List<NewsResponse>> byType = new HashMap<>();
+            int count = 0;
+            for (News news : live) {
+                if (inFeed(news, now)) {
+                    byType.computeIfAbsent(news.getNewsType(), type -> new ArrayList<>()).add(newsMapper.toResponse(news));
+                    count++;
+                }
+            }
+            synchronized (this) {
+                // A write landed while loading and may be missing from the rows; try again
+                // rather than overwrite it, but never leave the feed unbuilt
+                if (mutations != seen && (ready || attempt < 3)) continue;
+                Map<Long, NewsResponse> loaded = new HashMap<>();
+                feeds.keySet().retainAll(byType.keySet());
+                byType.forEach((type, items) -> {
+                    items.sort(ORDER);
+                    items.forEach(item -> loaded.put(item.getId(), item));
+                    feeds.put(type, items.toArray(EMPTY));
+                });
+                itemsById.keySet().retainAll(loaded.keySet());
+                itemsById.putAll(loaded);
+                listeners.forEach(listener -> listener.retainOnly(loaded.values()));
+            }
+            for (News news : live) {
+                if (news.getExpiredAt() != null) {
+                    expiries.schedule(news.getId(), millis(news.getExpiredAt()));
+                }
+            }
+            ready = true;
+            log.debug("Published news feed built with {} items in {} ms", count, System.currentTimeMillis() - started);
+            return;
+        }
+        log.debug("Skipped published news feed resync: concurrent updates");
+    }
+
+    // Call after every save of a news item
+    public void onSaved(News news) {
+        if (LIVE_STATUSES.contains(news.getStatus()) && news.getExpiredAt() != null) {
+            expiries.schedule(news.getId(), millis(news.getExpiredAt()));
+        } else {
+            expiries.cancel(news.getId());
+        }
+        if (inFeed(news, LocalDateTime.now())) {
+            upsert(newsMapper.toResponse(news));
+        } else {
+            remove(List.of(news.getId()));
+        }
+    }
+
+    public NewsResponse get(Long id) {
+        return itemsById.get(id);
+    }
+
+    public void onDeleted(Long id) {
+        expiries.cancel(id);
+        remove(List.of(id));
+    }
+
+    // The feed only knows its own order; other sorts go to the database
+    public boolean serves(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        return ready && (sort.isUnsorted() || sort.equals(Sort.by(Sort.Direction.DESC, "publishedAt")));
+    }
+
+    public Page<NewsResponse> page(String newsType, Pageable pageable) {
+        NewsResponse[] items = feeds.getOrDefault(newsType, EMPTY);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(List.of(items), pageable, items.length);
+        }
+        int from = (int) Math.min(pageable.getOffset(), items.length);
+        int to = Math.min(from + pageable.getPageSize(), items.length);
+        return new PageImpl<>(List.of(Arrays.copyOfRange(items, from, to)), pageable, items.length);
+    }
+
+    // Cursor paging: stable while items are published or expire, unlike page offsets
+    public NewsFeedResponse slice(String newsType, String cursor, int size) {
+        NewsResponse[] items = feeds.getOrDefault(newsType, EMPTY);
+        int from = cursor == null || cursor.isBlank() ? 0 : indexAfter(items, cursor);
+        int to = Math.min(from + Math.max(1, Math.min(size, MAX_PAGE_SIZE)), items.length);
+        String nextCursor = to < items.length ? cursorOf(items[to - 1]) : null;
+        return new NewsFeedResponse(List.of(Arrays.copyOfRange(items, from, to)), nextCursor);
+    }
+
+    private synchronized void upsert(NewsResponse item) {
+        remove(List.of(item.getId()));
+        NewsResponse[] current = feeds.getOrDefault(item.getNewsType(), EMPTY);
+        int at = Arrays.binarySearch(current, item, ORDER);
+        if (at < 0) at = -at - 1;
+        NewsResponse[] next = new NewsResponse[current.length + 1];
+        System.arraycopy(current, 0, next, 0, at);
+        next[at] = item;
+        System.arraycopy(current, at, next, at + 1, current.length - at);
+        feeds.put(item.getNewsType(), next);
+        itemsById.put(item.getId(), item);
+        listeners.forEach(listener -> listener.track(item));
+    }
+
+    private synchronized void remove(Collection<Long> ids) {
+        mutations++;
+        Map<String, Set<Long>> byType = new HashMap<>();
+        for (Long id : ids) {
+            NewsResponse item = itemsById.remove(id);
+            if (item != null) {
+                byType.computeIfAbsent(item.getNewsType(), t -> new HashSet<>()).add(id);
+            }
+        }
+        listeners.forEach(listener -> listener.untrack(ids));
+        byType.forEach((type, gone) -> feeds.computeIfPresent(type, (t, items) -> Arrays.stream(items)
+                .filter(item -> !gone.contains(item.getId()))
+                .toArray(NewsResponse[]::new)));
+    }
+
+    // Vote counts as VoteCounters writes them; the sort key is unchanged, so items are
+    // replaced by updated copies in place
+    private synchronized void votesFlushed(VoteCounters.Target target, Map<Long, Long> deltas) {
+        boolean useful = "useful_vote".equals(target.column());
+        if (!useful && !"interest_vote".equals(target.column())) return;
+        Map<String, Map<Long, Long>> byType = new HashMap<>();
+        deltas.forEach((id, delta) -> {
+            NewsResponse item = itemsById.get(id);
+            if (item != null) {
+                byType.computeIfAbsent(item.getNewsType(), t -> new HashMap<>()).put(id, delta);
+            }
+        });
+        byType.forEach((type, changed) -> feeds.computeIfPresent(type, (t, items) -> {
+            NewsResponse[] next = items.clone();
+            for (int i = 0; i < next.length; i++) {
+                Long delta = changed.get(next[i].getId());
+                if (delta == null) continue;
+                NewsResponse copy = newsMapper.copy(next[i]);
+                if (useful) {
+                    copy.setUsefulVote((int) ((copy.getUsefulVote() == null ? 0 : copy.getUsefulVote()) + delta));
+                } else {
+                    copy.setInterestVote((int) ((copy.getInterestVote() == null ? 0 : copy.getInterestVote()) + delta));
+                }
+                next[i] = copy;
+                itemsById.put(copy.getId(), copy);
+            }
+            return next;
+        }));
+    }
+
+    // Runs on the timer wheel thread with everything that fell due in one tick
+    private void expire(List<Long> ids) {
+        remove(ids);
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < ids.size(); from += EXPIRE_BATCH) {
+            List<Long> batch = ids.subList(from, Math.min(from + EXPIRE_BATCH, ids.size()));
+            try {
+                int updated = newsRepository.expireAll(batch, now);
+                log.debug("Expired {} of {} due news items", updated, batch.size());
+            } catch (DataAccessException e) {
+                log.warn("Failed to expire {} news items, retrying in {} ms: {}", batch.size(), retryMillis, e.getMessage());
+                long retryAt = System.currentTimeMillis() + retryMillis;
+                batch.forEach(id -> expiries.schedule(id, retryAt));
+            }
+        }
+    }
+
+    private static boolean inFeed(News news, LocalDateTime now) {
+        return "PUBLISHED".equals(news.getStatus())
+                && news.getNewsType() != null
+                && news.getPublishedAt() != null
+                && (news.getExpiredAt() == null || news.getExpiredAt().isAfter(now));
+    }
+
+    private static int indexAfter(NewsResponse[] items, String cursor) {
+        long[] position = parseCursor(cursor);
+        int low = 0;
+        int high = items.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(nanos(items[mid].getPublishedAt()), items[mid].getId(), position[0], position[1]) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Position of the last item on a page: publishedAt in epoch nanos and the id, in base 36
+    private static String cursorOf(NewsResponse item) {
+        return Long.toString(nanos(item.getPublishedAt()), 36) + "." + Long.toString(item.getId(), 36);
+    }
+
+    private static long[] parseCursor(String cursor) {
+        int dot = cursor.indexOf('.');
+        if (dot > 0) {
+            try {
+                return new long[]{Long.parseLong(cursor.substring(0, dot), 36), Long.parseLong(cursor.substring(dot + 1), 36)};
+            } catch (NumberFormatException ignored) {
+                // fall through
+            }
+        }
+        throw new InvalidRequestException("Invalid cursor: " + cursor);
+    }
+
+    private static int compare(long nanosA, long idA, long nanosB, long idB) {
+        int byTime = Long.compare(nanosB, nanosA);
+        return byTime != 0 ? byTime : Long.compare(idB, idA);
+    }
+
+    private static long nanos(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,164 @@
+package com.abc.news_service.service;
+
+import java.text.Normalizer;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Reads the free-text job fields of recruitment news into typed values for the search index.
+// Posts are typed by hand in Vietnamese or English, so parsing is forgiving: anything that
+// can't be read comes back null and is filed under the "unspecified" facet value.
+final class RecruitmentFields {
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern LOCATION_SEPARATORS = Pattern.compile("[,;/|&]| - ");
+    // A number, with thousands separators or a decimal part, and an optional magnitude
+    private static final Pattern AMOUNT = Pattern.compile("(\\d+(?:[.,]\\d+)*)\\s*(k|m|tr|trieu|million|mil)?\\b");
+    private static final Pattern INTEGER = Pattern.compile("\\d+");
+    private static final Pattern YEAR_FIRST = Pattern.compile("(\\d{4})[-/.](\\d{1,2})[-/.](\\d{1,2})");
+    private static final Pattern DAY_FIRST = Pattern.compile("(\\d{1,2})[-/.](\\d{1,2})[-/.](\\d{4})");
+    private static final Map<String, String> LOCATION_ALIASES = Map.of(
+            "hn", "ha noi",
+            "tp ha noi", "ha noi",
+            "hanoi", "ha noi",
+            "hcm", "ho chi minh",
+            "tp hcm", "ho chi minh",
+            "tphcm", "ho chi minh",
+            "tp ho chi minh", "ho chi minh",
+            "ho chi minh city", "ho chi minh",
+            "sai gon", "ho chi minh",
+            "saigon", "ho chi minh");
+
+    // Monthly salary in millions of VND
+    record Salary(double min, double max) {
+    }
+
+    private RecruitmentFields() {
+    }
+
+    // Lowercase ASCII words: "Hà Nội " and "ha-noi" both become "ha noi"
+    static String key(String text) {
+        if (text == null) return null;
+        String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .replace('đ', 'd').replace('Đ', 'D')
+                .toLowerCase(Locale.ROOT);
+        String key = NON_ALNUM.matcher(stripped).replaceAll(" ").trim();
+        return key.isEmpty() ? null : key;
+    }
+
+    static String locationKey(String text) {
+        String key = key(text);
+        return key == null ? null : LOCATION_ALIASES.getOrDefault(key, key);
+    }
+
+    // "Hà Nội, TP HCM" is posted in both cities
+    static List<String> locations(String text) {
+        List<String> result = new ArrayList<>();
+        if (text == null) return result;
+        for (String part : LOCATION_SEPARATORS.split(text)) {
+            String trimmed = part.trim();
+            if (locationKey(trimmed) != null) result.add(trimmed);
+        }
+        return result;
+    }
+
+    // "10 - 15 triệu", "15,000,000 VND", "$1,000 - $2,000", "up to 2k USD"; null for "Thỏa thuận"
+    static Salary salary(String text, double vndPerUsd) {
+        String lower = key(text);
+        if (lower == null) return null;
+        boolean usd = text.contains("$") || lower.contains("usd");
+        String amounts = Normalizer.normalize(text, Normalizer.Form.NFD);
+        amounts = COMBINING_MARKS.matcher(amounts).replaceAll("").toLowerCase(Locale.ROOT);
+        List<double[]> values = new ArrayList<>(2);
+        Matcher matcher = AMOUNT.matcher(amounts);
+        while (matcher.find() && values.size() < 2) {
+            Double number = number(matcher.group(1));
+            if (number == null) continue;
+            values.add(new double[]{number, magnitude(matcher.group(2))});
+        }
+        if (values.isEmpty()) return null;
+        // "10-15 triệu": the unit written after the range applies to both ends
+        if (values.size() == 2 && values.get(0)[1] == 0) {
+            values.get(0)[1] = values.get(1)[1];
+        }
+        double first = millions(values.get(0), usd, vndPerUsd);
+        double second = values.size() == 2 ? millions(values.get(1), usd, vndPerUsd) : first;
+        if (values.size() == 1 && (lower.contains("up to") || lower.contains("len den") || lower.contains("toi da"))) {
+            first = 0;
+        }
+        double min = Math.min(first, second);
+        double max = Math.max(first, second);
+        // Phone numbers, years and other noise
+        if (max <= 0 || max > 10_000) return null;
+        return new Salary(min, max);
+    }
+
+    // Minimum years asked for; 0 for "Không yêu cầu" / "No experience" / fresher posts
+    static Integer experienceYears(String text) {
+        String lower = key(text);
+        if (lower == null) return null;
+        Matcher matcher = INTEGER.matcher(lower);
+        if (matcher.find()) {
+            int value = Integer.parseInt(matcher.group());
+            boolean months = lower.contains("thang") || lower.contains("month");
+            return months ? value / 12 : value;
+        }
+        if (lower.contains("khong yeu cau") || lower.contains("chua co") || lower.contains("no experience")
+                || lower.contains("not required") || lower.contains("fresher") || lower.contains("intern")) {
+            return 0;
+        }
+        return null;
+    }
+
+    // ISO dates or day-first dates as written in Vietnam (31/12/2025)
+    static LocalDate deadline(String text) {
+        if (text == null) return null;
+        try {
+            Matcher iso = YEAR_FIRST.matcher(text);
+            if (iso.find()) {
+                return LocalDate.of(Integer.parseInt(iso.group(1)), Integer.parseInt(iso.group(2)), Integer.parseInt(iso.group(3)));
+            }
+            Matcher dayFirst = DAY_FIRST.matcher(text);
+            if (dayFirst.find()) {
+                return LocalDate.of(Integer.parseInt(dayFirst.group(3)), Integer.parseInt(dayFirst.group(2)), Integer.parseInt(dayFirst.group(1)));
+            }
+        } catch (DateTimeException e) {
+            return null;
+        }
+        return null;
+    }
+
+    // "15,000,000" and "15.000.000" are thousands separators, "1.5" and "1,5" decimals
+    private static Double number(String text) {
+        try {
+            if (text.matches("\\d{1,3}([.,]\\d{3})+")) {
+                return Double.parseDouble(text.replaceAll("[.,]", ""));
+            }
+            return Double.parseDouble(text.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static double magnitude(String unit) {
+        if (unit == null) return 0;
+        return unit.equals("k") ? 1_000 : 1_000_000;
+    }
+
+    private static double millions(double[] value, boolean usd, double vndPerUsd) {
+        double amount = value[1] == 0 ? value[0] : value[0] * value[1];
+        if (usd) {
+            return amount * vndPerUsd / 1_000_000;
+        }
+        // Bare small numbers in VND posts are millions: "10 - 15"
+        if (value[1] == 0 && amount < 1_000) {
+            return amount;
+        }
+        return amount / 1_000_000;
+    }
+}
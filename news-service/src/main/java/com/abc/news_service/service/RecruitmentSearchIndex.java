@@ -0,0 +1,260 @@
+package com.abc.news_service.service;
+
+import com.abc.news_service.dto.FacetCount;
+import com.abc.news_service.dto.NewsResponse;
+import com.abc.news_service.dto.RecruitmentSearchHit;
+import com.abc.news_service.dto.RecruitmentSearchResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+// Faceted search over published recruitment news. The free-text job fields are parsed once,
+// when an item enters the feed, into columns (salary range, minimum experience, deadline) and
+// facet values; each facet value owns a bitset of the documents carrying it. A query ORs the
+// selected values within a facet and ANDs across facets, and facet counts are cardinalities of
+// value bitsets intersected with the other facets' filters, so picking a location narrows the
+// position counts but still shows every location. Snapshots are immutable and rebuilt on
+// change; recruitment posts change rarely compared to how often they are searched.
+@Slf4j
+@Component
+public class RecruitmentSearchIndex implements PublishedNewsFeed.Listener {
+    public static final String LOCATION = "location";
+    public static final String POSITION = "position";
+    public static final String COMPANY = "company";
+    public static final String WORKING_HOURS = "workingHours";
+    public static final String SALARY = "salary";
+    public static final String EXPERIENCE = "experience";
+    private static final List<String> FACETS = List.of(LOCATION, POSITION, COMPANY, WORKING_HOURS, SALARY, EXPERIENCE);
+    private static final String RECRUITMENT = "RECRUITMENT";
+    private static final String UNSPECIFIED = "unspecified";
+    private static final int MAX_PAGE_SIZE = 100;
+    // Salary bands in millions of VND per month; a range is filed under every band it overlaps
+    private static final String[] SALARY_BANDS = {"lt10", "10-20", "20-30", "30-50", "50+"};
+    private static final double[] SALARY_BOUNDS = {0, 10, 20, 30, 50, Double.MAX_VALUE};
+    private static final Comparator<NewsResponse> NEWEST_FIRST = Comparator
+            .comparing(NewsResponse::getPublishedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(NewsResponse::getId, Comparator.reverseOrder());
+
+    private final double vndPerUsd;
+    private final int maxFacetValues;
+
+    // Guarded by this
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private record Doc(NewsResponse news, RecruitmentFields.Salary salary, Integer experienceYears, LocalDate deadline) {
+    }
+
+    private record Snapshot(Doc[] docs, long[] deadlineDays, Map<String, Map<String, BitSet>> facets,
+                            Map<String, Map<String, String>> labels) {
+        static final Snapshot EMPTY = new Snapshot(new Doc[0], new long[0], Map.of(), Map.of());
+    }
+
+    public RecruitmentSearchIndex(@Value("${app.recruitment-search.vnd-per-usd:25000}") double vndPerUsd,
+                                  @Value("${app.recruitment-search.max-facet-values:50}") int maxFacetValues) {
+        this.vndPerUsd = vndPerUsd;
+        this.maxFacetValues = maxFacetValues;
+    }
+
+    // `selected` maps facet names to accepted values; `openOnly` drops posts past their deadline
+    public RecruitmentSearchResponse search(Map<String, ? extends Collection<String>> selected, boolean openOnly,
+                                            int page, int size) {
+        Snapshot current = snapshot;
+        int count = current.docs().length;
+        BitSet base = new BitSet(count);
+        base.set(0, count);
+        if (openOnly) {
+            long today = LocalDate.now().toEpochDay();
+            for (int i = 0; i < count; i++) {
+                if (current.deadlineDays()[i] < today) base.clear(i);
+            }
+        }
+        Map<String, BitSet> filters = new LinkedHashMap<>();
+        selected.forEach((facet, values) -> {
+            Map<String, BitSet> byValue = current.facets().get(facet);
+            if (values == null || values.isEmpty() || !FACETS.contains(facet)) return;
+            BitSet filter = new BitSet(count);
+            for (String value : values) {
+                BitSet docs = byValue == null ? null : byValue.get(valueKey(facet, value));
+                if (docs != null) filter.or(docs);
+            }
+            filters.put(facet, filter);
+        });
+        BitSet hits = (BitSet) base.clone();
+        filters.values().forEach(hits::and);
+
+        Map<String, List<FacetCount>> facetCounts = new LinkedHashMap<>();
+        for (String facet : FACETS) {
+            BitSet scope = hits;
+            if (filters.containsKey(facet)) {
+                scope = (BitSet) base.clone();
+                for (Map.Entry<String, BitSet> filter : filters.entrySet()) {
+                    if (!filter.getKey().equals(facet)) scope.and(filter.getValue());
+                }
+            }
+            facetCounts.put(facet, counts(current, facet, scope));
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int skip = Math.max(0, page) * pageSize;
+        List<RecruitmentSearchHit> content = new ArrayList<>(pageSize);
+        for (int i = hits.nextSetBit(0); i >= 0 && content.size() < pageSize; i = hits.nextSetBit(i + 1)) {
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            content.add(hit(current.docs()[i]));
+        }
+        return new RecruitmentSearchResponse(content, hits.cardinality(), Math.max(0, page), pageSize, facetCounts);
+    }
+
+    @Override
+    public synchronized void track(NewsResponse item) {
+        boolean recruitment = RECRUITMENT.equals(item.getNewsType());
+        Doc previous = recruitment ? docs.put(item.getId(), parse(item)) : docs.remove(item.getId());
+        if (recruitment || previous != null) rebuild();
+    }
+
+    @Override
+    public synchronized void untrack(Collection<Long> ids) {
+        boolean changed = false;
+        for (Long id : ids) {
+            changed |= docs.remove(id) != null;
+        }
+        if (changed) rebuild();
+    }
+
+    @Override
+    public synchronized void retainOnly(Collection<NewsResponse> all) {
+        Map<Long, Doc> kept = new HashMap<>();
+        for (NewsResponse item : all) {
+            if (!RECRUITMENT.equals(item.getNewsType())) continue;
+            // Resyncs reload every item; only reparse the ones whose job fields changed
+            Doc doc = docs.get(item.getId());
+            kept.put(item.getId(), doc != null && sameJobFields(doc.news(), item)
+                    ? new Doc(item, doc.salary(), doc.experienceYears(), doc.deadline())
+                    : parse(item));
+        }
+        docs.clear();
+        docs.putAll(kept);
+        rebuild();
+    }
+
+    private Doc parse(NewsResponse news) {
+        return new Doc(news,
+                RecruitmentFields.salary(news.getSalary(), vndPerUsd),
+                RecruitmentFields.experienceYears(news.getExperience()),
+                RecruitmentFields.deadline(news.getDeadline()));
+    }
+
+    private static boolean sameJobFields(NewsResponse a, NewsResponse b) {
+        return Objects.equals(a.getSalary(), b.getSalary())
+                && Objects.equals(a.getExperience(), b.getExperience())
+                && Objects.equals(a.getDeadline(), b.getDeadline());
+    }
+
+    private void rebuild() {
+        long started = System.nanoTime();
+        Doc[] sorted = docs.values().toArray(new Doc[0]);
+        Arrays.sort(sorted, Comparator.comparing(Doc::news, NEWEST_FIRST));
+        long[] deadlineDays = new long[sorted.length];
+        Map<String, Map<String, BitSet>> facets = new HashMap<>();
+        Map<String, Map<String, String>> labels = new HashMap<>();
+        for (int i = 0; i < sorted.length; i++) {
+            Doc doc = sorted[i];
+            NewsResponse news = doc.news();
+            deadlineDays[i] = doc.deadline() == null ? Long.MAX_VALUE : doc.deadline().toEpochDay();
+
+            List<String> locations = RecruitmentFields.locations(news.getLocation());
+            if (locations.isEmpty()) add(facets, labels, LOCATION, null, null, i);
+            for (String location : locations) {
+                add(facets, labels, LOCATION, RecruitmentFields.locationKey(location), location.trim(), i);
+            }
+            add(facets, labels, POSITION, RecruitmentFields.key(news.getPosition()), news.getPosition(), i);
+            add(facets, labels, COMPANY, RecruitmentFields.key(news.getCompanyName()), news.getCompanyName(), i);
+            add(facets, labels, WORKING_HOURS, RecruitmentFields.key(news.getWorkingHours()), news.getWorkingHours(), i);
+            for (String band : salaryBands(doc.salary())) {
+                add(facets, labels, SALARY, band, band, i);
+            }
+            String experience = experienceBand(doc.experienceYears());
+            add(facets, labels, EXPERIENCE, experience, experience, i);
+        }
+        snapshot = new Snapshot(sorted, deadlineDays, facets, labels);
+        log.debug("Recruitment search index rebuilt with {} posts in {} us", sorted.length, (System.nanoTime() - started) / 1000);
+    }
+
+    private static void add(Map<String, Map<String, BitSet>> facets, Map<String, Map<String, String>> labels,
+                            String facet, String key, String label, int doc) {
+        if (key == null) {
+            key = UNSPECIFIED;
+            label = UNSPECIFIED;
+        }
+        facets.computeIfAbsent(facet, f -> new HashMap<>()).computeIfAbsent(key, k -> new BitSet()).set(doc);
+        // Documents are added newest first, so the label is the newest spelling
+        labels.computeIfAbsent(facet, f -> new HashMap<>()).putIfAbsent(key, label.trim());
+    }
+
+    private List<FacetCount> counts(Snapshot current, String facet, BitSet scope) {
+        Map<String, BitSet> byValue = current.facets().getOrDefault(facet, Map.of());
+        Map<String, String> labels = current.labels().getOrDefault(facet, Map.of());
+        List<FacetCount> counts = new ArrayList<>();
+        byValue.forEach((key, docs) -> {
+            BitSet matching = (BitSet) docs.clone();
+            matching.and(scope);
+            int count = matching.cardinality();
+            if (count > 0) counts.add(new FacetCount(key, labels.get(key), count));
+        });
+        counts.sort(Comparator.comparingInt(FacetCount::getCount).reversed().thenComparing(FacetCount::getValue));
+        return counts.size() > maxFacetValues ? new ArrayList<>(counts.subList(0, maxFacetValues)) : counts;
+    }
+
+    private static RecruitmentSearchHit hit(Doc doc) {
+        RecruitmentFields.Salary salary = doc.salary();
+        return new RecruitmentSearchHit(doc.news(),
+                salary == null ? null : salary.min(),
+                salary == null ? null : salary.max(),
+                doc.experienceYears(),
+                doc.deadline());
+    }
+
+    // Values arrive as typed by the user or as returned in `FacetCount.value`
+    private static String valueKey(String facet, String value) {
+        if (SALARY.equals(facet) || EXPERIENCE.equals(facet)) {
+            return value == null ? UNSPECIFIED : value.trim().toLowerCase(Locale.ROOT);
+        }
+        String key = LOCATION.equals(facet) ? RecruitmentFields.locationKey(value) : RecruitmentFields.key(value);
+        return key == null ? UNSPECIFIED : key;
+    }
+
+    private static List<String> salaryBands(RecruitmentFields.Salary salary) {
+        if (salary == null) return List.of(UNSPECIFIED);
+        List<String> bands = new ArrayList<>(2);
+        for (int i = 0; i < SALARY_BANDS.length; i++) {
+            if (salary.min() < SALARY_BOUNDS[i + 1] && salary.max() >= SALARY_BOUNDS[i]) {
+                bands.add(SALARY_BANDS[i]);
+            }
+        }
+        return bands;
+    }
+
+    private static String experienceBand(Integer years) {
+        if (years == null) return UNSPECIFIED;
+        if (years == 0) return "none";
+        if (years <= 2) return "1-2";
+        if (years <= 4) return "3-4";
+        return "5+";
+    }
+}
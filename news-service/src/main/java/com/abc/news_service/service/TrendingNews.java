@@ -0,0 +1,245 @@
+package com.abc.news_service.service;
+
+import com.abc.news_service.dto.NewsResponse;
+import com.abc.service_common.votes.VoteCounters;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+
+// Trending order for published news. An item's score is a sum of exponentially decayed events:
+// one for being published and one per vote, halving every half-life. Scores are stored relative
+// to a reference time, so an event at t adds weight * e^(lambda * (t - epoch)) and nothing has
+// to be decayed as time passes; the decay is common to all items and doesn't change the order.
+// Items are ranked in concurrent skip-list sets, one per newsType and one per (newsType,
+// fieldId), so the top K is a lock-free prefix read. PublishedNewsFeed decides which items are
+// tracked and VoteCounters flushes feed the votes; the reference time moves forward hourly.
+@Slf4j
+@Component
+public class TrendingNews implements PublishedNewsFeed.Listener {
+    private static final int MAX_LIMIT = 100;
+    private static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::score).reversed()
+            .thenComparing(Comparator.comparingLong(Ranked::id).reversed());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long halfLifeMillis;
+    private final double lambda;
+    private final double publishWeight;
+    private final Map<String, Double> voteWeights;
+
+    // Guarded by this
+    private final Map<Long, Entry> entries = new HashMap<>();
+    // Vote scores loaded at startup for items the feed hasn't handed over yet
+    private final Map<Long, Double> bootstrap = new HashMap<>();
+    private volatile Index index = new Index(System.currentTimeMillis(), new ConcurrentHashMap<>());
+
+    public record Scored(Long id, double score) {
+    }
+
+    private record Ranked(double score, long id) {
+    }
+
+    private record Index(long epoch, Map<String, ConcurrentSkipListSet<Ranked>> sets) {
+    }
+
+    private static final class Entry {
+        final String newsType;
+        final Long fieldId;
+        Ranked ranked;
+
+        Entry(String newsType, Long fieldId) {
+            this.newsType = newsType;
+            this.fieldId = fieldId;
+        }
+    }
+
+    public TrendingNews(JdbcTemplate jdbcTemplate,
+                        VoteCounters voteCounters,
+                        @Value("${app.trending.half-life-hours:24}") long halfLifeHours,
+                        @Value("${app.trending.publish-weight:3.0}") double publishWeight,
+                        @Value("${app.trending.useful-weight:1.0}") double usefulWeight,
+                        @Value("${app.trending.interest-weight:1.0}") double interestWeight) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.halfLifeMillis = TimeUnit.HOURS.toMillis(halfLifeHours);
+        this.lambda = Math.log(2) / halfLifeMillis;
+        this.publishWeight = publishWeight;
+        this.voteWeights = Map.of("USEFUL", usefulWeight, "INTEREST", interestWeight);
+        voteCounters.addListener(this::votesFlushed);
+    }
+
+    // Scores are decayed to now; `fieldId` narrows the ranking to one field
+    public List<Scored> top(String newsType, Long fieldId, int limit) {
+        Index current = index;
+        ConcurrentSkipListSet<Ranked> set = current.sets().get(key(newsType, fieldId));
+        if (set == null) return List.of();
+        double decay = Math.exp(-lambda * (System.currentTimeMillis() - current.epoch()));
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<Scored> result = new ArrayList<>(size);
+        Iterator<Ranked> it = set.iterator();
+        while (it.hasNext() && result.size() < size) {
+            Ranked ranked = it.next();
+            result.add(new Scored(ranked.id(), ranked.score() * decay));
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void track(NewsResponse item) {
+        Entry entry = entries.get(item.getId());
+        if (entry != null && Objects.equals(entry.newsType, item.getNewsType())
+                && Objects.equals(entry.fieldId, item.getFieldId())) {
+            return;
+        }
+        double score;
+        if (entry != null) {
+            score = entry.ranked.score();
+            unindex(entry);
+        } else {
+            score = publishWeight * weightAt(millis(item.getPublishedAt()));
+            Double votes = bootstrap.remove(item.getId());
+            if (votes != null) score += votes;
+        }
+        Entry tracked = new Entry(item.getNewsType(), item.getFieldId());
+        tracked.ranked = new Ranked(score, item.getId());
+        entries.put(item.getId(), tracked);
+        index(tracked);
+    }
+
+    @Override
+    public synchronized void untrack(Collection<Long> ids) {
+        for (Long id : ids) {
+            Entry entry = entries.remove(id);
+            if (entry != null) unindex(entry);
+        }
+    }
+
+    @Override
+    public synchronized void retainOnly(Collection<NewsResponse> items) {
+        Set<Long> keep = new HashSet<>();
+        for (NewsResponse item : items) {
+            keep.add(item.getId());
+            track(item);
+        }
+        untrack(entries.keySet().stream().filter(id -> !keep.contains(id)).toList());
+    }
+
+    // Votes still in the ledger window, so a restart doesn't reset the ranking
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadVotes() {
+        Map<Long, Double> scores = new HashMap<>();
+        long epoch = index.epoch();
+        LocalDateTime since = LocalDateTime.now().minusSeconds(TimeUnit.MILLISECONDS.toSeconds(10 * halfLifeMillis));
+        try {
+            jdbcTemplate.query("SELECT item_id, vote_type, created_at FROM votes WHERE target LIKE 'news.%' AND created_at > ?",
+                    rs -> {
+                        double weight = voteWeights.getOrDefault(rs.getString(2), 0.0);
+                        long at = rs.getTimestamp(3).getTime();
+                        scores.merge(rs.getLong(1), weight * Math.exp(lambda * (at - epoch)), Double::sum);
+                    },
+                    Timestamp.valueOf(since));
+        } catch (DataAccessException e) {
+            log.warn("Failed to load votes for trending: {}", e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            // Rebased while loading: bring the scores to the new reference time
+            double factor = Math.exp(-lambda * (index.epoch() - epoch));
+            scores.forEach((id, score) -> {
+                Entry entry = entries.get(id);
+                if (entry != null) {
+                    rescore(entry, entry.ranked.score() + score * factor);
+                } else {
+                    bootstrap.merge(id, score * factor, Double::sum);
+                }
+            });
+        }
+        log.info("Trending scores loaded from {} voted news items", scores.size());
+    }
+
+    // Moves the reference time to now so stored scores stay small; the order is unchanged
+    @Scheduled(fixedRateString = "${app.trending.rebase-interval-ms:3600000}")
+    public synchronized void rebase() {
+        long now = System.currentTimeMillis();
+        double factor = Math.exp(-lambda * (now - index.epoch()));
+        Map<String, ConcurrentSkipListSet<Ranked>> sets = new ConcurrentHashMap<>();
+        entries.values().forEach(entry -> {
+            entry.ranked = new Ranked(entry.ranked.score() * factor, entry.ranked.id());
+            for (String key : keys(entry)) {
+                sets.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>(ORDER)).add(entry.ranked);
+            }
+        });
+        // Anything not handed over by now isn't published
+        bootstrap.clear();
+        index = new Index(now, sets);
+    }
+
+    private synchronized void votesFlushed(VoteCounters.Target target, Map<Long, Long> deltas) {
+        if (!"news".equals(target.table())) return;
+        double weight = voteWeights.getOrDefault(target.voteType(), 0.0) * weightAt(System.currentTimeMillis());
+        deltas.forEach((id, delta) -> {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                // Deltas can be negative when a repeat vote is taken back
+                rescore(entry, Math.max(0, entry.ranked.score() + delta * weight));
+            }
+        });
+    }
+
+    private void rescore(Entry entry, double score) {
+        unindex(entry);
+        entry.ranked = new Ranked(score, entry.ranked.id());
+        index(entry);
+    }
+
+    private void index(Entry entry) {
+        for (String key : keys(entry)) {
+            index.sets().computeIfAbsent(key, k -> new ConcurrentSkipListSet<>(ORDER)).add(entry.ranked);
+        }
+    }
+
+    private void unindex(Entry entry) {
+        for (String key : keys(entry)) {
+            ConcurrentSkipListSet<Ranked> set = index.sets().get(key);
+            if (set != null) set.remove(entry.ranked);
+        }
+    }
+
+    private double weightAt(long millis) {
+        return Math.exp(lambda * (millis - index.epoch()));
+    }
+
+    private static List<String> keys(Entry entry) {
+        return entry.fieldId == null
+                ? List.of(key(entry.newsType, null))
+                : List.of(key(entry.newsType, null), key(entry.newsType, entry.fieldId));
+    }
+
+    private static String key(String newsType, Long fieldId) {
+        return fieldId == null ? newsType : newsType + "/" + fieldId;
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -2,7 +2,10 @@ package com.abc.question_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
 @SpringBootApplication
+@EnableScheduling
 public class QuestionServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(QuestionServiceApplication.class, args);
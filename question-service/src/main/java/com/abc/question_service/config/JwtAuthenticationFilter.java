@@ -1,32 +1,27 @@
 package com.abc.question_service.config;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import com.abc.service_common.security.GatewayIdentityVerifier;
+import com.abc.service_common.security.VerifiedTokenCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.security.Key;
-import javax.crypto.SecretKey;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final Key jwtSecretKey;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final GatewayIdentityVerifier gatewayIdentityVerifier;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -57,6 +52,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        var gatewayAuthentication = gatewayIdentityVerifier.authenticate(request);
+        if (gatewayAuthentication != null) {
+            SecurityContextHolder.getContext().setAuthentication(gatewayAuthentication);
+            log.debug("JWT Filter - Authentication set from gateway headers for user: {}", gatewayAuthentication.getName());
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         String header = request.getHeader("Authorization");
 
         if (header == null || !header.startsWith("Bearer ")) {
@@ -67,30 +70,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = header.replace("Bearer ", "");
 
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith((SecretKey) jwtSecretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-
-            String userId = claims.getSubject();
-            List<String> roles = claims.get("roles", List.class);
-
-            if (userId != null && roles != null) {
-                List<SimpleGrantedAuthority> authorities = roles.stream()
-                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                        .collect(Collectors.toList());
-
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userId, null, authorities);
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("JWT Filter - Authentication set for user: {} with roles: {}", userId, authorities);
-            }
-
-        } catch (Exception e) {
-            log.error("JWT validation failed: {}", e.getMessage());
+        Authentication authentication = verifiedTokenCache.authenticate(token);
+        if (authentication != null) {
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            log.debug("JWT Filter - Authentication set for user: {} with roles: {}",
+                    authentication.getName(), authentication.getAuthorities());
+        } else {
+            log.error("JWT validation failed");
             SecurityContextHolder.clearContext();
         }
 
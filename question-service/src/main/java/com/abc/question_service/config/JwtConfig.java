@@ -1,35 +1,55 @@
 package com.abc.question_service.config;
 
-import io.jsonwebtoken.security.Keys;
+import com.abc.service_common.security.GatewayIdentityVerifier;
+import com.abc.service_common.security.JwksKeyLocator;
+import com.abc.service_common.security.VerifiedTokenCache;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-
-import java.nio.charset.StandardCharsets;
-import java.security.Key;
-import java.util.Base64;
+import org.springframework.web.client.RestClient;
 
 @Configuration
 public class JwtConfig {
 
-    @Value("${jwt.secret}")
+    @Value("${jwt.secret:}")
     private String jwtSecret;
 
+    @Value("${jwt.accept-hs256:false}")
+    private boolean acceptHs256;
+
+    @Value("${jwt.jwks-uri:http://auth-service:8081/.well-known/jwks.json}")
+    private String jwksUri;
+
+    @Value("${jwt.jwks-min-refresh-interval-ms:30000}")
+    private long jwksMinRefreshIntervalMillis;
+
+    // RS256 keys from auth-service's JWK set, plus the shared secret for HS256 tokens while accepted
     @Bean
-    public Key jwtSecretKey() {
-        if (jwtSecret == null || jwtSecret.isBlank()) {
+    public JwksKeyLocator jwksKeyLocator(RestClient.Builder restClientBuilder) {
+        if (acceptHs256 && (jwtSecret == null || jwtSecret.isBlank())) {
             throw new IllegalStateException("jwt.secret is missing or empty");
         }
-        byte[] keyBytes;
-        try {
-            keyBytes = Base64.getDecoder().decode(jwtSecret);
-        } catch (IllegalArgumentException ex) {
-            keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        }
-        if (keyBytes.length < 32) {
-            throw new IllegalStateException("jwt.secret must be at least 32 bytes for HS256");
-        }
-        return Keys.hmacShaKeyFor(keyBytes);
+        return new JwksKeyLocator(restClientBuilder.build(), jwksUri, acceptHs256 ? jwtSecret : null,
+                jwksMinRefreshIntervalMillis);
     }
-}
 
+    // One pre-built parser for the filter, fronted by a cache of already verified tokens
+    @Bean
+    public VerifiedTokenCache verifiedTokenCache(JwksKeyLocator jwksKeyLocator,
+                                                 @Value("${app.security.verified-token-cache.max-entries:10000}") int maxEntries,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        VerifiedTokenCache cache = new VerifiedTokenCache(Jwts.parser().keyLocator(jwksKeyLocator).build(), maxEntries);
+        meterRegistry.ifAvailable(cache::bindTo);
+        return cache;
+    }
+
+    // Checks the gateway's signed X-User-* headers; needs its own secret once trust mode is on
+    @Bean
+    public GatewayIdentityVerifier gatewayIdentityVerifier(@Value("${app.security.trust-gateway-headers:false}") boolean enabled,
+                                                           @Value("${app.security.gateway-identity-secret:}") String secret) {
+        return new GatewayIdentityVerifier(enabled, secret, jwtSecret);
+    }
+}
@@ -1,6 +1,7 @@
 package com.abc.question_service.controller;
 
 import com.abc.question_service.dto.*;
+import com.abc.question_service.service.QuestionSearchIndex;
 import com.abc.question_service.service.QuestionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,7 +16,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -44,7 +47,10 @@ public class QuestionController {
     @Operation(summary = "Get all fields", description = "Retrieve paginated list of all fields")
     @ApiResponse(responseCode = "200", description = "Fields retrieved successfully")
     public Page<FieldResponse> getAllFields(
-        @Parameter(description = "Pagination parameters") Pageable pageable) { 
+        @Parameter(description = "Pagination parameters") Pageable pageable, WebRequest webRequest) { 
+        if (notModified(webRequest)) {
+            return null;
+        }
         return svc.getAllFields(pageable); 
     }
     
@@ -55,7 +61,10 @@ public class QuestionController {
         @ApiResponse(responseCode = "404", description = "Field not found")
     })
     public FieldResponse getFieldById(
-        @Parameter(description = "Field ID") @PathVariable Long id) { 
+        @Parameter(description = "Field ID") @PathVariable Long id, WebRequest webRequest) { 
+        if (notModified(webRequest)) {
+            return null;
+        }
         return svc.getFieldById(id); 
     }
     
@@ -108,7 +117,10 @@ public class QuestionController {
     @Operation(summary = "Get all topics", description = "Retrieve paginated list of all topics with field names")
     @ApiResponse(responseCode = "200", description = "Topics retrieved successfully")
     public Page<TopicResponse> getAllTopics(
-        @Parameter(description = "Pagination parameters") Pageable pageable) { 
+        @Parameter(description = "Pagination parameters") Pageable pageable, WebRequest webRequest) { 
+        if (notModified(webRequest)) {
+            return null;
+        }
         return svc.getAllTopics(pageable); 
     }
     
@@ -119,7 +131,10 @@ public class QuestionController {
         @ApiResponse(responseCode = "404", description = "Topic not found")
     })
     public TopicResponse getTopicById(
-        @Parameter(description = "Topic ID") @PathVariable Long id) { 
+        @Parameter(description = "Topic ID") @PathVariable Long id, WebRequest webRequest) { 
+        if (notModified(webRequest)) {
+            return null;
+        }
         return svc.getTopicById(id); 
     }
     
@@ -164,14 +179,20 @@ public class QuestionController {
     @GetMapping("/levels")
     @Operation(summary = "Get all levels", description = "Retrieve paginated list of all difficulty levels")
     public Page<LevelResponse> getAllLevels(
-        @Parameter(description = "Pagination parameters") Pageable pageable) { 
+        @Parameter(description = "Pagination parameters") Pageable pageable, WebRequest webRequest) { 
+        if (notModified(webRequest)) {
+            return null;
+        }
         return svc.getAllLevels(pageable); 
     }
     
     @GetMapping("/levels/{id}")
     @Operation(summary = "Get level by ID", description = "Retrieve a specific level by its ID")
     public LevelResponse getLevelById(
-        @Parameter(description = "Level ID") @PathVariable Long id) { 
+        @Parameter(description = "Level ID") @PathVariable Long id, WebRequest webRequest) { 
+        if (notModified(webRequest)) {
+            return null;
+        }
         return svc.getLevelById(id); 
     }
     
@@ -206,14 +227,20 @@ public class QuestionController {
     @GetMapping("/question-types")
     @Operation(summary = "Get all question types", description = "Retrieve paginated list of all question types")
     public Page<QuestionTypeResponse> getAllQuestionTypes(
-        @Parameter(description = "Pagination parameters") Pageable pageable) { 
+        @Parameter(description = "Pagination parameters") Pageable pageable, WebRequest webRequest) { 
+        if (notModified(webRequest)) {
+            return null;
+        }
         return svc.getAllQuestionTypes(pageable); 
     }
     
     @GetMapping("/question-types/{id}")
     @Operation(summary = "Get question type by ID", description = "Retrieve a specific question type by its ID")
     public QuestionTypeResponse getQuestionTypeById(
-        @Parameter(description = "Question Type ID") @PathVariable Long id) { 
+        @Parameter(description = "Question Type ID") @PathVariable Long id, WebRequest webRequest) { 
+        if (notModified(webRequest)) {
+            return null;
+        }
         return svc.getQuestionTypeById(id); 
     }
     
@@ -235,6 +262,12 @@ public class QuestionController {
         svc.deleteQuestionType(id); 
     }
 
+    // Taxonomy GETs share one content-derived ETag; If-None-Match hits return 304 without a body
+    private boolean notModified(WebRequest webRequest) {
+        String etag = svc.getTaxonomyEtag();
+        return etag != null && webRequest.checkNotModified(etag);
+    }
+
     // ==================== QUESTIONS ====================
     @PostMapping
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
@@ -244,6 +277,14 @@ public class QuestionController {
     public Page<QuestionResponse> getAllQuestions(Pageable pageable) { 
         return svc.getAllQuestions(pageable); 
     }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "List questions by cursor", description = "Keyset-paginated listing, newest first, without a total count")
+    public CursorPageResponse<QuestionResponse> listQuestionsAfter(
+        @Parameter(description = "Opaque cursor from the previous slice") @RequestParam(required = false) String after,
+        @Parameter(description = "Slice size (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return svc.listQuestionsAfter(after, size);
+    }
     
     @GetMapping("/{id:[0-9]+}")
     public QuestionResponse getQuestionById(@PathVariable Long id) { return svc.getQuestionById(id); }
@@ -267,12 +308,57 @@ public class QuestionController {
     @PostMapping("/{id}/reject")
     @PreAuthorize("hasRole('ADMIN')")
     public QuestionResponse reject(@PathVariable Long id, @RequestParam Long adminId) { return svc.rejectQuestion(id, adminId); }
+
+    @PostMapping("/{id}/vote")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Vote on a question", description = "USEFUL or UNUSEFUL, once per user; counts are written in batches and lag by about a second")
+    public VoteResponse voteQuestion(@PathVariable Long id, @RequestParam String voteType, Authentication authentication) {
+        return svc.voteQuestion(id, Long.valueOf(authentication.getName()), voteType);
+    }
     
+    @GetMapping("/search")
+    @Operation(summary = "Search questions", description = "Full-text search over question content and answers, ranked by BM25 relevance")
+    @ApiResponse(responseCode = "200", description = "Search results in relevance order")
+    public Page<QuestionResponse> search(
+        @Parameter(description = "Search text") @RequestParam String q,
+        @Parameter(description = "Filter by field ID") @RequestParam(required = false) Long fieldId,
+        @Parameter(description = "Filter by topic ID") @RequestParam(required = false) Long topicId,
+        @Parameter(description = "Filter by level ID") @RequestParam(required = false) Long levelId,
+        @Parameter(description = "Filter by question type ID") @RequestParam(required = false) Long questionTypeId,
+        @Parameter(description = "Filter by status (PENDING/APPROVED/REJECTED)") @RequestParam(required = false) String status,
+        @Parameter(description = "Filter by language, also selects the query analyzer") @RequestParam(required = false) String language,
+        @Parameter(description = "Pagination parameters") Pageable pageable) {
+        return svc.searchQuestions(q,
+                new QuestionSearchIndex.SearchFilter(fieldId, topicId, levelId, questionTypeId, status, language),
+                pageable);
+    }
+
+    // Internal: compact keyset feed consumed by exam-service's question pool
+    @GetMapping("/internal/candidates")
+    public java.util.List<QuestionCandidateResponse> listCandidates(@RequestParam(defaultValue = "APPROVED") String status,
+                                                                   @RequestParam(defaultValue = "0") Long afterId,
+                                                                   @RequestParam(defaultValue = "1000") int size) {
+        return svc.listCandidates(status, afterId, size);
+    }
+
+    // Internal: batched grading keys consumed by exam-service's auto-grader
+    @GetMapping("/internal/answer-keys")
+    public java.util.List<AnswerKeyResponse> getAnswerKeys(@RequestParam java.util.List<Long> ids) {
+        return svc.getAnswerKeys(ids);
+    }
+
     @GetMapping("/topics/{topicId}/questions")
     public Page<QuestionResponse> listByTopic(@PathVariable Long topicId, Pageable pageable) { 
         return svc.listQuestionsByTopic(topicId, pageable); 
     }
 
+    @GetMapping("/topics/{topicId}/questions/cursor")
+    public CursorPageResponse<QuestionResponse> listByTopicAfter(@PathVariable Long topicId,
+                                                                @RequestParam(required = false) String after,
+                                                                @RequestParam(defaultValue = "20") int size) {
+        return svc.listQuestionsByTopicAfter(topicId, after, size);
+    }
+
     // Answers
     @PostMapping("/answers")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
@@ -296,6 +382,20 @@ public class QuestionController {
     @PreAuthorize("hasRole('ADMIN')")
     public AnswerResponse markSample(@PathVariable Long id, @RequestParam boolean isSample) { return svc.markSampleAnswer(id, isSample); }
 
+    @PostMapping("/answers/{id}/vote")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Vote on an answer", description = "USEFUL or UNUSEFUL, once per user; counts are written in batches and lag by about a second")
+    public VoteResponse voteAnswer(@PathVariable Long id, @RequestParam String voteType, Authentication authentication) {
+        return svc.voteAnswer(id, Long.valueOf(authentication.getName()), voteType);
+    }
+
     @GetMapping("/{questionId}/answers")
     public Page<AnswerResponse> listAnswers(@PathVariable Long questionId, Pageable pageable) { return svc.listAnswersByQuestion(questionId, pageable); }
+
+    @GetMapping("/{questionId}/answers/cursor")
+    public CursorPageResponse<AnswerResponse> listAnswersAfter(@PathVariable Long questionId,
+                                                              @RequestParam(required = false) String after,
+                                                              @RequestParam(defaultValue = "20") int size) {
+        return svc.listAnswersByQuestionAfter(questionId, after, size);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.abc.question_service.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+// What exam-service needs to grade a submitted answer: the question text, its reference
+// answer and every answer marked correct
+@Data
+public class AnswerKeyResponse {
+    private Long id;
+    private Long questionTypeId;
+    private String questionTypeName;
+    private String questionContent;
+    private String referenceAnswer;
+    private String language;
+    private List<String> correctAnswers;
+}
@@ -9,4 +9,7 @@ public class LevelResponse {
     private Long id;
     private String name;
     private String description;
+    // Elo range the level is meant for
+    private Integer minScore;
+    private Integer maxScore;
 }
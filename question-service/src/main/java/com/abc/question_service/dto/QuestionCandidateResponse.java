@@ -0,0 +1,18 @@
+package com.abc.question_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Compact projection used by exam-service to keep a local pool of assemblable questions
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionCandidateResponse {
+    private Long id;
+    private Long topicId;
+    private Long fieldId;
+    private Long levelId;
+    private Long questionTypeId;
+    private String language;
+}
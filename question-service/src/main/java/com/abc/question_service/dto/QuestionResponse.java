@@ -16,6 +16,7 @@ public class QuestionResponse {
     private String questionContent;
     private String questionAnswer;
     private Double similarityScore;
+    private Long similarQuestionId;
     private String status;
     private String language;
     private LocalDateTime createdAt;
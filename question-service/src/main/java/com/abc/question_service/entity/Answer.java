@@ -11,7 +11,9 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "answers")
+@Table(name = "answers", indexes = {
+        @Index(name = "idx_answers_question_id_id", columnList = "question_id, id")
+})
 public class Answer {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,7 +29,10 @@ public class Answer {
     private String content;
     private Boolean isCorrect;
     private Double similarityScore;
+    // Written only by VoteCounters' "SET col = col + ?" flush; entity saves must not overwrite them
+    @Column(updatable = false)
     private Integer usefulVote;
+    @Column(updatable = false)
     private Integer unusefulVote;
     private Boolean isSampleAnswer;
     private Integer orderNumber;
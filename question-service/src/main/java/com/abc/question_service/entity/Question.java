@@ -11,7 +11,9 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "questions")
+@Table(name = "questions", indexes = {
+        @Index(name = "idx_questions_topic_id_id", columnList = "topic_id, id")
+})
 public class Question {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -34,12 +36,16 @@ public class Question {
     @Column(columnDefinition = "text")
     private String questionAnswer;
     private Double similarityScore;
+    private Long similarQuestionId; // closest APPROVED/PENDING question at submit time
     private String status; // PENDING/APPROVED/REJECTED
     private String language;
     private LocalDateTime createdAt;
     private LocalDateTime approvedAt;
     private Long approvedBy;
+    // Written only by VoteCounters' "SET col = col + ?" flush; entity saves must not overwrite them
+    @Column(updatable = false)
     private Integer usefulVote;
+    @Column(updatable = false)
     private Integer unusefulVote;
 }
 
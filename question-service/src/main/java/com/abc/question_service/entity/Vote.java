@@ -0,0 +1,27 @@
+package com.abc.question_service.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Ledger of accepted votes, one row per (target, item, user); written in batches by VoteCounters
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "votes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_votes_target_item_user", columnNames = {"target", "item_id", "user_id"})
+})
+public class Vote {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String target; // dedup scope, e.g. question or answer
+    private Long itemId;
+    private Long userId;
+    private String voteType;
+    private LocalDateTime createdAt;
+}
@@ -3,10 +3,21 @@ package com.abc.question_service.repository;
 import com.abc.question_service.entity.Answer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface AnswerRepository extends JpaRepository<Answer, Long> {
     Page<Answer> findByQuestionId(Long questionId, Pageable pageable);
+
+    Slice<Answer> findByQuestionIdAndIdGreaterThanOrderByIdAsc(Long questionId, Long id, Pageable pageable);
+
+    @Query("SELECT a FROM Answer a WHERE a.question.id IN :questionIds AND a.isCorrect = true ORDER BY a.orderNumber")
+    List<Answer> findCorrectByQuestionIdIn(@Param("questionIds") Collection<Long> questionIds);
 }
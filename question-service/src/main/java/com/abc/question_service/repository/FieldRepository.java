@@ -4,6 +4,9 @@ import com.abc.question_service.entity.Field;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface FieldRepository extends JpaRepository<Field, Long> {
+    List<Field> findAllByOrderByIdAsc();
 }
@@ -4,6 +4,9 @@ import com.abc.question_service.entity.Level;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface LevelRepository extends JpaRepository<Level, Long> {
+    List<Level> findAllByOrderByIdAsc();
 }
@@ -1,14 +1,17 @@
 package com.abc.question_service.repository;
 
+import com.abc.question_service.dto.QuestionCandidateResponse;
 import com.abc.question_service.entity.Question;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,6 +22,13 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     
     @EntityGraph(attributePaths = {"field", "topic", "level", "questionType"})
     Page<Question> findByTopicId(Long topicId, Pageable pageable);
+
+    // Keyset (seek) listings: newest first, no count query
+    @EntityGraph(attributePaths = {"field", "topic", "level", "questionType"})
+    Slice<Question> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"field", "topic", "level", "questionType"})
+    Slice<Question> findByTopicIdAndIdLessThanOrderByIdDesc(Long topicId, Long id, Pageable pageable);
     
     @Query("SELECT q FROM Question q " +
            "LEFT JOIN FETCH q.field " +
@@ -27,4 +37,27 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
            "LEFT JOIN FETCH q.questionType " +
            "WHERE q.id = :id")
     Question findByIdWithRelationships(@Param("id") Long id);
+
+    @Query("SELECT q FROM Question q " +
+           "LEFT JOIN FETCH q.field " +
+           "LEFT JOIN FETCH q.topic " +
+           "LEFT JOIN FETCH q.level " +
+           "LEFT JOIN FETCH q.questionType " +
+           "WHERE q.id IN :ids")
+    List<Question> findAllByIdWithRelationships(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT q FROM Question q WHERE q.id > :afterId ORDER BY q.id")
+    List<Question> findBatchAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.abc.question_service.dto.QuestionCandidateResponse(" +
+           "q.id, q.topic.id, q.field.id, q.level.id, q.questionType.id, q.language) " +
+           "FROM Question q WHERE q.status = :status AND q.id > :afterId ORDER BY q.id")
+    List<QuestionCandidateResponse> findCandidatesAfter(@Param("status") String status,
+                                                        @Param("afterId") Long afterId,
+                                                        Pageable pageable);
+
+    @Query("SELECT q FROM Question q WHERE q.status IN :statuses AND q.id > :afterId ORDER BY q.id")
+    List<Question> findBatchByStatusAfter(@Param("statuses") Collection<String> statuses,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
 }
@@ -4,6 +4,9 @@ import com.abc.question_service.entity.QuestionType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface QuestionTypeRepository extends JpaRepository<QuestionType, Long> {
+    List<QuestionType> findAllByOrderByIdAsc();
 }
@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface TopicRepository extends JpaRepository<Topic, Long> {
     
@@ -17,4 +19,7 @@ public interface TopicRepository extends JpaRepository<Topic, Long> {
     
     @EntityGraph(attributePaths = {"field"})
     Page<Topic> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"field"})
+    List<Topic> findAllByOrderByIdAsc();
 }
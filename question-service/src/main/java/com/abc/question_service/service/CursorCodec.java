@@ -0,0 +1,33 @@
+package com.abc.question_service.service;
+
+import com.abc.question_service.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Cursors are opaque to clients; today they wrap the last seen id, prefixed with a version
+// so the format can change without breaking cursors already handed out.
+public final class CursorCodec {
+    private static final String PREFIX = "v1:";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Long id) {
+        if (id == null) return null;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidRequestException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.abc.question_service.service;
+
+import com.abc.question_service.entity.Question;
+import com.abc.question_service.repository.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionDuplicateDetector {
+    // 32 bands x 4 rows puts the LSH candidate threshold at roughly (1/32)^(1/4) ~ 0.42 Jaccard,
+    // well below the 0.7 "is duplicate" cut-off the nlp-service uses.
+    private static final int NUM_HASHES = 128;
+    private static final int BANDS = 32;
+    private static final int ROWS = NUM_HASHES / BANDS;
+    private static final long PRIME = (1L << 31) - 1;
+    private static final long SEED = 0x5DEECE66DL;
+    private static final int BOOTSTRAP_BATCH_SIZE = 500;
+    static final List<String> TRACKED_STATUSES = List.of("APPROVED", "PENDING");
+
+    private static final long[] HASH_A = new long[NUM_HASHES];
+    private static final long[] HASH_B = new long[NUM_HASHES];
+
+    static {
+        Random random = new Random(SEED);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            HASH_A[i] = 1 + (random.nextLong() & Long.MAX_VALUE) % (PRIME - 1);
+            HASH_B[i] = (random.nextLong() & Long.MAX_VALUE) % PRIME;
+        }
+    }
+
+    private final QuestionRepository questionRepository;
+
+    private final Map<Long, int[]> signatures = new ConcurrentHashMap<>();
+    @SuppressWarnings("unchecked")
+    private final Map<Long, Set<Long>>[] buckets = new Map[BANDS];
+
+    {
+        for (int b = 0; b < BANDS; b++) {
+            buckets[b] = new ConcurrentHashMap<>();
+        }
+    }
+
+    public record Match(Long questionId, double similarity) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        synchronized (this) {
+            signatures.clear();
+            for (Map<Long, Set<Long>> band : buckets) {
+                band.clear();
+            }
+            long afterId = 0L;
+            List<Question> batch;
+            do {
+                batch = questionRepository.findBatchByStatusAfter(TRACKED_STATUSES, afterId, PageRequest.of(0, BOOTSTRAP_BATCH_SIZE));
+                for (Question q : batch) {
+                    putInternal(q.getId(), signature(q.getQuestionContent(), q.getLanguage()));
+                    afterId = q.getId();
+                }
+            } while (batch.size() == BOOTSTRAP_BATCH_SIZE);
+        }
+        log.info("Duplicate detector built with {} signatures in {} ms", signatures.size(), System.currentTimeMillis() - started);
+    }
+
+    // Returns the closest tracked question (excluding excludeId), or null when no LSH bucket
+    // collides. The similarity is the MinHash estimate of word-shingle Jaccard similarity.
+    public Match findClosest(String content, String language, Long excludeId) {
+        int[] sig = signature(content, language);
+        if (sig == null) return null;
+        Set<Long> candidates = new HashSet<>();
+        for (int b = 0; b < BANDS; b++) {
+            Set<Long> bucket = buckets[b].get(bandKey(sig, b));
+            if (bucket != null) candidates.addAll(bucket);
+        }
+        Long bestId = null;
+        int bestEqual = -1;
+        for (Long candidate : candidates) {
+            if (candidate.equals(excludeId)) continue;
+            int[] other = signatures.get(candidate);
+            if (other == null) continue;
+            int equal = 0;
+            for (int i = 0; i < NUM_HASHES; i++) {
+                if (sig[i] == other[i]) equal++;
+            }
+            if (equal > bestEqual || (equal == bestEqual && candidate < bestId)) {
+                bestEqual = equal;
+                bestId = candidate;
+            }
+        }
+        return bestId == null ? null : new Match(bestId, (double) bestEqual / NUM_HASHES);
+    }
+
+    public void track(Question question) {
+        Long id = question.getId();
+        if (!TRACKED_STATUSES.contains(question.getStatus())) {
+            untrack(id);
+            return;
+        }
+        int[] sig = signature(question.getQuestionContent(), question.getLanguage());
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                removeInternal(id);
+                if (sig != null) putInternal(id, sig);
+            }
+        });
+    }
+
+    public void untrack(Long questionId) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                removeInternal(questionId);
+            }
+        });
+    }
+
+    public int size() {
+        return signatures.size();
+    }
+
+    private void putInternal(Long id, int[] sig) {
+        if (sig == null) return;
+        signatures.put(id, sig);
+        for (int b = 0; b < BANDS; b++) {
+            buckets[b].computeIfAbsent(bandKey(sig, b), k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void removeInternal(Long id) {
+        int[] old = signatures.remove(id);
+        if (old == null) return;
+        for (int b = 0; b < BANDS; b++) {
+            long key = bandKey(old, b);
+            Set<Long> bucket = buckets[b].get(key);
+            if (bucket == null) continue;
+            bucket.remove(id);
+            if (bucket.isEmpty()) buckets[b].remove(key, bucket);
+        }
+    }
+
+    private static long bandKey(int[] sig, int band) {
+        long h = 1125899906842597L;
+        for (int r = band * ROWS; r < (band + 1) * ROWS; r++) {
+            h = 31 * h + sig[r];
+        }
+        return h;
+    }
+
+    // Shingles are word unigrams plus bigrams: questions are short, and bigrams alone make
+    // light rephrasings ("its main features" / "the main features of it") look unrelated.
+    static int[] signature(String content, String language) {
+        List<String> tokens = TextAnalyzer.tokenize(content, language).stream()
+                .filter(t -> t.indexOf('_') < 0)
+                .toList();
+        if (tokens.isEmpty()) return null;
+        Set<Integer> shingles = new HashSet<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            shingles.add(tokens.get(i).hashCode());
+            if (i + 1 < tokens.size()) {
+                shingles.add((tokens.get(i) + ' ' + tokens.get(i + 1)).hashCode());
+            }
+        }
+
+        int[] sig = new int[NUM_HASHES];
+        Arrays.fill(sig, Integer.MAX_VALUE);
+        for (int shingle : shingles) {
+            long x = shingle & 0x7FFFFFFFL;
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int h = (int) ((HASH_A[i] * x + HASH_B[i]) % PRIME);
+                if (h < sig[i]) sig[i] = h;
+            }
+        }
+        return sig;
+    }
+}
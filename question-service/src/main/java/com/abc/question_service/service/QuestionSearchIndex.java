@@ -0,0 +1,208 @@
+package com.abc.question_service.service;
+
+import com.abc.question_service.entity.Question;
+import com.abc.question_service.repository.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionSearchIndex {
+    private static final int BOOTSTRAP_BATCH_SIZE = 500;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Question text is what users search for; the reference answer only backs it up.
+    private static final int CONTENT_WEIGHT = 2;
+    private static final int ANSWER_WEIGHT = 1;
+
+    private final QuestionRepository questionRepository;
+
+    private final Map<Long, IndexedQuestion> documents = new HashMap<>();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    public record SearchFilter(Long fieldId, Long topicId, Long levelId, Long questionTypeId,
+                               String status, String language) {
+    }
+
+    public record SearchResult(List<Long> ids, long total) {
+    }
+
+    private record IndexedQuestion(Long id, Long fieldId, Long topicId, Long levelId, Long questionTypeId,
+                                   String status, String language, int length, Map<String, Integer> termFreqs) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        Map<Long, IndexedQuestion> loaded = new HashMap<>();
+        long afterId = 0L;
+        List<Question> batch;
+        do {
+            batch = questionRepository.findBatchAfter(afterId, PageRequest.of(0, BOOTSTRAP_BATCH_SIZE));
+            for (Question q : batch) {
+                loaded.put(q.getId(), analyze(q));
+                afterId = q.getId();
+            }
+        } while (batch.size() == BOOTSTRAP_BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            totalLength = 0;
+            loaded.values().forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Question search index built with {} questions in {} ms", loaded.size(), System.currentTimeMillis() - started);
+    }
+
+    public void index(Question question) {
+        IndexedQuestion doc = analyze(question);
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                removeInternal(doc.id());
+                put(doc);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long questionId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                removeInternal(questionId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public SearchResult search(String query, SearchFilter filter, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(TextAnalyzer.tokenize(query, filter.language()));
+        if (terms.isEmpty() || limit <= 0) {
+            return new SearchResult(List.of(), 0);
+        }
+        String language = filter.language() != null ? TextAnalyzer.normalizeLanguage(filter.language()) : null;
+
+        lock.readLock().lock();
+        try {
+            int n = documents.size();
+            if (n == 0) {
+                return new SearchResult(List.of(), 0);
+            }
+            double avgLength = (double) totalLength / n;
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting == null) continue;
+                double idf = Math.log(1 + (n - posting.size() + 0.5) / (posting.size() + 0.5));
+                for (Map.Entry<Long, Integer> e : posting.entrySet()) {
+                    IndexedQuestion doc = documents.get(e.getKey());
+                    if (!matches(doc, filter, language)) continue;
+                    int tf = e.getValue();
+                    double norm = K1 * (1 - B + B * doc.length() / avgLength);
+                    scores.merge(doc.id(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+
+            int wanted = offset + limit;
+            Comparator<Map.Entry<Long, Double>> byScore = Map.Entry.<Long, Double>comparingByValue()
+                    .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(byScore);
+            for (Map.Entry<Long, Double> e : scores.entrySet()) {
+                top.offer(e);
+                if (top.size() > wanted) top.poll();
+            }
+            List<Long> ranked = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                ranked.add(top.poll().getKey());
+            }
+            Collections.reverse(ranked);
+            List<Long> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+            return new SearchResult(page, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean matches(IndexedQuestion doc, SearchFilter filter, String language) {
+        return (filter.fieldId() == null || filter.fieldId().equals(doc.fieldId()))
+                && (filter.topicId() == null || filter.topicId().equals(doc.topicId()))
+                && (filter.levelId() == null || filter.levelId().equals(doc.levelId()))
+                && (filter.questionTypeId() == null || filter.questionTypeId().equals(doc.questionTypeId()))
+                && (filter.status() == null || filter.status().equalsIgnoreCase(doc.status()))
+                && (language == null || language.equals(doc.language()));
+    }
+
+    private IndexedQuestion analyze(Question q) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        int length = 0;
+        for (String token : TextAnalyzer.tokenize(q.getQuestionContent(), q.getLanguage())) {
+            termFreqs.merge(token, CONTENT_WEIGHT, Integer::sum);
+            length += CONTENT_WEIGHT;
+        }
+        for (String token : TextAnalyzer.tokenize(q.getQuestionAnswer(), q.getLanguage())) {
+            termFreqs.merge(token, ANSWER_WEIGHT, Integer::sum);
+            length += ANSWER_WEIGHT;
+        }
+        return new IndexedQuestion(
+                q.getId(),
+                q.getField() != null ? q.getField().getId() : null,
+                q.getTopic() != null ? q.getTopic().getId() : null,
+                q.getLevel() != null ? q.getLevel().getId() : null,
+                q.getQuestionType() != null ? q.getQuestionType().getId() : null,
+                q.getStatus(),
+                TextAnalyzer.normalizeLanguage(q.getLanguage()),
+                length,
+                termFreqs);
+    }
+
+    private void put(IndexedQuestion doc) {
+        documents.put(doc.id(), doc);
+        totalLength += doc.length();
+        doc.termFreqs().forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(doc.id(), tf));
+    }
+
+    private void removeInternal(Long id) {
+        IndexedQuestion existing = documents.remove(id);
+        if (existing == null) return;
+        totalLength -= existing.length();
+        for (String term : existing.termFreqs().keySet()) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting == null) continue;
+            posting.remove(id);
+            if (posting.isEmpty()) postings.remove(term);
+        }
+    }
+}
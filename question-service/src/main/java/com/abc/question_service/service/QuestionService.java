@@ -2,41 +2,73 @@ package com.abc.question_service.service;
 
 import com.abc.question_service.dto.*;
 import com.abc.question_service.entity.*;
+import com.abc.question_service.exception.InvalidRequestException;
 import com.abc.question_service.mapper.Mappers;
 import com.abc.question_service.repository.*;
+import com.abc.service_common.votes.VoteCounters;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class QuestionService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_CANDIDATE_BATCH_SIZE = 5000;
+    private static final int MAX_ANSWER_KEY_BATCH_SIZE = 500;
+    // One vote per user per question or answer, useful or not
+    private static final Map<String, VoteCounters.Target> QUESTION_VOTES = Map.of(
+            "USEFUL", new VoteCounters.Target("question", "USEFUL", "questions", "useful_vote"),
+            "UNUSEFUL", new VoteCounters.Target("question", "UNUSEFUL", "questions", "unuseful_vote"));
+    private static final Map<String, VoteCounters.Target> ANSWER_VOTES = Map.of(
+            "USEFUL", new VoteCounters.Target("answer", "USEFUL", "answers", "useful_vote"),
+            "UNUSEFUL", new VoteCounters.Target("answer", "UNUSEFUL", "answers", "unuseful_vote"));
+
     private final FieldRepository fieldRepository;
     private final TopicRepository topicRepository;
     private final LevelRepository levelRepository;
     private final QuestionTypeRepository questionTypeRepository;
     private final QuestionRepository questionRepository;
     private final AnswerRepository answerRepository;
+    private final QuestionSearchIndex questionSearchIndex;
+    private final QuestionDuplicateDetector duplicateDetector;
+    private final TaxonomyCache taxonomyCache;
+    private final VoteCounters voteCounters;
     private final Mappers mappers;
 
     // Field CRUD
     public FieldResponse createField(FieldRequest req) { 
-        return mappers.toResponse(fieldRepository.save(mappers.toEntity(req))); 
+        FieldResponse response = mappers.toResponse(fieldRepository.save(mappers.toEntity(req)));
+        taxonomyCache.invalidate();
+        return response;
     }
     
     public Page<FieldResponse> getAllFields(Pageable pageable) { 
-        return fieldRepository.findAll(pageable).map(mappers::toResponse); 
+        if (pageable.getSort().isSorted()) {
+            return fieldRepository.findAll(pageable).map(mappers::toResponse);
+        }
+        return TaxonomyCache.page(taxonomyCache.snapshot().fields(), pageable);
     }
     
     public FieldResponse getFieldById(Long id) {
-        Field field = fieldRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Field not found with id: " + id));
-        return mappers.toResponse(field);
+        FieldResponse field = taxonomyCache.snapshot().fieldsById().get(id);
+        if (field == null) {
+            throw new RuntimeException("Field not found with id: " + id);
+        }
+        return field;
     }
     
     @Transactional
@@ -45,7 +77,9 @@ public class QuestionService {
                 .orElseThrow(() -> new RuntimeException("Field not found with id: " + id));
         field.setName(req.getName());
         field.setDescription(req.getDescription());
-        return mappers.toResponse(fieldRepository.save(field));
+        FieldResponse response = mappers.toResponse(fieldRepository.save(field));
+        taxonomyCache.invalidate();
+        return response;
     }
     
     public void deleteField(Long id) {
@@ -53,25 +87,30 @@ public class QuestionService {
             throw new RuntimeException("Field not found with id: " + id);
         }
         fieldRepository.deleteById(id);
+        taxonomyCache.invalidate();
     }
     
     // Topic CRUD
     public TopicResponse createTopic(TopicRequest req) { 
         Topic topic = mappers.toEntity(req);
         topic = topicRepository.save(topic);
+        taxonomyCache.invalidate();
         return mappers.toResponse(topicRepository.findByIdWithField(topic.getId()));
     }
     
     public Page<TopicResponse> getAllTopics(Pageable pageable) { 
-        return topicRepository.findAll(pageable).map(mappers::toResponse); 
+        if (pageable.getSort().isSorted()) {
+            return topicRepository.findAll(pageable).map(mappers::toResponse);
+        }
+        return TaxonomyCache.page(taxonomyCache.snapshot().topics(), pageable);
     }
     
     public TopicResponse getTopicById(Long id) {
-        Topic topic = topicRepository.findByIdWithField(id);
+        TopicResponse topic = taxonomyCache.snapshot().topicsById().get(id);
         if (topic == null) {
             throw new RuntimeException("Topic not found with id: " + id);
         }
-        return mappers.toResponse(topic);
+        return topic;
     }
     
     @Transactional
@@ -80,9 +119,9 @@ public class QuestionService {
                 .orElseThrow(() -> new RuntimeException("Topic not found with id: " + id));
         topic.setName(req.getName());
         topic.setDescription(req.getDescription());
-        topic.setField(fieldRepository.findById(req.getFieldId())
-                .orElseThrow(() -> new RuntimeException("Field not found with id: " + req.getFieldId())));
+        topic.setField(fieldReference(req.getFieldId()));
         topic = topicRepository.save(topic);
+        taxonomyCache.invalidate();
         return mappers.toResponse(topicRepository.findByIdWithField(topic.getId()));
     }
     
@@ -91,21 +130,29 @@ public class QuestionService {
             throw new RuntimeException("Topic not found with id: " + id);
         }
         topicRepository.deleteById(id);
+        taxonomyCache.invalidate();
     }
     
     // Level CRUD
     public LevelResponse createLevel(LevelRequest req) { 
-        return mappers.toResponse(levelRepository.save(mappers.toEntity(req))); 
+        LevelResponse response = mappers.toResponse(levelRepository.save(mappers.toEntity(req)));
+        taxonomyCache.invalidate();
+        return response;
     }
     
     public Page<LevelResponse> getAllLevels(Pageable pageable) { 
-        return levelRepository.findAll(pageable).map(mappers::toResponse); 
+        if (pageable.getSort().isSorted()) {
+            return levelRepository.findAll(pageable).map(mappers::toResponse);
+        }
+        return TaxonomyCache.page(taxonomyCache.snapshot().levels(), pageable);
     }
     
     public LevelResponse getLevelById(Long id) {
-        Level level = levelRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Level not found with id: " + id));
-        return mappers.toResponse(level);
+        LevelResponse level = taxonomyCache.snapshot().levelsById().get(id);
+        if (level == null) {
+            throw new RuntimeException("Level not found with id: " + id);
+        }
+        return level;
     }
     
     public LevelResponse updateLevel(Long id, LevelRequest req) {
@@ -115,7 +162,9 @@ public class QuestionService {
         level.setDescription(req.getDescription());
         level.setMinScore(req.getMinScore());
         level.setMaxScore(req.getMaxScore());
-        return mappers.toResponse(levelRepository.save(level));
+        LevelResponse response = mappers.toResponse(levelRepository.save(level));
+        taxonomyCache.invalidate();
+        return response;
     }
     
     public void deleteLevel(Long id) {
@@ -123,21 +172,29 @@ public class QuestionService {
             throw new RuntimeException("Level not found with id: " + id);
         }
         levelRepository.deleteById(id);
+        taxonomyCache.invalidate();
     }
     
     // QuestionType CRUD
     public QuestionTypeResponse createQuestionType(QuestionTypeRequest req) { 
-        return mappers.toResponse(questionTypeRepository.save(mappers.toEntity(req))); 
+        QuestionTypeResponse response = mappers.toResponse(questionTypeRepository.save(mappers.toEntity(req)));
+        taxonomyCache.invalidate();
+        return response;
     }
     
     public Page<QuestionTypeResponse> getAllQuestionTypes(Pageable pageable) { 
-        return questionTypeRepository.findAll(pageable).map(mappers::toResponse); 
+        if (pageable.getSort().isSorted()) {
+            return questionTypeRepository.findAll(pageable).map(mappers::toResponse);
+        }
+        return TaxonomyCache.page(taxonomyCache.snapshot().questionTypes(), pageable);
     }
     
     public QuestionTypeResponse getQuestionTypeById(Long id) {
-        QuestionType questionType = questionTypeRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("QuestionType not found with id: " + id));
-        return mappers.toResponse(questionType);
+        QuestionTypeResponse questionType = taxonomyCache.snapshot().questionTypesById().get(id);
+        if (questionType == null) {
+            throw new RuntimeException("QuestionType not found with id: " + id);
+        }
+        return questionType;
     }
     
     public QuestionTypeResponse updateQuestionType(Long id, QuestionTypeRequest req) {
@@ -145,7 +202,9 @@ public class QuestionService {
                 .orElseThrow(() -> new RuntimeException("QuestionType not found with id: " + id));
         questionType.setName(req.getName());
         questionType.setDescription(req.getDescription());
-        return mappers.toResponse(questionTypeRepository.save(questionType));
+        QuestionTypeResponse response = mappers.toResponse(questionTypeRepository.save(questionType));
+        taxonomyCache.invalidate();
+        return response;
     }
     
     public void deleteQuestionType(Long id) {
@@ -153,6 +212,41 @@ public class QuestionService {
             throw new RuntimeException("QuestionType not found with id: " + id);
         }
         questionTypeRepository.deleteById(id);
+        taxonomyCache.invalidate();
+    }
+
+    public String getTaxonomyEtag() {
+        return taxonomyCache.etag();
+    }
+
+    // Reference data is validated against the in-memory snapshot and attached as a JPA
+    // reference, so question/answer writes no longer load four taxonomy rows each.
+    private Field fieldReference(Long id) {
+        if (!taxonomyCache.fieldExists(id)) {
+            throw new RuntimeException("Field not found with id: " + id);
+        }
+        return fieldRepository.getReferenceById(id);
+    }
+
+    private Topic topicReference(Long id) {
+        if (!taxonomyCache.topicExists(id)) {
+            throw new RuntimeException("Topic not found with id: " + id);
+        }
+        return topicRepository.getReferenceById(id);
+    }
+
+    private Level levelReference(Long id) {
+        if (!taxonomyCache.levelExists(id)) {
+            throw new RuntimeException("Level not found with id: " + id);
+        }
+        return levelRepository.getReferenceById(id);
+    }
+
+    private QuestionType questionTypeReference(Long id) {
+        if (!taxonomyCache.questionTypeExists(id)) {
+            throw new RuntimeException("QuestionType not found with id: " + id);
+        }
+        return questionTypeRepository.getReferenceById(id);
     }
 
     // Question CRUD
@@ -167,21 +261,26 @@ public class QuestionService {
         q.setUsefulVote(0);
         q.setUnusefulVote(0);
         q.setCreatedAt(LocalDateTime.now());
+        applyClosestMatch(q, null);
         
-        // Fetch related entities from DB
-        q.setTopic(topicRepository.findById(req.getTopicId())
-                .orElseThrow(() -> new RuntimeException("Topic not found with id: " + req.getTopicId())));
-        q.setField(fieldRepository.findById(req.getFieldId())
-                .orElseThrow(() -> new RuntimeException("Field not found with id: " + req.getFieldId())));
-        q.setLevel(levelRepository.findById(req.getLevelId())
-                .orElseThrow(() -> new RuntimeException("Level not found with id: " + req.getLevelId())));
-        q.setQuestionType(questionTypeRepository.findById(req.getQuestionTypeId())
-                .orElseThrow(() -> new RuntimeException("QuestionType not found with id: " + req.getQuestionTypeId())));
+        q.setTopic(topicReference(req.getTopicId()));
+        q.setField(fieldReference(req.getFieldId()));
+        q.setLevel(levelReference(req.getLevelId()));
+        q.setQuestionType(questionTypeReference(req.getQuestionTypeId()));
         
         q = questionRepository.save(q);
+        questionSearchIndex.index(q);
+        duplicateDetector.track(q);
         return mappers.toResponse(questionRepository.findByIdWithRelationships(q.getId()));
     }
 
+    private void applyClosestMatch(Question question, Long excludeId) {
+        QuestionDuplicateDetector.Match match = duplicateDetector.findClosest(
+                question.getQuestionContent(), question.getLanguage(), excludeId);
+        question.setSimilarityScore(match != null ? match.similarity() : 0.0);
+        question.setSimilarQuestionId(match != null ? match.questionId() : null);
+    }
+
     public Page<QuestionResponse> getAllQuestions(Pageable pageable) {
         return questionRepository.findAll(pageable).map(mappers::toResponse);
     }
@@ -202,15 +301,14 @@ public class QuestionService {
         question.setQuestionContent(req.getContent());
         question.setQuestionAnswer(req.getAnswer());
         question.setLanguage(req.getLanguage());
-        question.setTopic(topicRepository.findById(req.getTopicId())
-                .orElseThrow(() -> new RuntimeException("Topic not found with id: " + req.getTopicId())));
-        question.setField(fieldRepository.findById(req.getFieldId())
-                .orElseThrow(() -> new RuntimeException("Field not found with id: " + req.getFieldId())));
-        question.setLevel(levelRepository.findById(req.getLevelId())
-                .orElseThrow(() -> new RuntimeException("Level not found with id: " + req.getLevelId())));
-        question.setQuestionType(questionTypeRepository.findById(req.getQuestionTypeId())
-                .orElseThrow(() -> new RuntimeException("QuestionType not found with id: " + req.getQuestionTypeId())));
+        applyClosestMatch(question, id);
+        question.setTopic(topicReference(req.getTopicId()));
+        question.setField(fieldReference(req.getFieldId()));
+        question.setLevel(levelReference(req.getLevelId()));
+        question.setQuestionType(questionTypeReference(req.getQuestionTypeId()));
         question = questionRepository.save(question);
+        questionSearchIndex.index(question);
+        duplicateDetector.track(question);
         return mappers.toResponse(questionRepository.findByIdWithRelationships(question.getId()));
     }
     
@@ -219,6 +317,8 @@ public class QuestionService {
             throw new RuntimeException("Question not found with id: " + id);
         }
         questionRepository.deleteById(id);
+        questionSearchIndex.remove(id);
+        duplicateDetector.untrack(id);
     }
 
     public QuestionResponse approveQuestion(Long id, Long adminId) {
@@ -229,7 +329,10 @@ public class QuestionService {
         q.setStatus("APPROVED");
         q.setApprovedBy(adminId);
         q.setApprovedAt(LocalDateTime.now());
-        return mappers.toResponse(questionRepository.save(q));
+        q = questionRepository.save(q);
+        questionSearchIndex.index(q);
+        duplicateDetector.track(q);
+        return mappers.toResponse(q);
     }
 
     public QuestionResponse rejectQuestion(Long id, Long adminId) {
@@ -240,13 +343,77 @@ public class QuestionService {
         q.setStatus("REJECTED");
         q.setApprovedBy(adminId);
         q.setApprovedAt(LocalDateTime.now());
-        return mappers.toResponse(questionRepository.save(q));
+        q = questionRepository.save(q);
+        questionSearchIndex.index(q);
+        duplicateDetector.track(q);
+        return mappers.toResponse(q);
     }
     
     public Page<QuestionResponse> listQuestionsByTopic(Long topicId, Pageable pageable) {
         return questionRepository.findByTopicId(topicId, pageable).map(mappers::toResponse);
     }
 
+    public CursorPageResponse<QuestionResponse> listQuestionsAfter(String after, int size) {
+        long beforeId = after == null ? Long.MAX_VALUE : CursorCodec.decode(after);
+        Slice<Question> slice = questionRepository.findByIdLessThanOrderByIdDesc(beforeId, cursorPage(size));
+        return toCursorPage(slice.map(mappers::toResponse), QuestionResponse::getId);
+    }
+
+    public CursorPageResponse<QuestionResponse> listQuestionsByTopicAfter(Long topicId, String after, int size) {
+        long beforeId = after == null ? Long.MAX_VALUE : CursorCodec.decode(after);
+        Slice<Question> slice = questionRepository.findByTopicIdAndIdLessThanOrderByIdDesc(topicId, beforeId, cursorPage(size));
+        return toCursorPage(slice.map(mappers::toResponse), QuestionResponse::getId);
+    }
+
+    public List<QuestionCandidateResponse> listCandidates(String status, Long afterId, int size) {
+        return questionRepository.findCandidatesAfter(status, afterId == null ? 0L : afterId,
+                PageRequest.of(0, Math.max(1, Math.min(size, MAX_CANDIDATE_BATCH_SIZE))));
+    }
+
+    // Two queries regardless of how many questions are asked for
+    public List<AnswerKeyResponse> getAnswerKeys(List<Long> questionIds) {
+        if (questionIds.size() > MAX_ANSWER_KEY_BATCH_SIZE) {
+            throw new InvalidRequestException("Cannot request more than " + MAX_ANSWER_KEY_BATCH_SIZE + " answer keys at once");
+        }
+        List<Long> ids = questionIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<String>> correctByQuestion = answerRepository.findCorrectByQuestionIdIn(ids).stream()
+                .collect(Collectors.groupingBy(a -> a.getQuestion().getId(),
+                        Collectors.mapping(Answer::getContent, Collectors.toList())));
+        return questionRepository.findAllByIdWithRelationships(ids).stream().map(q -> {
+            AnswerKeyResponse key = new AnswerKeyResponse();
+            key.setId(q.getId());
+            if (q.getQuestionType() != null) {
+                key.setQuestionTypeId(q.getQuestionType().getId());
+                key.setQuestionTypeName(q.getQuestionType().getName());
+            }
+            key.setQuestionContent(q.getQuestionContent());
+            key.setReferenceAnswer(q.getQuestionAnswer());
+            key.setLanguage(q.getLanguage());
+            key.setCorrectAnswers(correctByQuestion.getOrDefault(q.getId(), List.of()));
+            return key;
+        }).toList();
+    }
+
+    public Page<QuestionResponse> searchQuestions(String query, QuestionSearchIndex.SearchFilter filter, Pageable pageable) {
+        QuestionSearchIndex.SearchResult result = questionSearchIndex.search(
+                query, filter, (int) pageable.getOffset(), pageable.getPageSize());
+        if (result.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, result.total());
+        }
+        // Only the requested page is loaded from the DB; ranking comes from the index
+        Map<Long, Question> byId = questionRepository.findAllByIdWithRelationships(result.ids()).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+        List<QuestionResponse> content = result.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(mappers::toResponse)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, result.total());
+    }
+
     // Answer CRUD
     @Transactional
     public AnswerResponse createAnswer(AnswerRequest req) {
@@ -263,8 +430,7 @@ public class QuestionService {
         // Fetch related entities from DB
         a.setQuestion(questionRepository.findById(req.getQuestionId())
                 .orElseThrow(() -> new RuntimeException("Question not found with id: " + req.getQuestionId())));
-        a.setQuestionType(questionTypeRepository.findById(req.getQuestionTypeId())
-                .orElseThrow(() -> new RuntimeException("QuestionType not found with id: " + req.getQuestionTypeId())));
+        a.setQuestionType(questionTypeReference(req.getQuestionTypeId()));
         
         return mappers.toResponse(answerRepository.save(a));
     }
@@ -286,8 +452,7 @@ public class QuestionService {
         answer.setIsCorrect(req.getIsCorrect());
         answer.setQuestion(questionRepository.findById(req.getQuestionId())
                 .orElseThrow(() -> new RuntimeException("Question not found with id: " + req.getQuestionId())));
-        answer.setQuestionType(questionTypeRepository.findById(req.getQuestionTypeId())
-                .orElseThrow(() -> new RuntimeException("QuestionType not found with id: " + req.getQuestionTypeId())));
+        answer.setQuestionType(questionTypeReference(req.getQuestionTypeId()));
         return mappers.toResponse(answerRepository.save(answer));
     }
     
@@ -298,6 +463,23 @@ public class QuestionService {
         answerRepository.deleteById(id);
     }
 
+    // Counted in memory and written with the next batch, so a vote costs no database round trip
+    public VoteResponse voteQuestion(Long id, Long userId, String voteType) {
+        return vote(QUESTION_VOTES, id, userId, voteType);
+    }
+
+    public VoteResponse voteAnswer(Long id, Long userId, String voteType) {
+        return vote(ANSWER_VOTES, id, userId, voteType);
+    }
+
+    private VoteResponse vote(Map<String, VoteCounters.Target> targets, Long id, Long userId, String voteType) {
+        VoteCounters.Target target = targets.get(voteType);
+        if (target == null) {
+            throw new InvalidRequestException("voteType must be USEFUL or UNUSEFUL");
+        }
+        return new VoteResponse(id, voteType, voteCounters.record(target, id, userId));
+    }
+
     public AnswerResponse markSampleAnswer(Long id, boolean isSample) {
         Answer a = answerRepository.findById(id).orElseThrow();
         a.setIsSampleAnswer(isSample);
@@ -307,4 +489,22 @@ public class QuestionService {
     public Page<AnswerResponse> listAnswersByQuestion(Long questionId, Pageable pageable) {
         return answerRepository.findByQuestionId(questionId, pageable).map(mappers::toResponse);
     }
+
+    public CursorPageResponse<AnswerResponse> listAnswersByQuestionAfter(Long questionId, String after, int size) {
+        long afterId = after == null ? 0L : CursorCodec.decode(after);
+        Slice<Answer> slice = answerRepository.findByQuestionIdAndIdGreaterThanOrderByIdAsc(questionId, afterId, cursorPage(size));
+        return toCursorPage(slice.map(mappers::toResponse), AnswerResponse::getId);
+    }
+
+    private static PageRequest cursorPage(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)));
+    }
+
+    private static <T> CursorPageResponse<T> toCursorPage(Slice<T> slice, Function<T, Long> idOf) {
+        List<T> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? CursorCodec.encode(idOf.apply(content.get(content.size() - 1)))
+                : null;
+        return new CursorPageResponse<>(content, content.size(), slice.hasNext(), nextCursor);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,174 @@
+package com.abc.question_service.service;
+
+import com.abc.question_service.dto.FieldResponse;
+import com.abc.question_service.dto.LevelResponse;
+import com.abc.question_service.dto.QuestionTypeResponse;
+import com.abc.question_service.dto.TopicResponse;
+import com.abc.question_service.mapper.Mappers;
+import com.abc.question_service.repository.FieldRepository;
+import com.abc.question_service.repository.LevelRepository;
+import com.abc.question_service.repository.QuestionTypeRepository;
+import com.abc.question_service.repository.TopicRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class TaxonomyCache {
+    private final FieldRepository fieldRepository;
+    private final TopicRepository topicRepository;
+    private final LevelRepository levelRepository;
+    private final QuestionTypeRepository questionTypeRepository;
+    private final Mappers mappers;
+    private final long ttlMillis;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot current;
+
+    public TaxonomyCache(FieldRepository fieldRepository,
+                         TopicRepository topicRepository,
+                         LevelRepository levelRepository,
+                         QuestionTypeRepository questionTypeRepository,
+                         Mappers mappers,
+                         @Value("${app.taxonomy-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.fieldRepository = fieldRepository;
+        this.topicRepository = topicRepository;
+        this.levelRepository = levelRepository;
+        this.questionTypeRepository = questionTypeRepository;
+        this.mappers = mappers;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public record Snapshot(long generation,
+                           String etag,
+                           long loadedAt,
+                           List<FieldResponse> fields,
+                           Map<Long, FieldResponse> fieldsById,
+                           List<TopicResponse> topics,
+                           Map<Long, TopicResponse> topicsById,
+                           List<LevelResponse> levels,
+                           Map<Long, LevelResponse> levelsById,
+                           List<QuestionTypeResponse> questionTypes,
+                           Map<Long, QuestionTypeResponse> questionTypesById) {
+    }
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = current;
+        if (snapshot != null && !isExpired(snapshot)) {
+            return snapshot;
+        }
+        synchronized (this) {
+            snapshot = current;
+            if (snapshot != null && !isExpired(snapshot)) {
+                return snapshot;
+            }
+            long gen = generation.get();
+            Snapshot loaded = load(gen);
+            // An invalidation that raced with the load means the data may already be stale
+            if (generation.get() == gen) {
+                current = loaded;
+            }
+            return loaded;
+        }
+    }
+
+    public String etag() {
+        return snapshot().etag();
+    }
+
+    // Called by every taxonomy write; the reload happens lazily on the next read.
+    public void invalidate() {
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            current = null;
+        });
+    }
+
+    // Another node may have created the row after our snapshot was taken, so a miss
+    // falls back to the DB once and drops the stale snapshot if the row exists.
+    public boolean fieldExists(Long id) {
+        return id != null && (snapshot().fieldsById().containsKey(id) || staleMiss(fieldRepository.existsById(id)));
+    }
+
+    public boolean topicExists(Long id) {
+        return id != null && (snapshot().topicsById().containsKey(id) || staleMiss(topicRepository.existsById(id)));
+    }
+
+    public boolean levelExists(Long id) {
+        return id != null && (snapshot().levelsById().containsKey(id) || staleMiss(levelRepository.existsById(id)));
+    }
+
+    public boolean questionTypeExists(Long id) {
+        return id != null && (snapshot().questionTypesById().containsKey(id) || staleMiss(questionTypeRepository.existsById(id)));
+    }
+
+    public static <T> Page<T> page(List<T> items, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(items);
+        }
+        int from = (int) Math.min(pageable.getOffset(), items.size());
+        int to = Math.min(from + pageable.getPageSize(), items.size());
+        return new PageImpl<>(items.subList(from, to), pageable, items.size());
+    }
+
+    private boolean staleMiss(boolean existsInDb) {
+        if (existsInDb) {
+            generation.incrementAndGet();
+            current = null;
+        }
+        return existsInDb;
+    }
+
+    private boolean isExpired(Snapshot snapshot) {
+        return ttlMillis > 0 && System.currentTimeMillis() - snapshot.loadedAt() > ttlMillis;
+    }
+
+    private Snapshot load(long gen) {
+        List<FieldResponse> fields = fieldRepository.findAllByOrderByIdAsc().stream().map(mappers::toResponse).toList();
+        List<TopicResponse> topics = topicRepository.findAllByOrderByIdAsc().stream().map(mappers::toResponse).toList();
+        List<LevelResponse> levels = levelRepository.findAllByOrderByIdAsc().stream().map(mappers::toResponse).toList();
+        List<QuestionTypeResponse> types = questionTypeRepository.findAllByOrderByIdAsc().stream().map(mappers::toResponse).toList();
+        log.debug("Taxonomy snapshot loaded: {} fields, {} topics, {} levels, {} question types",
+                fields.size(), topics.size(), levels.size(), types.size());
+        return new Snapshot(
+                gen,
+                contentEtag(fields, topics, levels, types),
+                System.currentTimeMillis(),
+                fields, byId(fields, FieldResponse::getId),
+                topics, byId(topics, TopicResponse::getId),
+                levels, byId(levels, LevelResponse::getId),
+                types, byId(types, QuestionTypeResponse::getId));
+    }
+
+    private static <T> Map<Long, T> byId(List<T> items, Function<T, Long> id) {
+        return items.stream().collect(Collectors.toUnmodifiableMap(id, Function.identity()));
+    }
+
+    // Derived from content rather than the local generation so every instance behind the
+    // gateway hands out the same ETag for the same data.
+    private static String contentEtag(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            }
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 8) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.abc.question_service.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class TextAnalyzer {
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Set<String> EN_STOPWORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "how", "in", "is", "it",
+            "of", "on", "or", "that", "the", "this", "to", "was", "what", "when", "which", "why", "with");
+
+    // Compared after diacritics are folded, so only syllables that stay unambiguous are listed
+    // ("co" could be "có" or "cơ" and is kept).
+    private static final Set<String> VI_STOPWORDS = Set.of(
+            "la", "va", "cua", "cac", "nhung", "mot", "trong", "duoc", "khi", "nao", "gi", "thi", "nay");
+
+    private TextAnalyzer() {
+    }
+
+    // Lower-cases, strips diacritics (so "cơ sở" matches "co so") and drops stopwords for the
+    // question language. Vietnamese words are multi-syllable, so adjacent syllables are also
+    // emitted as bigrams to keep phrase-like queries precise.
+    public static List<String> tokenize(String text, String language) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String lang = normalizeLanguage(language);
+        String folded = fold(text);
+        Set<String> stopwords = "vi".equals(lang) ? VI_STOPWORDS : EN_STOPWORDS;
+
+        String previous = null;
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar) {
+                if (start < 0) start = i;
+                continue;
+            }
+            if (start < 0) continue;
+            String word = folded.substring(start, i);
+            start = -1;
+            if (stopwords.contains(word)) {
+                previous = null;
+                continue;
+            }
+            if ("en".equals(lang)) {
+                word = stemEnglish(word);
+            }
+            tokens.add(word);
+            if ("vi".equals(lang) && previous != null) {
+                tokens.add(previous + "_" + word);
+            }
+            previous = word;
+        }
+        return tokens;
+    }
+
+    public static String normalizeLanguage(String language) {
+        if (language == null) return "en";
+        String lang = language.trim().toLowerCase(Locale.ROOT);
+        if (lang.startsWith("vi")) return "vi";
+        if (lang.startsWith("en")) return "en";
+        return lang;
+    }
+
+    static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .replace('\u0111', 'd')
+                .replace('\u0110', 'D')
+                .toLowerCase(Locale.ROOT);
+    }
+
+    // Minimal suffix stripping; enough to match "queries"/"query" and "indexes"/"index"
+    // without pulling in a full Porter stemmer.
+    private static String stemEnglish(String word) {
+        if (word.length() <= 3) return word;
+        if (word.endsWith("ies") && word.length() > 4) return word.substring(0, word.length() - 3) + "y";
+        if (word.endsWith("es") && (word.endsWith("sses") || word.endsWith("xes") || word.endsWith("ches") || word.endsWith("shes"))) {
+            return word.substring(0, word.length() - 2);
+        }
+        if (word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
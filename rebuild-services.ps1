@@ -14,7 +14,8 @@ $ErrorActionPreference = 'Stop'
 
 function Build-Service {
     param(
-        [Parameter(Mandatory = $true)][string]$Path
+        [Parameter(Mandatory = $true)][string]$Path,
+        [string]$Goal = 'package'
     )
 
     if (-not (Test-Path -LiteralPath $Path)) {
@@ -25,7 +26,7 @@ function Build-Service {
     Push-Location -LiteralPath $Path
     try {
         # Xây dựng mảng tham số cho mvn để tránh arg rỗng/encoding
-        $mvnArgs = @('clean', 'package')
+        $mvnArgs = @('clean', $Goal)
         if (-not $NoSkipTests) { $mvnArgs += '-DskipTests' }
 
         Write-Host ("Running: mvnw {0}" -f ($mvnArgs -join ' ')) -ForegroundColor DarkGray
@@ -80,6 +81,12 @@ if ($IncludeInfra) {
     Write-Host ""
 }
 
+# Shared library used by user/question/news-service; installed into the local Maven repo
+Write-Host "Installing service-common..." -ForegroundColor Yellow
+$total++
+if (Build-Service -Path 'service-common' -Goal 'install') { $ok++ } else { $fail++ }
+Write-Host ""
+
 Write-Host "Building business services..." -ForegroundColor Yellow
 foreach ($p in $services) {
     $total++
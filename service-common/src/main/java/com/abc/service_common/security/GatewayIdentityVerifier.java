@@ -0,0 +1,37 @@
+package com.abc.service_common.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Trusts the X-User-* identity headers the gateway adds after verifying the JWT at the edge.
+// Checking their HMAC is one short hash instead of a full JWT parse and verify per request.
+// Disabled unless trust mode is on; the gateway strips any client supplied copies, and the
+// signature stops anything that bypasses the gateway. With trust mode on, a missing secret or
+// one equal to jwt.secret fails startup (see IdentitySignature).
+public class GatewayIdentityVerifier {
+    private final IdentitySignature signature;
+
+    public GatewayIdentityVerifier(boolean enabled, String secret, String jwtSecret) {
+        this.signature = enabled ? new IdentitySignature(secret, jwtSecret) : null;
+    }
+
+    // Null when trust mode is off or the headers are missing, tampered with or expired;
+    // the caller then falls back to verifying the bearer token itself.
+    public Authentication authenticate(HttpServletRequest request) {
+        if (signature == null) return null;
+        String userId = request.getHeader(IdentitySignature.USER_ID);
+        String roles = request.getHeader(IdentitySignature.USER_ROLES);
+        if (!signature.verify(userId, roles, request.getHeader(IdentitySignature.USER_EXPIRES),
+                request.getHeader(IdentitySignature.USER_SIGNATURE))) {
+            return null;
+        }
+        List<SimpleGrantedAuthority> authorities = roles.isEmpty() ? List.of()
+                : Arrays.stream(roles.split(",")).map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList();
+        return new UsernamePasswordAuthenticationToken(userId, null, authorities);
+    }
+}
@@ -0,0 +1,95 @@
+package com.abc.service_common.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+// HMAC-SHA256 over "userId|roles|expiresAt", the X-User-* header format the gateway signs for
+// users. Services calling each other sign the same headers with a SERVICE role, so internal
+// endpoints can tell a call from a peer apart from one that came in from outside. The secret
+// is app.security.gateway-identity-secret and must not be jwt.secret: anyone holding the JWT
+// secret could otherwise mint identities too.
+public class IdentitySignature {
+    public static final String USER_ID = "X-User-Id";
+    public static final String USER_ROLES = "X-User-Roles";
+    public static final String USER_EXPIRES = "X-User-Expires";
+    public static final String USER_SIGNATURE = "X-User-Signature";
+    public static final String SERVICE_ROLE = "SERVICE";
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+
+    public IdentitySignature(String secret, String jwtSecret) {
+        this(secret, jwtSecret, "app.security.gateway-identity-secret");
+    }
+
+    // property: where the secret is configured, for the startup error messages
+    public IdentitySignature(String secret, String jwtSecret, String property) {
+        this.key = new SecretKeySpec(keyBytes(secret, jwtSecret, property), "HmacSHA256");
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String sign(String userId, String roles, long expiresAt) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest(userId, roles, expiresAt));
+    }
+
+    // The four headers for an identity valid for ttlSeconds from now
+    public Map<String, String> headers(String userId, String roles, long ttlSeconds) {
+        long expiresAt = Instant.now().getEpochSecond() + ttlSeconds;
+        return Map.of(USER_ID, userId, USER_ROLES, roles, USER_EXPIRES, Long.toString(expiresAt),
+                USER_SIGNATURE, sign(userId, roles, expiresAt));
+    }
+
+    // False when a value is missing or malformed, the signature doesn't match or it has expired
+    public boolean verify(String userId, String roles, String expires, String signature) {
+        if (userId == null || roles == null || expires == null || signature == null) return false;
+        long expiresAt;
+        byte[] given;
+        try {
+            expiresAt = Long.parseLong(expires);
+            given = Base64.getUrlDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (expiresAt <= Instant.now().getEpochSecond()) return false;
+        return MessageDigest.isEqual(digest(userId, roles, expiresAt), given);
+    }
+
+    private byte[] digest(String userId, String roles, long expiresAt) {
+        return mac.get().doFinal((userId + "|" + roles + "|" + expiresAt).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance("HmacSHA256");
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static byte[] keyBytes(String secret, String jwtSecret, String property) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException(property + " is missing or empty");
+        }
+        if (secret.equals(jwtSecret)) {
+            throw new IllegalStateException(property + " must differ from jwt.secret");
+        }
+        byte[] keyBytes;
+        try {
+            keyBytes = Base64.getDecoder().decode(secret);
+        } catch (IllegalArgumentException ex) {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        if (keyBytes.length < 32) {
+            throw new IllegalStateException(property + " must be at least 32 bytes");
+        }
+        return keyBytes;
+    }
+}
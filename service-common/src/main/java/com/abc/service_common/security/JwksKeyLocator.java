@@ -0,0 +1,142 @@
+package com.abc.service_common.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Picks the verification key from the token header: RS256 keys come from auth-service's
+// JWK set, cached per kid in an immutable map that is swapped on refresh, so the hot path
+// is one volatile read and one map lookup. Fetches run on a background thread and never
+// block a request: the set is fetched at construction, and an unknown kid (a key rotated in
+// since the last fetch) starts a refetch, at most once per min-refresh-interval so that
+// tokens with made-up kids can't hammer auth-service, while that token is rejected. HS256 is
+// accepted only while a legacy secret is configured.
+public class JwksKeyLocator extends LocatorAdapter<Key> {
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyLocator.class);
+
+    private final RestClient restClient;
+    private final String jwksUri;
+    private final Key legacySecret;
+    private final long minRefreshIntervalMillis;
+    private final ExecutorService fetcher = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "jwks-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean fetching = new AtomicBoolean();
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastFetchAt;
+
+    public JwksKeyLocator(RestClient restClient, String jwksUri, String legacySecret, long minRefreshIntervalMillis) {
+        this.restClient = restClient;
+        this.jwksUri = jwksUri;
+        this.legacySecret = legacySecret == null || legacySecret.isBlank() ? null : hmacKey(legacySecret);
+        this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+        refresh();
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String alg = header.getAlgorithm();
+        if ("HS256".equals(alg)) {
+            if (legacySecret != null) return legacySecret;
+            throw new UnsupportedJwtException("HS256 tokens are no longer accepted");
+        }
+        String kid = header.getKeyId();
+        if (kid == null) {
+            throw new UnsupportedJwtException("Token has no kid");
+        }
+        PublicKey key = keys.get(kid);
+        if (key == null) {
+            refresh();
+            throw new UnsupportedJwtException("Unknown signing key " + kid);
+        }
+        return key;
+    }
+
+    // Starts a background fetch unless one is running or the last one began too recently
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        if (now - lastFetchAt < minRefreshIntervalMillis || !fetching.compareAndSet(false, true)) return;
+        lastFetchAt = now;
+        try {
+            fetcher.execute(this::fetch);
+        } catch (RejectedExecutionException e) {
+            fetching.set(false);
+        }
+    }
+
+    // Stops the fetch thread; Spring calls it on shutdown when the locator is a bean
+    public void close() {
+        fetcher.shutdownNow();
+    }
+
+    private void fetch() {
+        try {
+            Map<?, ?> body = restClient.get().uri(jwksUri).retrieve().body(Map.class);
+            Object entries = body == null ? null : body.get("keys");
+            if (!(entries instanceof List<?> list)) {
+                log.warn("JWK set from {} has no keys", jwksUri);
+                return;
+            }
+            Map<String, PublicKey> loaded = new HashMap<>();
+            for (Object entry : list) {
+                if (entry instanceof Map<?, ?> jwk && "RSA".equals(jwk.get("kty")) && jwk.get("kid") != null
+                        && !"enc".equals(jwk.get("use"))) {
+                    try {
+                        loaded.put(String.valueOf(jwk.get("kid")), rsaKey(String.valueOf(jwk.get("n")), String.valueOf(jwk.get("e"))));
+                    } catch (GeneralSecurityException | IllegalArgumentException e) {
+                        log.warn("Skipping unreadable JWK {}: {}", jwk.get("kid"), e.getMessage());
+                    }
+                }
+            }
+            keys = Map.copyOf(loaded);
+            log.info("Loaded {} signing key(s) from {}", loaded.size(), jwksUri);
+        } catch (RestClientException e) {
+            log.warn("Failed to fetch JWK set from {}: {}", jwksUri, e.getMessage());
+        } finally {
+            fetching.set(false);
+        }
+    }
+
+    private static PublicKey rsaKey(String n, String e) throws GeneralSecurityException {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                new BigInteger(1, decoder.decode(n)), new BigInteger(1, decoder.decode(e))));
+    }
+
+    private static Key hmacKey(String secret) {
+        byte[] keyBytes;
+        try {
+            keyBytes = Base64.getDecoder().decode(secret);
+        } catch (IllegalArgumentException ex) {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        if (keyBytes.length < 32) {
+            throw new IllegalStateException("jwt.secret must be at least 32 bytes for HS256");
+        }
+        return Keys.hmacShaKeyFor(keyBytes);
+    }
+}
@@ -0,0 +1,141 @@
+package com.abc.service_common.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Verified Authentication objects keyed by the SHA-256 digest of the token, kept until the
+// token's exp. A hit costs one digest and a map lookup: no Base64 decoding, claims parsing
+// or signature check. Rejected tokens are never cached. Bounded by max-entries: a full
+// cache first drops expired tokens, then an arbitrary tenth of the live ones.
+public class VerifiedTokenCache {
+    // Tokens without an exp claim are re-verified at least this often
+    private static final long DEFAULT_TTL_MILLIS = 5 * 60 * 1000;
+
+    private final JwtParser parser;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong expiredEvictions = new AtomicLong();
+    private final AtomicLong capacityEvictions = new AtomicLong();
+
+    private record Entry(Authentication authentication, long expiresAt) {
+    }
+
+    public VerifiedTokenCache(JwtParser parser, int maxEntries) {
+        this.parser = parser;
+        this.maxEntries = maxEntries;
+    }
+
+    // Null when the token is malformed, badly signed or expired
+    public Authentication authenticate(String token) {
+        long now = System.currentTimeMillis();
+        String digest = digest(token);
+        Entry entry = entries.get(digest);
+        if (entry != null) {
+            if (entry.expiresAt() > now) {
+                hits.incrementAndGet();
+                return entry.authentication();
+            }
+            if (entries.remove(digest, entry)) {
+                expiredEvictions.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (Exception e) {
+            return null;
+        }
+        Authentication authentication = toAuthentication(claims);
+        if (authentication == null) {
+            return null;
+        }
+        Date expiration = claims.getExpiration();
+        long expiresAt = expiration != null ? expiration.getTime() : now + DEFAULT_TTL_MILLIS;
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+        entries.put(digest, new Entry(authentication, expiresAt));
+        return authentication;
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.verified_cache.hits", hits, AtomicLong::get).register(registry);
+        FunctionCounter.builder("jwt.verified_cache.misses", misses, AtomicLong::get).register(registry);
+        FunctionCounter.builder("jwt.verified_cache.evictions", expiredEvictions, AtomicLong::get)
+                .tag("reason", "expired").register(registry);
+        FunctionCounter.builder("jwt.verified_cache.evictions", capacityEvictions, AtomicLong::get)
+                .tag("reason", "capacity").register(registry);
+        Gauge.builder("jwt.verified_cache.size", entries, Map::size).register(registry);
+        Gauge.builder("jwt.verified_cache.hit_ratio", this, VerifiedTokenCache::hitRatio).register(registry);
+    }
+
+    public double hitRatio() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) return;
+        try {
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+                if (it.next().expiresAt() <= now) {
+                    it.remove();
+                    expiredEvictions.incrementAndGet();
+                }
+            }
+            int excess = entries.size() < maxEntries ? 0
+                    : entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+            for (Iterator<Entry> it = entries.values().iterator(); excess > 0 && it.hasNext(); excess--) {
+                it.next();
+                it.remove();
+                capacityEvictions.incrementAndGet();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    // Tokens without a subject or roles claim are not ours and are rejected
+    private static Authentication toAuthentication(Claims claims) {
+        List<?> roles = claims.get("roles", List.class);
+        if (claims.getSubject() == null || roles == null) {
+            return null;
+        }
+        List<SimpleGrantedAuthority> authorities = roles.stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        return new UsernamePasswordAuthenticationToken(claims.getSubject(), null, authorities);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return new String(hash, StandardCharsets.ISO_8859_1);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
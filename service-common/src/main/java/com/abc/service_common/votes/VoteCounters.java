@@ -0,0 +1,347 @@
+package com.abc.service_common.votes;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Votes are counted in memory and written in batches. A vote checks a Bloom filter of
+// (target, item, user) and, if new, bumps a LongAdder for the item's counter column and
+// queues a row for the votes ledger; nothing touches the database on the request path.
+// Every flush-interval-ms the ledger rows are inserted, one statement per target (the unique
+// key drops repeats the filter missed, e.g. through another instance, and their increments
+// are taken back) and each counter's delta becomes one "SET col = col + ?" in a JDBC batch.
+// The filter is reloaded from the ledger at startup and grown when it fills up.
+//
+// The ledger buffer is bounded: when it is full and one synchronous flush doesn't make room
+// (the database is down), the vote is refused with VotesBackloggedException instead of
+// holding the request thread.
+//
+// Shared by the services that take votes; each declares it as a bean (see their VoteConfig)
+// so the scheduled flush, startup load and shutdown hooks apply.
+public class VoteCounters {
+    private static final Logger log = LoggerFactory.getLogger(VoteCounters.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final long expectedVotes;
+    private final double falsePositiveRate;
+    private final BlockingQueue<Vote> ledger;
+    // One permit per buffered row, taken before a vote is accepted and returned once its row is
+    // written; rows put back after a failed write keep theirs, so the buffer never overflows
+    private final Semaphore slots;
+    private final Map<Key, Counter> counters = new ConcurrentHashMap<>();
+    private final List<FlushListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "vote-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile BloomFilter seen;
+
+    // `key` scopes deduplication: votes sharing a key allow one per user and item
+    public record Target(String key, String voteType, String table, String column) {
+    }
+
+    public interface FlushListener {
+        // Deltas per item id that were just written for the target
+        void flushed(Target target, Map<Long, Long> deltas);
+    }
+
+    private record Key(Target target, long itemId) {
+    }
+
+    private record Vote(Target target, long itemId, long userId, LocalDateTime createdAt) {
+    }
+
+    private record Voter(long itemId, long userId) {
+    }
+
+    // The buffer is full and can't be written right now; services answer 503
+    public static class VotesBackloggedException extends RuntimeException {
+        public VotesBackloggedException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class Counter {
+        final LongAdder delta = new LongAdder();
+        volatile boolean retired;
+    }
+
+    public VoteCounters(JdbcTemplate jdbcTemplate, int batchSize, int capacity, long expectedVotes,
+                        double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.expectedVotes = expectedVotes;
+        this.falsePositiveRate = falsePositiveRate;
+        this.ledger = new ArrayBlockingQueue<>(capacity);
+        this.slots = new Semaphore(capacity);
+        this.seen = new BloomFilter(expectedVotes, falsePositiveRate);
+    }
+
+    public void addListener(FlushListener listener) {
+        listeners.add(listener);
+    }
+
+    // False when the user already voted on the item for this target
+    public boolean record(Target target, long itemId, long userId) {
+        // A full buffer means the flusher is behind: flush here once, then refuse the vote
+        if (!slots.tryAcquire()) {
+            flush();
+            if (!slots.tryAcquire()) {
+                throw new VotesBackloggedException("Votes can't be recorded right now, please try again later");
+            }
+        }
+        if (!seen.add(target.key(), itemId, userId)) {
+            slots.release();
+            return false;
+        }
+        add(new Key(target, itemId), 1);
+        // Microseconds, as stored, so a retried write can recognise its own row
+        ledger.add(new Vote(target, itemId, userId, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS)));
+        if (ledger.size() >= batchSize && flushQueued.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushQueued.set(false);
+                flush();
+            });
+        }
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSeen() {
+        try {
+            Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM votes", Long.class);
+            BloomFilter filter = new BloomFilter(Math.max(expectedVotes, 2 * (rows == null ? 0 : rows)), falsePositiveRate);
+            jdbcTemplate.query("SELECT target, item_id, user_id FROM votes",
+                    rs -> {
+                        filter.add(rs.getString(1), rs.getLong(2), rs.getLong(3));
+                    });
+            // Votes taken while loading are missing from the new filter; the ledger still rejects repeats
+            seen = filter;
+            log.info("Loaded {} votes into the dedup filter ({} KB)", rows, filter.sizeInBytes() / 1024);
+        } catch (DataAccessException e) {
+            log.warn("Failed to load votes for deduplication: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.votes.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        writeLedger();
+        writeCounters();
+        if (seen.isFull()) {
+            loadSeen();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush();
+    }
+
+    private void writeLedger() {
+        List<Vote> batch = new ArrayList<>(batchSize);
+        while (ledger.drainTo(batch, batchSize) > 0) {
+            Map<Target, List<Vote>> byTarget = new HashMap<>();
+            batch.forEach(vote -> byTarget.computeIfAbsent(vote.target(), t -> new ArrayList<>()).add(vote));
+            boolean failed = false;
+            for (Map.Entry<Target, List<Vote>> entry : byTarget.entrySet()) {
+                List<Vote> votes = entry.getValue();
+                try {
+                    insertVotes(entry.getKey(), votes);
+                    slots.release(votes.size());
+                } catch (DataAccessException e) {
+                    // One statement per target, so none of these rows were written; other targets' were
+                    ledger.addAll(votes);
+                    failed = true;
+                    log.error("Failed to write {} {} votes, retrying: {}", votes.size(), entry.getKey().key(), e.getMessage());
+                }
+            }
+            batch.clear();
+            if (failed) return;
+        }
+    }
+
+    // A single statement, so the target's rows are written all or not at all. It returns the
+    // rows that count: inserted now, or already there with this vote's timestamp (written by an
+    // earlier attempt whose outcome was lost). Anything else is a repeat or the item is gone.
+    private void insertVotes(Target target, List<Vote> votes) {
+        String sql = "WITH r AS (SELECT * FROM unnest(?::bigint[], ?::bigint[], ?::timestamp[]) AS r(item_id, user_id, created_at)), " +
+                "ins AS (INSERT INTO votes (target, item_id, user_id, vote_type, created_at) " +
+                "SELECT ?, r.item_id, r.user_id, ?, r.created_at FROM r " +
+                "WHERE EXISTS (SELECT 1 FROM " + target.table() + " t WHERE t.id = r.item_id) " +
+                "ON CONFLICT DO NOTHING RETURNING item_id, user_id) " +
+                "SELECT r.item_id, r.user_id FROM r " +
+                "WHERE EXISTS (SELECT 1 FROM ins WHERE ins.item_id = r.item_id AND ins.user_id = r.user_id) " +
+                "OR EXISTS (SELECT 1 FROM votes v WHERE v.target = ? AND v.item_id = r.item_id " +
+                "AND v.user_id = r.user_id AND v.vote_type = ? AND v.created_at = r.created_at)";
+        Long[] itemIds = new Long[votes.size()];
+        Long[] userIds = new Long[votes.size()];
+        Timestamp[] createdAt = new Timestamp[votes.size()];
+        for (int i = 0; i < votes.size(); i++) {
+            itemIds[i] = votes.get(i).itemId();
+            userIds[i] = votes.get(i).userId();
+            createdAt[i] = Timestamp.valueOf(votes.get(i).createdAt());
+        }
+        PreparedStatementSetter parameters = ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", itemIds));
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", userIds));
+            ps.setArray(3, ps.getConnection().createArrayOf("timestamp", createdAt));
+            ps.setString(4, target.key());
+            ps.setString(5, target.voteType());
+            ps.setString(6, target.key());
+            ps.setString(7, target.voteType());
+        };
+        Set<Voter> counted = new HashSet<>();
+        jdbcTemplate.query(sql, parameters, rs -> {
+            counted.add(new Voter(rs.getLong(1), rs.getLong(2)));
+        });
+        for (Vote vote : votes) {
+            if (!counted.contains(new Voter(vote.itemId(), vote.userId()))) {
+                add(new Key(target, vote.itemId()), -1);
+            }
+        }
+    }
+
+    private void writeCounters() {
+        Map<Target, Map<Long, Long>> deltas = new HashMap<>();
+        counters.forEach((key, counter) -> {
+            long delta = counter.delta.sumThenReset();
+            if (delta == 0) {
+                // Idle: drop it, collecting anything added while it was being removed
+                counter.retired = true;
+                counters.remove(key, counter);
+                delta = counter.delta.sumThenReset();
+            }
+            if (delta != 0) {
+                deltas.computeIfAbsent(key.target(), t -> new HashMap<>()).merge(key.itemId(), delta, Long::sum);
+            }
+        });
+        deltas.forEach((target, byItem) -> {
+            String sql = "UPDATE " + target.table() + " SET " + target.column() + " = COALESCE(" + target.column() + ", 0) + ? WHERE id = ?";
+            List<Object[]> rows = byItem.entrySet().stream()
+                    .map(e -> new Object[]{e.getValue(), e.getKey()})
+                    .toList();
+            try {
+                jdbcTemplate.batchUpdate(sql, rows);
+            } catch (DataAccessException e) {
+                byItem.forEach((itemId, delta) -> add(new Key(target, itemId), delta));
+                log.error("Failed to write {} {} counters, retrying: {}", byItem.size(), target.column(), e.getMessage());
+                return;
+            }
+            for (FlushListener listener : listeners) {
+                try {
+                    listener.flushed(target, byItem);
+                } catch (RuntimeException e) {
+                    log.warn("Vote flush listener failed: {}", e.getMessage());
+                }
+            }
+        });
+    }
+
+    private void add(Key key, long delta) {
+        while (true) {
+            Counter counter = counters.computeIfAbsent(key, k -> new Counter());
+            counter.delta.add(delta);
+            if (!counter.retired) return;
+            // Retired by a flush after the lookup; take back whatever the flush didn't collect
+            delta = counter.delta.sumThenReset();
+            if (delta == 0) return;
+        }
+    }
+
+    // Bloom filter over (target, item, user) with a check-and-set per key: a striped lock
+    // makes two concurrent identical votes see each other, the bits themselves are atomic.
+    private static final class BloomFilter {
+        private static final int STRIPES = 64;
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashes;
+        private final long capacity;
+        private final LongAdder added = new LongAdder();
+        private final Object[] locks = new Object[STRIPES];
+
+        BloomFilter(long capacity, double falsePositiveRate) {
+            long size = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (size + 63) / 64));
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = words * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+            this.capacity = capacity;
+            for (int i = 0; i < STRIPES; i++) {
+                locks[i] = new Object();
+            }
+        }
+
+        // True if the key was not present before
+        boolean add(String target, long itemId, long userId) {
+            long h1 = mix(mix(itemId * 0x9E3779B97F4A7C15L ^ userId) ^ target.hashCode());
+            long h2 = mix(h1 ^ 0xC2B2AE3D27D4EB4FL) | 1;
+            synchronized (locks[(int) (h1 >>> 58)]) {
+                boolean present = true;
+                for (int i = 0; i < hashes && present; i++) {
+                    present = isSet(index(h1, h2, i));
+                }
+                if (present) return false;
+                for (int i = 0; i < hashes; i++) {
+                    long index = index(h1, h2, i);
+                    bits.getAndAccumulate((int) (index >>> 6), 1L << index, (a, b) -> a | b);
+                }
+            }
+            added.increment();
+            return true;
+        }
+
+        boolean isFull() {
+            return added.sum() > capacity;
+        }
+
+        long sizeInBytes() {
+            return bits.length() * 8L;
+        }
+
+        private boolean isSet(long index) {
+            return (bits.get((int) (index >>> 6)) & (1L << index)) != 0;
+        }
+
+        private long index(long h1, long h2, int i) {
+            return Math.floorMod(h1 + i * h2, bitCount);
+        }
+
+        // SplitMix64 finalizer
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -4,8 +4,9 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.abc.service_common.security.GatewayIdentityVerifier;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -14,16 +15,18 @@ import java.io.IOException;
 
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtConfig jwtConfig;
+    private final GatewayIdentityVerifier gatewayIdentityVerifier;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         String requestURI = request.getRequestURI();
-        System.out.println("JWT Filter - Request URI: " + requestURI);
+        log.debug("JWT Filter - Request URI: {}", requestURI);
         
         // Skip JWT validation for internal endpoints
         if (requestURI.startsWith("/users/internal/") || 
@@ -32,33 +35,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             requestURI.startsWith("/users/validate-password") ||
             requestURI.startsWith("/users/verify-token") ||
             requestURI.startsWith("/actuator/")) {
-            System.out.println("JWT Filter - Skipping JWT validation for internal endpoint");
+            log.debug("JWT Filter - Skipping JWT validation for internal endpoint");
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        var gatewayAuthentication = gatewayIdentityVerifier.authenticate(request);
+        if (gatewayAuthentication != null) {
+            SecurityContextHolder.getContext().setAuthentication(gatewayAuthentication);
             filterChain.doFilter(request, response);
             return;
         }
 
         String authHeader = request.getHeader("Authorization");
-        System.out.println("JWT Filter - Authorization header: " + authHeader);
-        
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            System.out.println("JWT Filter - Token: " + token);
-            
-            if (jwtConfig.validateToken(token)) {
-                try {
-                    var authentication = jwtConfig.getAuthentication(token);
-                    System.out.println("JWT Filter - Authentication: " + authentication);
-                    System.out.println("JWT Filter - Authorities: " + authentication.getAuthorities());
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                } catch (Exception e) {
-                    System.out.println("JWT Filter - Error parsing token: " + e.getMessage());
-                    e.printStackTrace();
-                }
+            // getAuthentication verifies the signature, so the token is parsed once
+            var authentication = jwtConfig.getAuthentication(token);
+            if (authentication != null) {
+                log.debug("JWT Filter - Authenticated user {} with {}", authentication.getName(), authentication.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             } else {
-                System.out.println("JWT Filter - Token validation failed");
+                log.debug("JWT Filter - Token validation failed");
             }
         } else {
-            System.out.println("JWT Filter - No valid Authorization header");
+            log.debug("JWT Filter - No valid Authorization header");
         }
 
         filterChain.doFilter(request, response);
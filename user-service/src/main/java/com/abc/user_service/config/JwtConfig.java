@@ -1,67 +1,50 @@
 package com.abc.user_service.config;
 
-import io.jsonwebtoken.Claims;
+import com.abc.service_common.security.GatewayIdentityVerifier;
+import com.abc.service_common.security.JwksKeyLocator;
+import com.abc.service_common.security.VerifiedTokenCache;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.context.annotation.Bean;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
-
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
-import java.util.List;
-import java.util.stream.Collectors;
+import org.springframework.web.client.RestClient;
 
 @Component
 public class JwtConfig {
 
-    @Value("${jwt.secret:UCIafMmHwgsJKIgg4xVAL/eOvR3ZXD/ZnYE9AfMaMQg=}")
-    private String jwtSecret;
+    // Parser and key locator are built once; verified tokens are served from the cache until they expire
+    private final VerifiedTokenCache verifiedTokens;
+
+    public JwtConfig(@Value("${jwt.jwks-uri:http://auth-service:8081/.well-known/jwks.json}") String jwksUri,
+                     @Value("${jwt.jwks-min-refresh-interval-ms:30000}") long minRefreshIntervalMillis,
+                     @Value("${jwt.accept-hs256:false}") boolean acceptHs256,
+                     @Value("${jwt.secret:UCIafMmHwgsJKIgg4xVAL/eOvR3ZXD/ZnYE9AfMaMQg=}") String jwtSecret,
+                     @Value("${app.security.verified-token-cache.max-entries:10000}") int maxEntries,
+                     RestClient.Builder restClientBuilder,
+                     ObjectProvider<MeterRegistry> meterRegistry) {
+        JwksKeyLocator keyLocator = new JwksKeyLocator(restClientBuilder.build(), jwksUri,
+                acceptHs256 ? jwtSecret : null, minRefreshIntervalMillis);
+        this.verifiedTokens = new VerifiedTokenCache(Jwts.parser().keyLocator(keyLocator).build(), maxEntries);
+        meterRegistry.ifAvailable(verifiedTokens::bindTo);
+    }
 
+    // Null when the token is malformed, badly signed or expired
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        String email = claims.getSubject();
-        @SuppressWarnings("unchecked")
-        List<String> roles = claims.get("roles", List.class);
-        
-        List<SimpleGrantedAuthority> authorities = roles.stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                .collect(Collectors.toList());
-
-        return new UsernamePasswordAuthenticationToken(email, null, authorities);
+        return verifiedTokens.authenticate(token);
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return verifiedTokens.authenticate(token) != null;
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes;
-        try {
-            keyBytes = Base64.getDecoder().decode(jwtSecret);
-        } catch (IllegalArgumentException ex) {
-            keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        }
-        if (keyBytes.length < 32) {
-            throw new IllegalStateException("jwt.secret must be at least 32 bytes for HS256");
-        }
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Checks the gateway's signed X-User-* headers; needs its own secret once trust mode is on
+    @Bean
+    public GatewayIdentityVerifier gatewayIdentityVerifier(@Value("${app.security.trust-gateway-headers:false}") boolean enabled,
+                                                           @Value("${app.security.gateway-identity-secret:}") String secret,
+                                                           @Value("${jwt.secret:UCIafMmHwgsJKIgg4xVAL/eOvR3ZXD/ZnYE9AfMaMQg=}") String jwtSecret) {
+        return new GatewayIdentityVerifier(enabled, secret, jwtSecret);
     }
 }
-
@@ -1,7 +1,9 @@
 package com.abc.user_service.controller;
 
 import com.abc.user_service.dto.request.*;
+import com.abc.user_service.dto.response.LeaderboardEntryResponse;
 import com.abc.user_service.dto.response.UserResponse;
+import com.abc.user_service.entity.EloRank;
 import com.abc.user_service.entity.UserStatus;
 import com.abc.user_service.service.UserService;
 import jakarta.validation.Valid;
@@ -12,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -31,6 +34,11 @@ public class UserController {
         return userService.getById(id);
     }
 
+    @PostMapping("/internal/verify-credentials")
+    public ResponseEntity<UserResponse> verifyCredentials(@Valid @RequestBody LoginRequest request) {
+        return ResponseEntity.ok(userService.verifyCredentials(request));
+    }
+
     @GetMapping("/check-email/{email}")
     public Boolean checkEmailExists(@PathVariable String email) {
         return userService.checkEmailExists(email);
@@ -74,6 +82,29 @@ public class UserController {
         return userService.applyElo(request);
     }
 
+    @PostMapping("/elo:batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<UserResponse> applyEloBatch(@Valid @RequestBody EloBatchRequest request) {
+        return userService.applyEloBatch(request.getAwards());
+    }
+
+    @GetMapping("/leaderboard")
+    public List<LeaderboardEntryResponse> getLeaderboard(@RequestParam(required = false) EloRank tier,
+                                                         @RequestParam(defaultValue = "10") int limit) {
+        return userService.getLeaderboard(tier, limit);
+    }
+
+    @GetMapping("/{id:[0-9]+}/leaderboard")
+    public LeaderboardEntryResponse getLeaderboardRank(@PathVariable Long id) {
+        return userService.getLeaderboardRank(id);
+    }
+
+    @GetMapping("/{id:[0-9]+}/leaderboard/neighbors")
+    public List<LeaderboardEntryResponse> getLeaderboardNeighbors(@PathVariable Long id,
+                                                                  @RequestParam(defaultValue = "5") int window) {
+        return userService.getLeaderboardNeighbors(id, window);
+    }
+
     // Additional CRUD endpoints
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
@@ -0,0 +1,18 @@
+package com.abc.user_service.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class EloBatchRequest {
+    @NotEmpty
+    @Size(max = 1000)
+    @Valid
+    private List<EloApplyRequest> awards;
+}
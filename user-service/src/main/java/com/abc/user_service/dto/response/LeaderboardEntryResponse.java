@@ -0,0 +1,20 @@
+package com.abc.user_service.dto.response;
+
+import com.abc.user_service.entity.EloRank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryResponse {
+    private long rank; // 1 + number of users with a strictly higher score
+    private long tierRank; // same, counted within eloRank only
+    private Long userId;
+    private String fullName;
+    private Integer eloScore;
+    private EloRank eloRank;
+}
@@ -1,12 +1,36 @@
 package com.abc.user_service.entity;
 
 public enum EloRank {
-    NEWBIE,
-    LEARNER,
-    CONTRIBUTOR,
-    SOLVER,
-    EXPERT,
-    SENIOR_EXPERT,
-    MASTER,
-    LEGEND
-}
\ No newline at end of file
+    NEWBIE(Integer.MIN_VALUE),
+    LEARNER(100),
+    CONTRIBUTOR(200),
+    SOLVER(400),
+    EXPERT(700),
+    SENIOR_EXPERT(1100),
+    MASTER(1600),
+    LEGEND(2100);
+
+    private final int minScore;
+
+    EloRank(int minScore) {
+        this.minScore = minScore;
+    }
+
+    public int getMinScore() {
+        return minScore;
+    }
+
+    // Exclusive upper bound: the next tier's minimum, or Integer.MAX_VALUE for LEGEND
+    public int getMaxScoreExclusive() {
+        EloRank[] ranks = values();
+        return ordinal() + 1 < ranks.length ? ranks[ordinal() + 1].minScore : Integer.MAX_VALUE;
+    }
+
+    public static EloRank forScore(int score) {
+        EloRank[] ranks = values();
+        for (int i = ranks.length - 1; i > 0; i--) {
+            if (score >= ranks[i].minScore) return ranks[i];
+        }
+        return NEWBIE;
+    }
+}
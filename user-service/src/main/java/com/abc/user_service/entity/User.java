@@ -41,9 +41,13 @@ public class User {
 
     private Boolean isStudying;
 
+    // Set on insert only; afterwards EloScoreUpdater's atomic UPDATE is the sole writer, so
+    // saving a user loaded earlier can't overwrite an award applied in between
+    @Column(updatable = false)
     private Integer eloScore;
 
     @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
     private EloRank eloRank;
 
     @Column(length = 255)
@@ -4,14 +4,30 @@ import com.abc.user_service.entity.User;
 import com.abc.user_service.entity.UserStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    // Role is fetched in the same query so mapping to UserResponse needs no second lookup
+    @EntityGraph(attributePaths = "role")
+    Optional<User> findWithRoleByEmail(String email);
     Optional<User> findByVerifyToken(String verifyToken);
     Page<User> findByRoleId(Long roleId, Pageable pageable);
     Page<User> findByStatus(UserStatus status, Pageable pageable);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.id AS id, u.eloScore AS eloScore, u.fullName AS fullName FROM User u")
+    List<LeaderboardRow> findLeaderboardRows();
+
+    interface LeaderboardRow {
+        Long getId();
+        Integer getEloScore();
+        String getFullName();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.abc.user_service.service;
+
+import com.abc.service_common.security.IdentitySignature;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Tells every auth-service instance to drop its cached copy of a user after the user's role,
+// status or profile changes. Calls are made off the request thread, and repeated changes to
+// one user while a call is queued are sent once. Failures are only logged: auth-service's
+// cache TTL bounds how long a missed eviction can matter. The endpoint is internal, so each
+// call carries a signed SERVICE identity; without an identity secret nothing is sent.
+@Slf4j
+@Component
+public class AuthUserCacheNotifier {
+    private static final String SERVICE_NAME = "user-service";
+    private static final long IDENTITY_TTL_SECONDS = 60;
+
+    private final DiscoveryClient discoveryClient;
+    private final RestClient restClient;
+    private final String serviceId;
+    private final String fallbackBaseUrl;
+    private final IdentitySignature identity;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "auth-cache-evict");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AuthUserCacheNotifier(DiscoveryClient discoveryClient,
+                                 RestClient.Builder restClientBuilder,
+                                 @Value("${app.auth-service.service-id:auth-service}") String serviceId,
+                                 @Value("${app.auth-service.base-url:http://auth-service:8081}") String fallbackBaseUrl,
+                                 @Value("${app.auth-service.evict-timeout-ms:2000}") long timeoutMillis,
+                                 @Value("${app.security.gateway-identity-secret:}") String identitySecret,
+                                 @Value("${jwt.secret:}") String jwtSecret) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(timeoutMillis));
+        requestFactory.setReadTimeout(Duration.ofMillis(timeoutMillis));
+        this.discoveryClient = discoveryClient;
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.serviceId = serviceId;
+        this.fallbackBaseUrl = fallbackBaseUrl;
+        this.identity = identitySecret.isBlank() ? null : new IdentitySignature(identitySecret, jwtSecret);
+        if (identity == null) {
+            log.warn("app.security.gateway-identity-secret is not set; auth-service cache evictions are disabled");
+        }
+    }
+
+    public void userChanged(Long userId) {
+        if (identity == null || userId == null || !pending.add(userId)) return;
+        sender.execute(() -> {
+            // Cleared before sending so a change made during the call queues another one
+            pending.remove(userId);
+            for (String baseUrl : baseUrls()) {
+                try {
+                    restClient.post()
+                            .uri(baseUrl + "/auth/internal/users/{id}/evict", userId)
+                            .headers(headers -> identity.headers(SERVICE_NAME, IdentitySignature.SERVICE_ROLE,
+                                    IDENTITY_TTL_SECONDS).forEach(headers::set))
+                            .retrieve()
+                            .toBodilessEntity();
+                } catch (RestClientException e) {
+                    log.warn("Failed to evict user {} from auth-service cache at {}: {}", userId, baseUrl, e.getMessage());
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdown();
+    }
+
+    private List<String> baseUrls() {
+        List<ServiceInstance> instances;
+        try {
+            instances = discoveryClient.getInstances(serviceId);
+        } catch (RuntimeException e) {
+            instances = List.of();
+        }
+        if (instances.isEmpty()) {
+            return List.of(fallbackBaseUrl);
+        }
+        return instances.stream().map(instance -> instance.getUri().toString()).toList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.abc.user_service.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Buffers EloHistory rows and writes them as JDBC batches, flushed when batch-size rows are
+// pending or every flush-interval-ms, whichever comes first. History is an audit trail, not
+// the source of the score, so it may trail the users table by up to one interval. When the
+// buffer is full and one synchronous flush doesn't make room (the database is down), the row
+// is dropped and counted in elo_history.dropped rather than holding up the request.
+@Slf4j
+@Component
+public class EloHistoryAppender {
+    private static final String INSERT_HISTORY =
+            "INSERT INTO elo_history (user_id, action, points, description, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final BlockingQueue<Object[]> pending;
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final LongAdder dropped = new LongAdder();
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "elo-history-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EloHistoryAppender(JdbcTemplate jdbcTemplate,
+                              @Value("${app.elo-history.batch-size:200}") int batchSize,
+                              @Value("${app.elo-history.capacity:50000}") int capacity,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.pending = new ArrayBlockingQueue<>(capacity);
+        meterRegistry.ifAvailable(registry ->
+                FunctionCounter.builder("elo_history.dropped", dropped, LongAdder::sum).register(registry));
+    }
+
+    public void append(Long userId, String action, int points, String description, LocalDateTime createdAt) {
+        Object[] row = {userId, action, points, description, createdAt};
+        // A full buffer means the flusher is behind: write synchronously once, and drop the row
+        // if that didn't make room either
+        if (!pending.offer(row)) {
+            flush();
+            if (!pending.offer(row)) {
+                dropped.increment();
+                log.warn("Elo history buffer full, dropped row for user {} ({} dropped so far)", userId, dropped.sum());
+                return;
+            }
+        }
+        if (pending.size() >= batchSize && flushQueued.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushQueued.set(false);
+                flush();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.elo-history.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        while (pending.drainTo(batch, batchSize) > 0) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_HISTORY, batch);
+            } catch (DataAccessException e) {
+                // Put the rows back for the next attempt; anything that doesn't fit is lost and logged
+                int requeued = 0;
+                for (Object[] row : batch) {
+                    if (pending.offer(row)) requeued++;
+                }
+                log.error("Failed to write {} Elo history rows ({} requeued): {}", batch.size(), requeued, e.getMessage());
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush();
+    }
+}
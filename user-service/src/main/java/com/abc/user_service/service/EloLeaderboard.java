@@ -0,0 +1,267 @@
+package com.abc.user_service.service;
+
+import com.abc.user_service.dto.response.LeaderboardEntryResponse;
+import com.abc.user_service.entity.EloRank;
+import com.abc.user_service.exception.ResourceNotFoundException;
+import com.abc.user_service.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory Elo leaderboard. Users are kept in a set ordered by (score desc, id asc) for
+// top-N / tier / neighbour windows, and a Fenwick tree over score values counts how many
+// users sit above any score, which gives exact ranks in O(log range) without touching the DB.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EloLeaderboard {
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::score).reversed()
+            .thenComparing(Entry::userId);
+
+    private final UserRepository userRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> byUser = new HashMap<>();
+    private final TreeSet<Entry> ordered = new TreeSet<>(ORDER);
+    private ScoreCounts counts = ScoreCounts.covering(List.of());
+
+    private record Entry(Long userId, int score, String fullName) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        List<Entry> loaded = userRepository.findLeaderboardRows().stream()
+                .map(row -> new Entry(row.getId(), row.getEloScore() == null ? 0 : row.getEloScore(), row.getFullName()))
+                .toList();
+        lock.writeLock().lock();
+        try {
+            byUser.clear();
+            ordered.clear();
+            loaded.forEach(e -> byUser.put(e.userId(), e));
+            ordered.addAll(loaded);
+            counts = ScoreCounts.covering(loaded);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Elo leaderboard built with {} users in {} ms", loaded.size(), System.currentTimeMillis() - started);
+    }
+
+    public void update(Long userId, Integer score, String fullName) {
+        lock.writeLock().lock();
+        try {
+            put(new Entry(userId, score == null ? 0 : score, fullName));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Profile edits: keeps the score already on the board, which Elo awards maintain
+    public void rename(Long userId, String fullName) {
+        lock.writeLock().lock();
+        try {
+            Entry old = byUser.get(userId);
+            if (old != null) {
+                put(new Entry(userId, old.score(), fullName));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Applies a committed Elo delta. Concurrent batches get their totals back in commit order but
+    // can reach this point in any order, so the delta is added to the stored score instead of
+    // writing the total; deltas commute. A user not on the board yet starts from `total`.
+    public void addPoints(Long userId, int points, Integer total, String fullName) {
+        lock.writeLock().lock();
+        try {
+            Entry old = byUser.get(userId);
+            int score = old == null ? (total == null ? 0 : total) : old.score() + points;
+            put(new Entry(userId, score, fullName));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void put(Entry entry) {
+        Entry old = byUser.put(entry.userId(), entry);
+        if (old != null) {
+            ordered.remove(old);
+            counts.add(old.score(), -1);
+        }
+        ordered.add(entry);
+        if (counts.covers(entry.score())) {
+            counts.add(entry.score(), 1);
+        } else {
+            counts = ScoreCounts.covering(byUser.values());
+        }
+    }
+
+    public void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            Entry old = byUser.remove(userId);
+            if (old != null) {
+                ordered.remove(old);
+                counts.add(old.score(), -1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<LeaderboardEntryResponse> top(int limit) {
+        lock.readLock().lock();
+        try {
+            return collect(ordered.iterator(), limit, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<LeaderboardEntryResponse> topOfTier(EloRank tier, int limit) {
+        lock.readLock().lock();
+        try {
+            // First entry at or below the tier's highest score, in leaderboard order
+            Entry start = new Entry(Long.MIN_VALUE, tier.getMaxScoreExclusive() - 1, null);
+            return collect(ordered.tailSet(start, true).iterator(), limit, tier);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public LeaderboardEntryResponse rankOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            return toResponse(require(userId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The user plus up to `window` users directly above and below them
+    public List<LeaderboardEntryResponse> neighbors(Long userId, int window) {
+        lock.readLock().lock();
+        try {
+            Entry me = require(userId);
+            List<LeaderboardEntryResponse> above = collect(ordered.headSet(me, false).descendingIterator(), window, null);
+            Collections.reverse(above);
+            List<LeaderboardEntryResponse> result = new ArrayList<>(above);
+            result.add(toResponse(me));
+            result.addAll(collect(ordered.tailSet(me, false).iterator(), window, null));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Entry require(Long userId) {
+        Entry entry = byUser.get(userId);
+        if (entry == null) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        return entry;
+    }
+
+    private List<LeaderboardEntryResponse> collect(Iterator<Entry> it, int limit, EloRank tier) {
+        List<LeaderboardEntryResponse> result = new ArrayList<>(Math.min(limit, 128));
+        while (it.hasNext() && result.size() < limit) {
+            Entry entry = it.next();
+            if (tier != null && entry.score() < tier.getMinScore()) break;
+            result.add(toResponse(entry));
+        }
+        return result;
+    }
+
+    private LeaderboardEntryResponse toResponse(Entry entry) {
+        EloRank tier = EloRank.forScore(entry.score());
+        long rank = counts.countAbove(entry.score()) + 1;
+        long aboveTier = tier.getMaxScoreExclusive() == Integer.MAX_VALUE ? 0
+                : counts.countAbove(tier.getMaxScoreExclusive() - 1);
+        return LeaderboardEntryResponse.builder()
+                .rank(rank)
+                .tierRank(rank - aboveTier)
+                .userId(entry.userId())
+                .fullName(entry.fullName())
+                .eloScore(entry.score())
+                .eloRank(tier)
+                .build();
+    }
+
+    // Fenwick tree of user counts per score over [min, min + size). Out-of-range scores are
+    // rare (the range is padded on every rebuild), so they trigger a rebuild instead of clamping.
+    private static final class ScoreCounts {
+        private static final int PADDING = 1024;
+
+        private final int min;
+        private final long[] tree;
+        private long total;
+
+        private ScoreCounts(int min, int size) {
+            this.min = min;
+            this.tree = new long[size + 1];
+        }
+
+        static ScoreCounts covering(Collection<Entry> entries) {
+            int low = 0;
+            int high = EloRank.LEGEND.getMinScore();
+            for (Entry e : entries) {
+                low = Math.min(low, e.score());
+                high = Math.max(high, e.score());
+            }
+            long size = (long) high - low + 2L * PADDING + 1;
+            ScoreCounts counts = new ScoreCounts(low - PADDING, (int) Math.min(size, Integer.MAX_VALUE - 8));
+            for (Entry e : entries) {
+                counts.add(e.score(), 1);
+            }
+            return counts;
+        }
+
+        boolean covers(int score) {
+            long index = (long) score - min;
+            return index >= 0 && index < tree.length - 1;
+        }
+
+        void add(int score, int delta) {
+            total += delta;
+            for (int i = score - min + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        // Users with a score strictly greater than the given one
+        long countAbove(int score) {
+            long index = (long) score - min + 1;
+            if (index <= 0) return total;
+            if (index >= tree.length) return 0;
+            long atOrBelow = 0;
+            for (int i = (int) index; i > 0; i -= i & -i) {
+                atOrBelow += tree[i];
+            }
+            return total - atOrBelow;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.abc.user_service.service;
+
+import com.abc.user_service.dto.response.UserResponse;
+import com.abc.user_service.entity.EloRank;
+import com.abc.user_service.entity.UserStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Applies Elo deltas with a single UPDATE ... FROM (VALUES ...) RETURNING statement. The
+// increment happens in the database under the row lock, so concurrent awards for the same
+// user can't overwrite each other, and the new score comes back without a separate read.
+@Component
+@RequiredArgsConstructor
+public class EloScoreUpdater {
+    private static final String NEW_SCORE = "COALESCE(u.elo_score, 0) + v.points";
+    private static final String RANK_CASE = rankCase();
+    private static final String RETURNING = " RETURNING u.id, u.email, u.full_name, u.role_id, u.status, u.elo_score, u.elo_rank,"
+            + " (SELECT r.role_name FROM roles r WHERE r.id = u.role_id) AS role_name";
+
+    private static final RowMapper<UserResponse> ROW_MAPPER = (rs, rowNum) -> {
+        UserResponse response = new UserResponse();
+        response.setId(rs.getLong("id"));
+        response.setEmail(rs.getString("email"));
+        response.setFullName(rs.getString("full_name"));
+        long roleId = rs.getLong("role_id");
+        response.setRoleId(rs.wasNull() ? null : roleId);
+        response.setRoleName(rs.getString("role_name"));
+        String status = rs.getString("status");
+        response.setStatus(status == null ? null : UserStatus.valueOf(status));
+        response.setEloScore(rs.getInt("elo_score"));
+        response.setEloRank(EloRank.valueOf(rs.getString("elo_rank")));
+        return response;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Returns one row per existing user; unknown ids are silently skipped.
+    public List<UserResponse> add(Map<Long, Integer> pointsByUser) {
+        if (pointsByUser.isEmpty()) {
+            return List.of();
+        }
+        // Ascending ids keep row-lock order stable across concurrent batches
+        Map<Long, Integer> sorted = new TreeMap<>(pointsByUser);
+        List<Object> args = new ArrayList<>(sorted.size() * 2);
+        sorted.forEach((userId, points) -> {
+            args.add(userId);
+            args.add(points);
+        });
+        String sql = "UPDATE users u SET elo_score = " + NEW_SCORE + ", elo_rank = " + RANK_CASE
+                + " FROM (VALUES " + String.join(", ", Collections.nCopies(sorted.size(), "(CAST(? AS BIGINT), CAST(? AS INTEGER))"))
+                + ") AS v(id, points) WHERE u.id = v.id"
+                + RETURNING;
+        return jdbcTemplate.query(sql, ROW_MAPPER, args.toArray());
+    }
+
+    // Generated from EloRank so the SQL and EloRank.forScore always agree on tier boundaries
+    private static String rankCase() {
+        StringBuilder sql = new StringBuilder("CASE");
+        EloRank[] ranks = EloRank.values();
+        for (int i = ranks.length - 1; i > 0; i--) {
+            sql.append(" WHEN ").append(NEW_SCORE).append(" >= ").append(ranks[i].getMinScore())
+                    .append(" THEN '").append(ranks[i].name()).append('\'');
+        }
+        return sql.append(" ELSE '").append(ranks[0].name()).append("' END").toString();
+    }
+}
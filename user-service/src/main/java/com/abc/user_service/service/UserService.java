@@ -1,6 +1,7 @@
 package com.abc.user_service.service;
 
 import com.abc.user_service.dto.request.*;
+import com.abc.user_service.dto.response.LeaderboardEntryResponse;
 import com.abc.user_service.dto.response.UserResponse;
 import com.abc.user_service.entity.*;
 import com.abc.user_service.mapper.UserMapper;
@@ -16,17 +17,28 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserService {
+    private static final int MAX_LEADERBOARD_SIZE = 100;
+    private static final int MAX_LEADERBOARD_WINDOW = 50;
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
-    private final EloHistoryRepository eloHistoryRepository;
     private final UserMapper userMapper;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
+    private final EloLeaderboard eloLeaderboard;
+    private final EloScoreUpdater eloScoreUpdater;
+    private final EloHistoryAppender eloHistoryAppender;
+    private final AuthUserCacheNotifier authUserCacheNotifier;
 
     public UserResponse create(UserRequest request) {
         // Create user manually to avoid mapper issues
@@ -63,6 +75,7 @@ public class UserService {
         user.setVerifyToken(java.util.UUID.randomUUID().toString());
         user.setCreatedAt(LocalDateTime.now());
         User saved = userRepository.save(user);
+        eloLeaderboard.update(saved.getId(), saved.getEloScore(), saved.getFullName());
         emailService.sendVerificationEmailHtml(saved.getEmail(), saved.getVerifyToken());
         return userMapper.toResponse(saved);
     }
@@ -105,44 +118,49 @@ public class UserService {
         Role role = roleRepository.findById(request.getRoleId())
                 .orElseThrow(() -> new RuntimeException("Role not found"));
         user.setRole(role);
-        return userMapper.toResponse(userRepository.save(user));
+        User saved = userRepository.save(user);
+        authUserCacheNotifier.userChanged(userId);
+        return userMapper.toResponse(saved);
     }
 
     public UserResponse updateStatus(Long userId, StatusUpdateRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setStatus(request.getStatus());
-        return userMapper.toResponse(userRepository.save(user));
+        User saved = userRepository.save(user);
+        authUserCacheNotifier.userChanged(userId);
+        return userMapper.toResponse(saved);
     }
 
     public UserResponse applyElo(EloApplyRequest request) {
-        User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        int score = user.getEloScore() == null ? 0 : user.getEloScore();
-        score += request.getPoints();
-        user.setEloScore(score);
-        user.setEloRank(calculateRank(score));
-
-        EloHistory history = new EloHistory();
-        history.setUser(user);
-        history.setAction(request.getAction());
-        history.setPoints(request.getPoints());
-        history.setDescription(request.getDescription());
-        history.setCreatedAt(LocalDateTime.now());
-        eloHistoryRepository.save(history);
-
-        return userMapper.toResponse(userRepository.save(user));
+        List<UserResponse> applied = applyEloBatch(List.of(request));
+        if (applied.isEmpty()) {
+            throw new com.abc.user_service.exception.ResourceNotFoundException("User", "id", request.getUserId());
+        }
+        return applied.get(0);
     }
 
-    private EloRank calculateRank(int score) {
-        if (score < 100) return EloRank.NEWBIE;
-        if (score < 200) return EloRank.LEARNER;
-        if (score < 400) return EloRank.CONTRIBUTOR;
-        if (score < 700) return EloRank.SOLVER;
-        if (score < 1100) return EloRank.EXPERT;
-        if (score < 1600) return EloRank.SENIOR_EXPERT;
-        if (score < 2100) return EloRank.MASTER;
-        return EloRank.LEGEND;
+    // Awards for the same user are summed first, so the whole batch is one UPDATE statement;
+    // every award still gets its own history row. Unknown users are skipped.
+    public List<UserResponse> applyEloBatch(List<EloApplyRequest> awards) {
+        Map<Long, Integer> pointsByUser = new HashMap<>();
+        for (EloApplyRequest award : awards) {
+            pointsByUser.merge(award.getUserId(), award.getPoints(), Integer::sum);
+        }
+        List<UserResponse> applied = eloScoreUpdater.add(pointsByUser);
+
+        Set<Long> updated = new HashSet<>();
+        for (UserResponse user : applied) {
+            updated.add(user.getId());
+            eloLeaderboard.addPoints(user.getId(), pointsByUser.get(user.getId()), user.getEloScore(), user.getFullName());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (EloApplyRequest award : awards) {
+            if (updated.contains(award.getUserId())) {
+                eloHistoryAppender.append(award.getUserId(), award.getAction(), award.getPoints(), award.getDescription(), now);
+            }
+        }
+        return applied;
     }
 
     // Additional CRUD methods
@@ -153,11 +171,17 @@ public class UserService {
         user.setDateOfBirth(request.getDateOfBirth());
         user.setAddress(request.getAddress());
         user.setIsStudying(request.getIsStudying());
-        return userMapper.toResponse(userRepository.save(user));
+        User saved = userRepository.save(user);
+        // The entity's score may predate a concurrent award; only the name is refreshed
+        eloLeaderboard.rename(saved.getId(), saved.getFullName());
+        authUserCacheNotifier.userChanged(id);
+        return userMapper.toResponse(saved);
     }
 
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        eloLeaderboard.remove(id);
+        authUserCacheNotifier.userChanged(id);
     }
 
     public Page<UserResponse> getAllUsers(Pageable pageable) {
@@ -172,6 +196,19 @@ public class UserService {
         return userRepository.findByStatus(status, pageable).map(userMapper::toResponse);
     }
 
+    public List<LeaderboardEntryResponse> getLeaderboard(EloRank tier, int limit) {
+        int capped = Math.max(1, Math.min(limit, MAX_LEADERBOARD_SIZE));
+        return tier == null ? eloLeaderboard.top(capped) : eloLeaderboard.topOfTier(tier, capped);
+    }
+
+    public LeaderboardEntryResponse getLeaderboardRank(Long userId) {
+        return eloLeaderboard.rankOf(userId);
+    }
+
+    public List<LeaderboardEntryResponse> getLeaderboardNeighbors(Long userId, int window) {
+        return eloLeaderboard.neighbors(userId, Math.max(0, Math.min(window, MAX_LEADERBOARD_WINDOW)));
+    }
+
     // Internal methods for Auth Service
     public Boolean checkEmailExists(String email) {
         return userRepository.existsByEmail(email);
@@ -193,6 +230,15 @@ public class UserService {
         return response;
     }
 
+    // Single-hop login check for Auth Service: one indexed lookup, null when the email is
+    // unknown or the password doesn't match (callers can't tell which)
+    public UserResponse verifyCredentials(LoginRequest request) {
+        return userRepository.findWithRoleByEmail(request.getEmail())
+                .filter(u -> passwordEncoder.matches(request.getPassword(), u.getPassword()))
+                .map(userMapper::toResponse)
+                .orElse(null);
+    }
+
     public Boolean validatePassword(String email, String password) {
         User user = userRepository.findByEmail(email)
                 .orElse(null);